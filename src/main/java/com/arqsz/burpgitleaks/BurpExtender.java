@@ -10,6 +10,8 @@ import com.arqsz.burpgitleaks.config.RuleLoader.GitleaksConfiguration;
 import com.arqsz.burpgitleaks.scan.CommunityHttpHandler;
 import com.arqsz.burpgitleaks.scan.CustomAuditIssueHandler;
 import com.arqsz.burpgitleaks.scan.GitleaksScanCheck;
+import com.arqsz.burpgitleaks.scan.ScanGate;
+import com.arqsz.burpgitleaks.scan.ScanQueue;
 import com.arqsz.burpgitleaks.ui.ContextMenuProvider;
 import com.arqsz.burpgitleaks.ui.IssuesTab;
 import com.arqsz.burpgitleaks.ui.SettingsTab;
@@ -33,8 +35,6 @@ public class BurpExtender implements BurpExtension {
     private Registration issuesTabRegistration;
     private TemplateManager templateManager;
 
-    private CommunityHttpHandler communityHttpHandler;
-
     @Override
     public void initialize(MontoyaApi api) {
         this.api = api;
@@ -55,9 +55,8 @@ public class BurpExtender implements BurpExtension {
             components.settingsTab().shutdown();
             components.menuProvider().shutdown();
 
-            if (communityHttpHandler != null) {
-                communityHttpHandler.shutdown();
-            }
+            components.scanQueue().shutdown();
+            components.scanCheck().shutdown();
 
             deregisterIssuesTab();
         });
@@ -68,7 +67,7 @@ public class BurpExtender implements BurpExtension {
     }
 
     private record RegisteredComponents(SettingsTab settingsTab, ContextMenuProvider menuProvider,
-            IssuesTab issuesTab) {
+            IssuesTab issuesTab, GitleaksScanCheck scanCheck, ScanQueue scanQueue) {
     }
 
     private ConfigResult loadInitialConfiguration(MontoyaApi api, PluginSettings settings) {
@@ -76,7 +75,8 @@ public class BurpExtender implements BurpExtension {
         String errorMsg = null;
 
         try {
-            config = RuleLoader.loadConfiguration(null, api.logging(), settings.isDebugEnabled());
+            config = RuleLoader.loadConfiguration(null, api.logging(), settings.isDebugEnabled(),
+                    settings.isCaseInsensitiveRules());
         } catch (Exception e) {
             api.logging().logToError("Fatal error loading bundled rules: " + e.getMessage());
             config = new GitleaksConfiguration(List.of(), List.of());
@@ -85,7 +85,8 @@ public class BurpExtender implements BurpExtension {
         String customPath = settings.getCustomPath();
         if (customPath != null && !customPath.isBlank()) {
             try {
-                config = RuleLoader.loadConfiguration(customPath, api.logging(), settings.isDebugEnabled());
+                config = RuleLoader.loadConfiguration(customPath, api.logging(), settings.isDebugEnabled(),
+                        settings.isCaseInsensitiveRules());
                 api.logging().logToOutput("Custom config loaded from: " + customPath);
             } catch (Exception e) {
                 errorMsg = "Custom Config Failed: " + e.getMessage();
@@ -105,12 +106,22 @@ public class BurpExtender implements BurpExtension {
         }
 
         GitleaksScanCheck scanCheck = new GitleaksScanCheck(api, config, settings);
+        issuesTab.setSecretIndex(scanCheck.getSecretIndex());
+        ScanQueue scanQueue = new ScanQueue(api.logging(), settings);
+        ScanGate scanGate = new ScanGate(api, settings);
+        scanCheck.setDeepScanQueue(scanQueue);
+        scanCheck.setLateIssueHandler(issue -> {
+            api.siteMap().add(issue);
+            if (settings.isShowIssuesTab())
+                issuesTab.addIssue(issue);
+        });
 
         BurpSuiteEdition edition = api.burpSuite().version().edition();
 
         if (edition == BurpSuiteEdition.COMMUNITY_EDITION) {
             api.logging().logToOutput("Community Edition detected: Activating manual traffic handler.");
-            this.communityHttpHandler = new CommunityHttpHandler(api, scanCheck, settings, issuesTab);
+            CommunityHttpHandler communityHttpHandler = new CommunityHttpHandler(api, scanCheck, scanQueue, scanGate,
+                    settings, issuesTab);
             api.http().registerHttpHandler(communityHttpHandler);
         } else {
             api.scanner().registerPassiveScanCheck(scanCheck, ScanCheckType.PER_REQUEST);
@@ -118,12 +129,12 @@ public class BurpExtender implements BurpExtension {
             api.scanner().registerAuditIssueHandler(auditHandler);
         }
 
-        ContextMenuProvider menuProvider = new ContextMenuProvider(api, scanCheck, settings,
+        ContextMenuProvider menuProvider = new ContextMenuProvider(api, scanCheck, scanQueue, scanGate, settings,
                 templateManager, issuesTab);
         api.userInterface().registerContextMenuItemsProvider(menuProvider);
 
-        SettingsTab settingsTab = new SettingsTab(api, scanCheck, settings, config.rules(), templateManager,
-                (visible) -> {
+        SettingsTab settingsTab = new SettingsTab(api, scanCheck, scanQueue, scanGate, settings, config.rules(),
+                templateManager, (visible) -> {
                     if (visible)
                         registerIssuesTab();
                     else
@@ -131,7 +142,7 @@ public class BurpExtender implements BurpExtension {
                 });
         api.userInterface().registerSuiteTab(EXTENSION_TAB_NAME, settingsTab);
 
-        return new RegisteredComponents(settingsTab, menuProvider, issuesTab);
+        return new RegisteredComponents(settingsTab, menuProvider, issuesTab, scanCheck, scanQueue);
     }
 
     private void registerIssuesTab() {
@@ -3,65 +3,106 @@ package com.arqsz.burpgitleaks.config;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.ahocorasick.trie.Trie;
 
 import com.google.re2j.Pattern;
+import com.google.re2j.PatternSyntaxException;
 
 public class GitleaksAllowlist {
     private final String description;
     private final List<Pattern> regexes;
     private final List<Pattern> paths;
+    private final Pattern regexSet;
+    private final Pattern pathSet;
     private final List<String> stopWords;
+    private final Trie stopWordMatcher;
     private final boolean matchAll;
     private final String regexTarget;
 
+    /**
+     * Outcome of the path conditions of an allowlist for one request path.
+     * {@code CONTENT} means the decision depends on the match and must be made
+     * with {@link #isContentAllowed}.
+     */
+    public enum PathVerdict {
+        ALLOWED, NOT_ALLOWED, CONTENT
+    }
+
     public GitleaksAllowlist(String description, List<Pattern> regexes, List<Pattern> paths,
-            List<String> stopWords, boolean matchAll, String regexTarget) {
+            List<String> stopWords, Trie stopWordMatcher, boolean matchAll, String regexTarget) {
         this.description = description;
         this.regexes = regexes != null ? regexes : Collections.emptyList();
         this.paths = paths != null ? paths : Collections.emptyList();
+        this.regexSet = union(this.regexes);
+        this.pathSet = union(this.paths);
         this.stopWords = stopWords != null ? stopWords : Collections.emptyList();
+        this.stopWordMatcher = stopWordMatcher;
         this.matchAll = matchAll;
         this.regexTarget = regexTarget;
     }
 
-    public boolean isAllowed(String secret, String fullMatch, String line, String filePath, Consumer<String> logger) {
-        String target = determineTarget(secret, fullMatch, line);
+    public boolean isAllowed(String secret, String fullMatch, CharSequence line, String filePath,
+            Consumer<String> logger) {
+        switch (verdictFor(filePath)) {
+            case ALLOWED:
+                return true;
+            case NOT_ALLOWED:
+                return false;
+            default:
+                return isContentAllowed(secret, fullMatch, () -> line, logger);
+        }
+    }
 
-        boolean regexMatch = checkRegexes(target, logger);
-        boolean pathMatch = checkPaths(filePath, logger);
-        boolean stopWordMatch = checkStopWords(secret, logger);
+    public boolean isAllowed(String secret, String fullMatch, CharSequence line, String filePath) {
+        return isAllowed(secret, fullMatch, line, filePath, null);
+    }
+
+    public PathVerdict verdictFor(String filePath) {
+        boolean hasContentChecks = !regexes.isEmpty() || !stopWords.isEmpty();
+        if (paths.isEmpty())
+            return hasContentChecks ? PathVerdict.CONTENT : matchAll ? PathVerdict.ALLOWED : PathVerdict.NOT_ALLOWED;
 
-        boolean result;
+        boolean pathMatch = checkPaths(filePath);
         if (matchAll) {
-            result = true;
-            if (!regexes.isEmpty())
-                result &= regexMatch;
-            if (!paths.isEmpty())
-                result &= pathMatch;
-            if (!stopWords.isEmpty())
-                result &= stopWordMatch;
-        } else {
-            result = regexMatch || pathMatch || stopWordMatch;
+            if (!pathMatch)
+                return PathVerdict.NOT_ALLOWED;
+            return hasContentChecks ? PathVerdict.CONTENT : PathVerdict.ALLOWED;
         }
-
-        return result;
+        if (pathMatch)
+            return PathVerdict.ALLOWED;
+        return hasContentChecks ? PathVerdict.CONTENT : PathVerdict.NOT_ALLOWED;
     }
 
-    public boolean isAllowed(String secret, String fullMatch, String line, String filePath) {
-        return isAllowed(secret, fullMatch, line, filePath, null);
+    /**
+     * Evaluates the regex and stopword conditions of an allowlist whose path
+     * verdict is {@code CONTENT}. The line is only requested when the regexes
+     * target it.
+     */
+    public boolean isContentAllowed(String secret, String fullMatch, Supplier<? extends CharSequence> line,
+            Consumer<String> logger) {
+        if (matchAll) {
+            if (!regexes.isEmpty() && !checkRegexes(determineTarget(secret, fullMatch, line), logger))
+                return false;
+            return stopWords.isEmpty() || checkStopWords(secret, logger);
+        }
+        return checkStopWords(secret, logger) || checkRegexes(determineTarget(secret, fullMatch, line), logger);
     }
 
-    private String determineTarget(String secret, String fullMatch, String line) {
+    private CharSequence determineTarget(String secret, String fullMatch, Supplier<? extends CharSequence> line) {
         if ("match".equalsIgnoreCase(regexTarget))
             return fullMatch;
         if ("line".equalsIgnoreCase(regexTarget))
-            return line;
+            return line.get();
         return secret;
     }
 
-    private boolean checkRegexes(String target, Consumer<String> logger) {
+    private boolean checkRegexes(CharSequence target, Consumer<String> logger) {
         if (regexes.isEmpty())
             return false;
+        if (regexSet != null)
+            return regexSet.matcher(target).find();
 
         for (Pattern p : regexes) {
             if (p.matcher(target).find()) {
@@ -72,9 +113,11 @@ public class GitleaksAllowlist {
         return false;
     }
 
-    private boolean checkPaths(String path, Consumer<String> logger) {
+    private boolean checkPaths(String path) {
         if (paths.isEmpty() || path == null)
             return false;
+        if (pathSet != null)
+            return pathSet.matcher(path).find();
 
         for (Pattern p : paths) {
             if (p.matcher(path).find()) {
@@ -85,15 +128,39 @@ public class GitleaksAllowlist {
     }
 
     private boolean checkStopWords(String secret, Consumer<String> logger) {
-        if (stopWords.isEmpty())
+        if (stopWordMatcher == null)
             return false;
 
-        for (String word : stopWords) {
-            if (secret.contains(word)) {
-                return true;
-            }
+        return stopWordMatcher.containsMatch(secret);
+    }
+
+    /**
+     * Merges the patterns into one alternation so a single pass decides whether
+     * any of them matches. Returns null when they cannot share one pattern.
+     */
+    private static Pattern union(List<Pattern> patterns) {
+        if (patterns.size() < 2)
+            return patterns.isEmpty() ? null : patterns.get(0);
+
+        int flags = patterns.get(0).flags();
+        StringBuilder sb = new StringBuilder();
+        for (Pattern p : patterns) {
+            if (p.flags() != flags)
+                return null;
+            if (sb.length() > 0)
+                sb.append('|');
+            sb.append("(?:").append(p.pattern()).append(')');
         }
-        return false;
+
+        try {
+            return Pattern.compile(sb.toString(), flags);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    public List<Pattern> getPaths() {
+        return paths;
     }
 
     @Override
@@ -15,11 +15,14 @@ public class GitleaksRule {
     private final int secretGroup;
     private final Pattern regex;
     private final Pattern pathRegex;
+    private final int maxMatchLength;
     private final List<String> keywords;
+    private final List<String> requiredLiterals;
     private final List<GitleaksAllowlist> allowlists;
 
     public GitleaksRule(String id, String description, String source, double minEntropy, int secretGroup,
-            String regexString, String pathRegexString, List<String> keywords, List<GitleaksAllowlist> allowlists) {
+            String regexString, String pathRegexString, List<String> keywords, List<GitleaksAllowlist> allowlists,
+            int regexFlags) {
         this.id = id;
         this.description = description;
         this.source = source;
@@ -27,12 +30,15 @@ public class GitleaksRule {
         this.secretGroup = secretGroup;
         this.allowlists = allowlists != null ? allowlists : Collections.emptyList();
 
-        this.regex = compileSafe(regexString);
-        this.pathRegex = compileSafe(pathRegexString);
+        this.regex = compileSafe(regexString, regexFlags);
+        this.pathRegex = compileSafe(pathRegexString, regexFlags);
+        this.maxMatchLength = RegexAnalyzer.maxMatchLength(regexString);
+        this.requiredLiterals = this.regex != null ? LiteralExtractor.requiredLiterals(regexString) : List.of();
         this.keywords = keywords != null ? keywords : Collections.emptyList();
     }
 
-    public boolean isAllowed(String secret, String fullMatch, String line, String filePath, Consumer<String> logger) {
+    public boolean isAllowed(String secret, String fullMatch, CharSequence line, String filePath,
+            Consumer<String> logger) {
         for (GitleaksAllowlist allowlist : allowlists) {
             if (allowlist.isAllowed(secret, fullMatch, line, filePath, logger)) {
                 return true;
@@ -41,7 +47,7 @@ public class GitleaksRule {
         return false;
     }
 
-    public boolean isAllowed(String secret, String fullMatch, String line, String filePath) {
+    public boolean isAllowed(String secret, String fullMatch, CharSequence line, String filePath) {
         return isAllowed(secret, fullMatch, line, filePath, null);
     }
 
@@ -77,12 +83,24 @@ public class GitleaksRule {
         return keywords;
     }
 
-    private Pattern compileSafe(String regex) {
+    public List<String> getRequiredLiterals() {
+        return requiredLiterals;
+    }
+
+    public int getMaxMatchLength() {
+        return maxMatchLength;
+    }
+
+    public List<GitleaksAllowlist> getAllowlists() {
+        return allowlists;
+    }
+
+    private Pattern compileSafe(String regex, int flags) {
         if (regex == null || regex.isBlank())
             return null;
 
         try {
-            return Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+            return Pattern.compile(regex, flags);
         } catch (PatternSyntaxException e) {
             throw new IllegalArgumentException("Invalid Regex: " + e.getMessage() + " in pattern: " + regex, e);
         }
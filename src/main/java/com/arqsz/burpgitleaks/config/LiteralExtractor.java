@@ -0,0 +1,429 @@
+package com.arqsz.burpgitleaks.config;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Derives, from the syntax of an RE2 pattern, a set of literals of which
+ * every match must contain at least one (e.g. {@code ghp_} for
+ * {@code ghp_[0-9a-zA-Z]{36}}). Literals are lower-cased because the
+ * prefilter ignores case, so the gate admits a superset of the matches
+ * whether or not the rule uses {@code (?i)}.
+ *
+ * Each sub-pattern is summarized by the exact set of strings it can match,
+ * while that set stays small, or else by a set of factors one of which every
+ * match contains. Like {@link RegexAnalyzer} the extraction is conservative:
+ * unknown syntax yields no requirement, and so does a result whose shortest
+ * literal is too short to filter anything.
+ */
+public class LiteralExtractor {
+
+    private static final int MAX_EXACT = 16;
+    private static final int MAX_FACTORS = 64;
+    private static final int MAX_CLASS = 4;
+    private static final int MIN_LITERAL = 3;
+
+    private record Info(Set<String> exact, Set<String> factors) {
+    }
+
+    private static final Info ANY = new Info(null, null);
+    private static final Info EMPTY = new Info(Set.of(""), null);
+
+    private final String pattern;
+    private int pos;
+
+    private LiteralExtractor(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public static List<String> requiredLiterals(String regex) {
+        if (regex == null || regex.isEmpty())
+            return List.of();
+
+        try {
+            LiteralExtractor extractor = new LiteralExtractor(regex);
+            Info info = extractor.parseAlternation();
+            if (extractor.pos != regex.length())
+                return List.of();
+
+            Set<String> required = required(info);
+            if (score(required) < MIN_LITERAL)
+                return List.of();
+
+            List<String> literals = new ArrayList<>();
+            for (String literal : required) {
+                if (required.stream().noneMatch(other -> !other.equals(literal) && literal.contains(other)))
+                    literals.add(literal);
+            }
+            literals.sort(null);
+            return List.copyOf(literals);
+        } catch (IllegalStateException | IndexOutOfBoundsException | NumberFormatException e) {
+            return List.of();
+        }
+    }
+
+    private Info parseAlternation() {
+        List<Info> branches = new ArrayList<>();
+        branches.add(parseSequence());
+        while (pos < pattern.length() && pattern.charAt(pos) == '|') {
+            pos++;
+            branches.add(parseSequence());
+        }
+        return branches.size() == 1 ? branches.get(0) : alternate(branches);
+    }
+
+    /**
+     * Concatenation keeps the exact strings of the current run of literal-like
+     * atoms and, once the run is broken by an atom with no exact set, the best
+     * factor set seen so far.
+     */
+    private Info parseSequence() {
+        Set<String> run = Set.of("");
+        Set<String> factors = null;
+        boolean broken = false;
+        while (pos < pattern.length()) {
+            char c = pattern.charAt(pos);
+            if (c == '|' || c == ')')
+                break;
+
+            Info atom = parseQuantifier(parseAtom());
+            if (atom.exact() == null) {
+                factors = best(best(factors, run), atom.factors());
+                run = Set.of("");
+                broken = true;
+            } else if (run.size() * atom.exact().size() <= MAX_EXACT) {
+                run = cross(run, atom.exact());
+            } else {
+                factors = best(factors, run);
+                run = atom.exact();
+                broken = true;
+            }
+        }
+        return broken ? new Info(null, best(factors, run)) : new Info(run, null);
+    }
+
+    private Info parseAtom() {
+        char c = pattern.charAt(pos++);
+        switch (c) {
+            case '(':
+                return parseGroup();
+            case '[':
+                return parseClass();
+            case '\\':
+                return parseEscape();
+            case '^':
+            case '$':
+                return EMPTY;
+            case '.':
+                return ANY;
+            case '*':
+            case '+':
+            case '?':
+            case '{':
+                if (c == '{' && !isRepeat())
+                    return literal(c);
+                throw new IllegalStateException("Dangling quantifier at " + (pos - 1));
+            default:
+                return literal(c);
+        }
+    }
+
+    private Info parseGroup() {
+        if (pattern.charAt(pos) == '?') {
+            pos++;
+            char next = pattern.charAt(pos);
+            if (next == 'P' || next == '<') {
+                int close = pattern.indexOf('>', pos);
+                if (close < 0)
+                    throw new IllegalStateException("Unterminated group name");
+                pos = close + 1;
+            } else {
+                while (pattern.charAt(pos) != ':' && pattern.charAt(pos) != ')') {
+                    pos++;
+                }
+                if (pattern.charAt(pos) == ')') {
+                    pos++;
+                    return EMPTY;
+                }
+                pos++;
+            }
+        }
+
+        Info inner = parseAlternation();
+        if (pos >= pattern.length() || pattern.charAt(pos) != ')')
+            throw new IllegalStateException("Unterminated group");
+        pos++;
+        return inner;
+    }
+
+    private Info parseEscape() {
+        char c = pattern.charAt(pos++);
+        switch (c) {
+            case 'b':
+            case 'B':
+            case 'A':
+            case 'z':
+                return EMPTY;
+            case 'd':
+            case 'D':
+            case 'w':
+            case 'W':
+            case 's':
+            case 'S':
+                return ANY;
+            case 'p':
+            case 'P':
+                if (pattern.charAt(pos) == '{')
+                    pos = pattern.indexOf('}', pos) + 1;
+                else
+                    pos++;
+                return ANY;
+            case 'Q': {
+                int end = pattern.indexOf("\\E", pos);
+                int literalEnd = end < 0 ? pattern.length() : end;
+                String literal = pattern.substring(pos, literalEnd);
+                pos = end < 0 ? pattern.length() : end + 2;
+                return new Info(Set.of(literal.toLowerCase(Locale.ROOT)), null);
+            }
+            default: {
+                int ch = escapedChar(c);
+                return ch < 0 ? ANY : literal((char) ch);
+            }
+        }
+    }
+
+    /**
+     * Returns the character an escape outside {@code \Q...\E} stands for, or -1
+     * when it is a class or something not worth decoding. Multi-character
+     * escapes (octal, backreferences, Unicode and control characters) are
+     * consumed whole, so their tail is not mistaken for literal text.
+     */
+    private int escapedChar(char c) {
+        switch (c) {
+            case 't':
+                return '\t';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            case 'v':
+                return 0x0B;
+            case 'x': {
+                int end;
+                int start;
+                if (pattern.charAt(pos) == '{') {
+                    start = pos + 1;
+                    end = pattern.indexOf('}', pos);
+                    pos = end + 1;
+                } else {
+                    start = pos;
+                    end = pos + 2;
+                    pos = end;
+                }
+                int value = Integer.parseInt(pattern.substring(start, end), 16);
+                return value <= 0xFF ? value : -1;
+            }
+            case 'u':
+                pos = Math.min(pattern.length(), pos + 4);
+                return -1;
+            case 'c':
+                pos++;
+                return -1;
+            case 'k':
+                if (pattern.charAt(pos) == '<')
+                    pos = pattern.indexOf('>', pos) + 1;
+                return -1;
+            default:
+                if (Character.isDigit(c)) {
+                    int end = Math.min(pattern.length(), pos + (c == '0' ? 3 : 2));
+                    while (pos < end && Character.isDigit(pattern.charAt(pos)))
+                        pos++;
+                }
+                return Character.isLetterOrDigit(c) ? -1 : c;
+        }
+    }
+
+    private Info parseClass() {
+        boolean negated = pattern.charAt(pos) == '^';
+        if (negated)
+            pos++;
+
+        Set<String> chars = new HashSet<>();
+        boolean wide = false;
+        boolean first = true;
+        while (first || pattern.charAt(pos) != ']') {
+            first = false;
+            int lo = classChar();
+            if (lo < 0) {
+                wide = true;
+                continue;
+            }
+            int hi = lo;
+            if (pattern.charAt(pos) == '-' && pattern.charAt(pos + 1) != ']') {
+                pos++;
+                hi = classChar();
+                if (hi < 0) {
+                    wide = true;
+                    continue;
+                }
+            }
+            if (hi - lo >= MAX_CLASS * 2) {
+                wide = true;
+                continue;
+            }
+            for (int ch = lo; ch <= hi; ch++) {
+                chars.add(String.valueOf((char) ch).toLowerCase(Locale.ROOT));
+            }
+        }
+        pos++;
+
+        if (negated || wide || chars.isEmpty() || chars.size() > MAX_CLASS)
+            return ANY;
+        return new Info(Set.copyOf(chars), null);
+    }
+
+    private int classChar() {
+        char c = pattern.charAt(pos++);
+        if (c == '[' && pattern.charAt(pos) == ':') {
+            pos = pattern.indexOf(":]", pos) + 2;
+            return -1;
+        }
+        if (c != '\\')
+            return c;
+
+        char esc = pattern.charAt(pos++);
+        if (esc == 'p' || esc == 'P') {
+            if (pattern.charAt(pos) == '{')
+                pos = pattern.indexOf('}', pos) + 1;
+            else
+                pos++;
+            return -1;
+        }
+        return escapedChar(esc);
+    }
+
+    private Info parseQuantifier(Info atom) {
+        if (pos >= pattern.length())
+            return atom;
+
+        int min;
+        int max;
+        char c = pattern.charAt(pos);
+        switch (c) {
+            case '*':
+                pos++;
+                min = 0;
+                max = -1;
+                break;
+            case '+':
+                pos++;
+                min = 1;
+                max = -1;
+                break;
+            case '?':
+                pos++;
+                min = 0;
+                max = 1;
+                break;
+            case '{': {
+                if (!isRepeat())
+                    return atom;
+                int close = pattern.indexOf('}', pos);
+                String body = pattern.substring(pos + 1, close);
+                pos = close + 1;
+                int comma = body.indexOf(',');
+                min = Integer.parseInt(comma < 0 ? body : body.substring(0, comma));
+                max = comma < 0 ? min : body.length() == comma + 1 ? -1 : Integer.parseInt(body.substring(comma + 1));
+                break;
+            }
+            default:
+                return atom;
+        }
+
+        if (pos < pattern.length() && pattern.charAt(pos) == '?')
+            pos++;
+
+        if (pos < pattern.length() && "*+?".indexOf(pattern.charAt(pos)) >= 0)
+            throw new IllegalStateException("Nested quantifier at " + pos);
+
+        if (min == 1 && max == 1)
+            return atom;
+        if (min > 0)
+            return new Info(null, required(atom));
+        if (max == 1 && atom.exact() != null && atom.exact().size() < MAX_EXACT) {
+            Set<String> exact = new HashSet<>(atom.exact());
+            exact.add("");
+            return new Info(Set.copyOf(exact), null);
+        }
+        return ANY;
+    }
+
+    private boolean isRepeat() {
+        int start = pattern.charAt(pos) == '{' ? pos + 1 : pos;
+        int close = pattern.indexOf('}', start);
+        if (close < 0)
+            return false;
+        String body = pattern.substring(start, close);
+        return body.matches("\\d+(,\\d*)?");
+    }
+
+    private static Info literal(char c) {
+        return new Info(Set.of(String.valueOf(c).toLowerCase(Locale.ROOT)), null);
+    }
+
+    private static Set<String> cross(Set<String> a, Set<String> b) {
+        Set<String> result = new HashSet<>();
+        for (String x : a) {
+            for (String y : b) {
+                result.add(x + y);
+            }
+        }
+        return Set.copyOf(result);
+    }
+
+    private static Info alternate(List<Info> branches) {
+        Set<String> union = new HashSet<>();
+        boolean exact = true;
+        for (Info branch : branches) {
+            Set<String> required = required(branch);
+            if (required == null)
+                return ANY;
+            exact &= branch.exact() != null;
+            union.addAll(required);
+        }
+        if (exact && union.size() <= MAX_EXACT)
+            return new Info(Set.copyOf(union), null);
+        if (union.contains("") || union.size() > MAX_FACTORS)
+            return ANY;
+        return new Info(null, Set.copyOf(union));
+    }
+
+    private static Set<String> required(Info info) {
+        return info.exact() != null ? info.exact() : info.factors();
+    }
+
+    private static Set<String> best(Set<String> a, Set<String> b) {
+        int scoreA = score(a);
+        int scoreB = score(b);
+        if (scoreA != scoreB)
+            return scoreA > scoreB ? a : b;
+        if (a == null)
+            return b;
+        return b == null || a.size() <= b.size() ? a : b;
+    }
+
+    private static int score(Set<String> literals) {
+        if (literals == null || literals.isEmpty())
+            return 0;
+        int min = Integer.MAX_VALUE;
+        for (String literal : literals) {
+            min = Math.min(min, literal.length());
+        }
+        return min;
+    }
+}
\ No newline at end of file
@@ -3,25 +3,284 @@ package com.arqsz.burpgitleaks.config;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import burp.api.montoya.persistence.Preferences;
 
 public class PluginSettings {
     private static final String KEY_URL = "gitleaks_config_url";
     private static final String KEY_CUSTOM_PATH = "gitleaks_custom_path";
+    private static final String KEY_CASE_INSENSITIVE_RULES = "gitleaks_case_insensitive_rules";
     private static final String KEY_DISABLED_RULES = "gitleaks_disabled_rules";
     private static final String KEY_REDACT_LEVEL = "gitleaks_redact_level";
     private static final String KEY_IGNORE_ALLOW = "gitleaks_ignore_allow";
     private static final String KEY_DEBUG_LOGGING = "gitleaks_debug_logging";
     private static final String KEY_SCAN_SCOPE_ONLY = "gitleaks_scan_scope_only";
     private static final String KEY_SHOW_ISSUES_TAB = "gitleaks_show_issues_tab";
+    private static final String KEY_FRAGMENT_SCAN = "gitleaks_fragment_scan";
+    private static final String KEY_FRAGMENT_WINDOW = "gitleaks_fragment_window";
+    private static final String KEY_LINE_CONTEXT = "gitleaks_line_context";
+    private static final String KEY_FULL_SCAN_RULES = "gitleaks_full_scan_rules";
+    private static final String KEY_MAX_SCAN_SIZE = "gitleaks_max_scan_size_mb";
+    private static final String KEY_CHUNK_SIZE = "gitleaks_chunk_size_kb";
+    private static final String KEY_STREAM_CAP = "gitleaks_stream_cap_mb";
+    private static final String KEY_RESULT_CACHE = "gitleaks_result_cache";
+    private static final String KEY_RESULT_CACHE_SIZE = "gitleaks_result_cache_mb";
+    private static final String KEY_PARALLEL_SCAN = "gitleaks_parallel_scan";
+    private static final String KEY_PARALLEL_THRESHOLD = "gitleaks_parallel_threshold_kb";
+    private static final String KEY_DISABLED_DECODERS = "gitleaks_disabled_decoders";
+    private static final String KEY_DECODE_BUDGET_KB = "gitleaks_decode_budget_kb";
+    private static final String KEY_DECODE_BUDGET_LAYERS = "gitleaks_decode_budget_layers";
+    private static final String KEY_DECODE_BUDGET_MS = "gitleaks_decode_budget_ms";
+    private static final String KEY_SCAN_REQUEST_LINE = "gitleaks_scan_request_line";
+    private static final String KEY_SCAN_REQUEST_HEADERS = "gitleaks_scan_request_headers";
+    private static final String KEY_SCAN_REQUEST_BODY = "gitleaks_scan_request_body";
+    private static final String KEY_SCAN_RESPONSE_HEADERS = "gitleaks_scan_response_headers";
+    private static final String KEY_ISSUE_GROUPING = "gitleaks_issue_grouping";
+    private static final String KEY_SCAN_BUDGET_MS = "gitleaks_scan_budget_ms";
+    private static final String KEY_FINISH_LATER = "gitleaks_finish_later";
+    private static final String KEY_SCAN_WORKERS = "gitleaks_scan_workers";
+    private static final String KEY_QUEUE_CAPACITY = "gitleaks_queue_capacity";
+    private static final String KEY_QUEUE_BUDGET_MB = "gitleaks_queue_budget_mb";
+    private static final String KEY_QUEUE_OVERFLOW = "gitleaks_queue_overflow";
+    private static final String KEY_LOAD_SHEDDING = "gitleaks_load_shedding";
+    private static final String KEY_SHED_QUEUE_DEPTH = "gitleaks_shed_queue_depth";
+    private static final String KEY_SHED_WAIT_MS = "gitleaks_shed_wait_ms";
+    private static final String KEY_TWO_PHASE_SCAN = "gitleaks_two_phase_scan";
 
     private static final int DEFAULT_REDACT_LEVEL = 50;
+    private static final int DEFAULT_FRAGMENT_WINDOW = 4096;
+    private static final int DEFAULT_LINE_CONTEXT = 2048;
+    private static final int DEFAULT_MAX_SCAN_SIZE_MB = 5;
+    private static final int DEFAULT_CHUNK_SIZE_KB = 1024;
+    private static final int DEFAULT_STREAM_CAP_MB = 50;
+    private static final int DEFAULT_RESULT_CACHE_SIZE_MB = 32;
+    private static final int DEFAULT_PARALLEL_THRESHOLD_KB = 256;
+    private static final int DEFAULT_DECODE_BUDGET_KB = 4096;
+    private static final int DEFAULT_DECODE_BUDGET_LAYERS = 1000;
+    private static final int DEFAULT_DECODE_BUDGET_MS = 2000;
+    private static final int DEFAULT_SCAN_BUDGET_MS = 5000;
+    private static final int DEFAULT_SCAN_WORKERS = 3;
+    private static final int DEFAULT_QUEUE_CAPACITY = 500;
+    private static final int DEFAULT_QUEUE_BUDGET_MB = 64;
+    private static final int DEFAULT_SHED_QUEUE_DEPTH = 100;
+    private static final int DEFAULT_SHED_WAIT_MS = 10_000;
 
     private final Preferences prefs;
+    private final List<Consumer<Snapshot>> listeners = new CopyOnWriteArrayList<>();
+    private volatile Snapshot snapshot;
+
+    public enum IssueGrouping {
+        URL("Once per URL"),
+        HOST("Once per host"),
+        SECRET("Once");
+
+        private final String label;
+
+        IssueGrouping(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    public enum QueueOverflow {
+        DROP_OLDEST("Drop the oldest queued response"),
+        DROP_LARGEST("Drop the largest response"),
+        TRUNCATE("Scan only the start of the new response");
+
+        private final String label;
+
+        QueueOverflow(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /**
+     * Immutable view of the scan settings. Rebuilt whenever a setter is called,
+     * so the scanner can read every setting with a single volatile load instead
+     * of going to the Preferences store per rule or per match. Settings are
+     * grouped by the part of the scan they control.
+     */
+    public record Snapshot(
+            long version,
+            Detection detection,
+            Coverage coverage,
+            Limits limits,
+            Performance performance,
+            Decoding decoding,
+            Queue queue,
+            Reporting reporting) {
+    }
+
+    /** Settings that change which matches are found; cached results depend on all of them. */
+    public record Detection(
+            Set<String> disabledRules,
+            Set<String> fullScanRules,
+            boolean fragmentScan,
+            int fragmentWindow,
+            int lineContext,
+            boolean ignoreGitleaksAllow) {
+    }
+
+    /** Which messages and message parts are scanned. */
+    public record Coverage(
+            boolean inScopeOnly,
+            boolean requestLine,
+            boolean requestHeaders,
+            boolean requestBody,
+            boolean responseHeaders) {
+
+        public boolean scansMessageParts() {
+            return requestLine || requestHeaders || requestBody || responseHeaders;
+        }
+    }
+
+    public record Limits(
+            int maxScanSizeMb,
+            int chunkSizeKb,
+            int streamCapMb,
+            int scanBudgetMs,
+            boolean finishLater) {
+    }
+
+    public record Performance(
+            boolean resultCache,
+            int resultCacheSizeMb,
+            boolean parallelScan,
+            int parallelThresholdKb,
+            boolean twoPhaseScan) {
+    }
+
+    public record Decoding(
+            Set<String> disabledDecoders,
+            int budgetKb,
+            int budgetLayers,
+            int budgetMs) {
+    }
+
+    /** Community Edition scan queue. */
+    public record Queue(
+            int scanWorkers,
+            int capacity,
+            int budgetMb,
+            QueueOverflow overflow,
+            boolean loadShedding,
+            int shedQueueDepth,
+            int shedWaitMs) {
+    }
+
+    public record Reporting(
+            int redactionLevel,
+            IssueGrouping issueGrouping,
+            boolean showIssuesTab,
+            boolean debug) {
+    }
 
     public PluginSettings(Preferences prefs) {
         this.prefs = prefs;
+        this.snapshot = load(0);
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Listeners are called outside the lock, so concurrent changes may reach
+     * them out of order; they either read {@link #snapshot()} or drop
+     * snapshots older than the last one they applied.
+     */
+    public void addChangeListener(Consumer<Snapshot> listener) {
+        listeners.add(listener);
+    }
+
+    private void publish() {
+        Snapshot published;
+        synchronized (this) {
+            published = load(snapshot.version() + 1);
+            snapshot = published;
+        }
+        for (Consumer<Snapshot> listener : listeners) {
+            listener.accept(published);
+        }
+    }
+
+    private Snapshot load(long version) {
+        Detection detection = new Detection(
+                Set.copyOf(getRuleList(KEY_DISABLED_RULES)),
+                Set.copyOf(getRuleList(KEY_FULL_SCAN_RULES)),
+                !Boolean.FALSE.equals(prefs.getBoolean(KEY_FRAGMENT_SCAN)),
+                getInteger(KEY_FRAGMENT_WINDOW, DEFAULT_FRAGMENT_WINDOW),
+                getInteger(KEY_LINE_CONTEXT, DEFAULT_LINE_CONTEXT),
+                Boolean.TRUE.equals(prefs.getBoolean(KEY_IGNORE_ALLOW)));
+        Coverage coverage = new Coverage(
+                Boolean.TRUE.equals(prefs.getBoolean(KEY_SCAN_SCOPE_ONLY)),
+                Boolean.TRUE.equals(prefs.getBoolean(KEY_SCAN_REQUEST_LINE)),
+                Boolean.TRUE.equals(prefs.getBoolean(KEY_SCAN_REQUEST_HEADERS)),
+                Boolean.TRUE.equals(prefs.getBoolean(KEY_SCAN_REQUEST_BODY)),
+                Boolean.TRUE.equals(prefs.getBoolean(KEY_SCAN_RESPONSE_HEADERS)));
+        Limits limits = new Limits(
+                getInteger(KEY_MAX_SCAN_SIZE, DEFAULT_MAX_SCAN_SIZE_MB),
+                getInteger(KEY_CHUNK_SIZE, DEFAULT_CHUNK_SIZE_KB),
+                getInteger(KEY_STREAM_CAP, DEFAULT_STREAM_CAP_MB),
+                getInteger(KEY_SCAN_BUDGET_MS, DEFAULT_SCAN_BUDGET_MS),
+                Boolean.TRUE.equals(prefs.getBoolean(KEY_FINISH_LATER)));
+        Performance performance = new Performance(
+                !Boolean.FALSE.equals(prefs.getBoolean(KEY_RESULT_CACHE)),
+                getInteger(KEY_RESULT_CACHE_SIZE, DEFAULT_RESULT_CACHE_SIZE_MB),
+                Boolean.TRUE.equals(prefs.getBoolean(KEY_PARALLEL_SCAN)),
+                getInteger(KEY_PARALLEL_THRESHOLD, DEFAULT_PARALLEL_THRESHOLD_KB),
+                Boolean.TRUE.equals(prefs.getBoolean(KEY_TWO_PHASE_SCAN)));
+        Decoding decoding = new Decoding(
+                Set.copyOf(getRuleList(KEY_DISABLED_DECODERS)),
+                getInteger(KEY_DECODE_BUDGET_KB, DEFAULT_DECODE_BUDGET_KB),
+                getInteger(KEY_DECODE_BUDGET_LAYERS, DEFAULT_DECODE_BUDGET_LAYERS),
+                getInteger(KEY_DECODE_BUDGET_MS, DEFAULT_DECODE_BUDGET_MS));
+        Queue queue = new Queue(
+                getInteger(KEY_SCAN_WORKERS, DEFAULT_SCAN_WORKERS),
+                getInteger(KEY_QUEUE_CAPACITY, DEFAULT_QUEUE_CAPACITY),
+                getInteger(KEY_QUEUE_BUDGET_MB, DEFAULT_QUEUE_BUDGET_MB),
+                getQueueOverflow(prefs.getString(KEY_QUEUE_OVERFLOW)),
+                !Boolean.FALSE.equals(prefs.getBoolean(KEY_LOAD_SHEDDING)),
+                getInteger(KEY_SHED_QUEUE_DEPTH, DEFAULT_SHED_QUEUE_DEPTH),
+                getInteger(KEY_SHED_WAIT_MS, DEFAULT_SHED_WAIT_MS));
+        Reporting reporting = new Reporting(
+                getInteger(KEY_REDACT_LEVEL, DEFAULT_REDACT_LEVEL),
+                getIssueGrouping(prefs.getString(KEY_ISSUE_GROUPING)),
+                Boolean.TRUE.equals(prefs.getBoolean(KEY_SHOW_ISSUES_TAB)),
+                Boolean.TRUE.equals(prefs.getBoolean(KEY_DEBUG_LOGGING)));
+        return new Snapshot(version, detection, coverage, limits, performance, decoding, queue, reporting);
+    }
+
+    private static IssueGrouping getIssueGrouping(String value) {
+        if (value != null) {
+            for (IssueGrouping grouping : IssueGrouping.values()) {
+                if (grouping.name().equals(value))
+                    return grouping;
+            }
+        }
+        return IssueGrouping.URL;
+    }
+
+    private static QueueOverflow getQueueOverflow(String value) {
+        if (value != null) {
+            for (QueueOverflow overflow : QueueOverflow.values()) {
+                if (overflow.name().equals(value))
+                    return overflow;
+            }
+        }
+        return QueueOverflow.DROP_OLDEST;
     }
 
     public String getUrl() {
@@ -41,63 +300,359 @@ public class PluginSettings {
         prefs.setString(KEY_CUSTOM_PATH, path);
     }
 
+    public boolean isCaseInsensitiveRules() {
+        return Boolean.TRUE.equals(prefs.getBoolean(KEY_CASE_INSENSITIVE_RULES));
+    }
+
+    public void setCaseInsensitiveRules(boolean caseInsensitive) {
+        prefs.setBoolean(KEY_CASE_INSENSITIVE_RULES, caseInsensitive);
+    }
+
     public List<String> getDisabledRules() {
-        String raw = prefs.getString(KEY_DISABLED_RULES);
-        if (raw == null || raw.isBlank()) {
-            return new ArrayList<>();
-        }
-        return new ArrayList<>(Arrays.asList(raw.split(",")));
+        return new ArrayList<>(snapshot.detection().disabledRules());
     }
 
     public void setDisabledRules(List<String> rules) {
-        if (rules == null || rules.isEmpty()) {
-            prefs.deleteString(KEY_DISABLED_RULES);
-            return;
-        }
-        if (rules.stream().anyMatch(id -> id.contains(","))) {
-            throw new IllegalArgumentException("Rule IDs cannot contain commas");
-        }
-        prefs.setString(KEY_DISABLED_RULES, String.join(",", rules));
+        setRuleList(KEY_DISABLED_RULES, rules);
+        publish();
+    }
+
+    public List<String> getFullScanRules() {
+        return new ArrayList<>(snapshot.detection().fullScanRules());
+    }
+
+    public void setFullScanRules(List<String> rules) {
+        setRuleList(KEY_FULL_SCAN_RULES, rules);
+        publish();
+    }
+
+    public boolean isFragmentScanEnabled() {
+        return snapshot.detection().fragmentScan();
+    }
+
+    public void setFragmentScanEnabled(boolean enabled) {
+        prefs.setBoolean(KEY_FRAGMENT_SCAN, enabled);
+        publish();
+    }
+
+    public int getFragmentWindow() {
+        return snapshot.detection().fragmentWindow();
+    }
+
+    public void setFragmentWindow(int window) {
+        prefs.setInteger(KEY_FRAGMENT_WINDOW, window);
+        publish();
+    }
+
+    public int getLineContext() {
+        return snapshot.detection().lineContext();
+    }
+
+    public void setLineContext(int chars) {
+        prefs.setInteger(KEY_LINE_CONTEXT, chars);
+        publish();
+    }
+
+    public int getMaxScanSizeMb() {
+        return snapshot.limits().maxScanSizeMb();
+    }
+
+    public void setMaxScanSizeMb(int size) {
+        prefs.setInteger(KEY_MAX_SCAN_SIZE, size);
+        publish();
+    }
+
+    public int getChunkSizeKb() {
+        return snapshot.limits().chunkSizeKb();
+    }
+
+    public void setChunkSizeKb(int size) {
+        prefs.setInteger(KEY_CHUNK_SIZE, size);
+        publish();
+    }
+
+    public int getStreamCapMb() {
+        return snapshot.limits().streamCapMb();
+    }
+
+    public void setStreamCapMb(int cap) {
+        prefs.setInteger(KEY_STREAM_CAP, cap);
+        publish();
+    }
+
+    public boolean isResultCacheEnabled() {
+        return snapshot.performance().resultCache();
+    }
+
+    public void setResultCacheEnabled(boolean enabled) {
+        prefs.setBoolean(KEY_RESULT_CACHE, enabled);
+        publish();
+    }
+
+    public int getResultCacheSizeMb() {
+        return snapshot.performance().resultCacheSizeMb();
+    }
+
+    public void setResultCacheSizeMb(int size) {
+        prefs.setInteger(KEY_RESULT_CACHE_SIZE, size);
+        publish();
+    }
+
+    public boolean isParallelScanEnabled() {
+        return snapshot.performance().parallelScan();
+    }
+
+    public void setParallelScanEnabled(boolean enabled) {
+        prefs.setBoolean(KEY_PARALLEL_SCAN, enabled);
+        publish();
+    }
+
+    public int getParallelThresholdKb() {
+        return snapshot.performance().parallelThresholdKb();
+    }
+
+    public void setParallelThresholdKb(int threshold) {
+        prefs.setInteger(KEY_PARALLEL_THRESHOLD, threshold);
+        publish();
+    }
+
+    public List<String> getDisabledDecoders() {
+        return new ArrayList<>(snapshot.decoding().disabledDecoders());
+    }
+
+    public void setDisabledDecoders(List<String> decoders) {
+        setRuleList(KEY_DISABLED_DECODERS, decoders);
+        publish();
+    }
+
+    public int getDecodeBudgetKb() {
+        return snapshot.decoding().budgetKb();
+    }
+
+    public void setDecodeBudgetKb(int budget) {
+        prefs.setInteger(KEY_DECODE_BUDGET_KB, budget);
+        publish();
+    }
+
+    public int getDecodeBudgetLayers() {
+        return snapshot.decoding().budgetLayers();
+    }
+
+    public void setDecodeBudgetLayers(int budget) {
+        prefs.setInteger(KEY_DECODE_BUDGET_LAYERS, budget);
+        publish();
+    }
+
+    public int getDecodeBudgetMs() {
+        return snapshot.decoding().budgetMs();
+    }
+
+    public void setDecodeBudgetMs(int budget) {
+        prefs.setInteger(KEY_DECODE_BUDGET_MS, budget);
+        publish();
+    }
+
+    public int getScanBudgetMs() {
+        return snapshot.limits().scanBudgetMs();
+    }
+
+    public void setScanBudgetMs(int budget) {
+        prefs.setInteger(KEY_SCAN_BUDGET_MS, budget);
+        publish();
+    }
+
+    public boolean isFinishLaterEnabled() {
+        return snapshot.limits().finishLater();
+    }
+
+    public void setFinishLaterEnabled(boolean enabled) {
+        prefs.setBoolean(KEY_FINISH_LATER, enabled);
+        publish();
+    }
+
+    public boolean isScanRequestLineEnabled() {
+        return snapshot.coverage().requestLine();
+    }
+
+    public void setScanRequestLineEnabled(boolean enabled) {
+        prefs.setBoolean(KEY_SCAN_REQUEST_LINE, enabled);
+        publish();
+    }
+
+    public boolean isScanRequestHeadersEnabled() {
+        return snapshot.coverage().requestHeaders();
+    }
+
+    public void setScanRequestHeadersEnabled(boolean enabled) {
+        prefs.setBoolean(KEY_SCAN_REQUEST_HEADERS, enabled);
+        publish();
+    }
+
+    public boolean isScanRequestBodyEnabled() {
+        return snapshot.coverage().requestBody();
+    }
+
+    public void setScanRequestBodyEnabled(boolean enabled) {
+        prefs.setBoolean(KEY_SCAN_REQUEST_BODY, enabled);
+        publish();
+    }
+
+    public boolean isScanResponseHeadersEnabled() {
+        return snapshot.coverage().responseHeaders();
+    }
+
+    public void setScanResponseHeadersEnabled(boolean enabled) {
+        prefs.setBoolean(KEY_SCAN_RESPONSE_HEADERS, enabled);
+        publish();
+    }
+
+    public IssueGrouping getIssueGrouping() {
+        return snapshot.reporting().issueGrouping();
+    }
+
+    public void setIssueGrouping(IssueGrouping grouping) {
+        prefs.setString(KEY_ISSUE_GROUPING, grouping.name());
+        publish();
+    }
+
+    public int getScanWorkers() {
+        return snapshot.queue().scanWorkers();
+    }
+
+    public void setScanWorkers(int workers) {
+        prefs.setInteger(KEY_SCAN_WORKERS, workers);
+        publish();
+    }
+
+    public int getQueueCapacity() {
+        return snapshot.queue().capacity();
+    }
+
+    public void setQueueCapacity(int capacity) {
+        prefs.setInteger(KEY_QUEUE_CAPACITY, capacity);
+        publish();
+    }
+
+    public int getQueueBudgetMb() {
+        return snapshot.queue().budgetMb();
+    }
+
+    public void setQueueBudgetMb(int budget) {
+        prefs.setInteger(KEY_QUEUE_BUDGET_MB, budget);
+        publish();
+    }
+
+    public QueueOverflow getQueueOverflow() {
+        return snapshot.queue().overflow();
+    }
+
+    public void setQueueOverflow(QueueOverflow overflow) {
+        prefs.setString(KEY_QUEUE_OVERFLOW, overflow.name());
+        publish();
+    }
+
+    public boolean isLoadSheddingEnabled() {
+        return snapshot.queue().loadShedding();
+    }
+
+    public void setLoadSheddingEnabled(boolean enabled) {
+        prefs.setBoolean(KEY_LOAD_SHEDDING, enabled);
+        publish();
+    }
+
+    public int getShedQueueDepth() {
+        return snapshot.queue().shedQueueDepth();
+    }
+
+    public void setShedQueueDepth(int depth) {
+        prefs.setInteger(KEY_SHED_QUEUE_DEPTH, depth);
+        publish();
+    }
+
+    public int getShedWaitMs() {
+        return snapshot.queue().shedWaitMs();
+    }
+
+    public void setShedWaitMs(int wait) {
+        prefs.setInteger(KEY_SHED_WAIT_MS, wait);
+        publish();
+    }
+
+    public boolean isTwoPhaseScanEnabled() {
+        return snapshot.performance().twoPhaseScan();
+    }
+
+    public void setTwoPhaseScanEnabled(boolean enabled) {
+        prefs.setBoolean(KEY_TWO_PHASE_SCAN, enabled);
+        publish();
     }
 
     public int getRedactionLevel() {
-        Integer level = prefs.getInteger(KEY_REDACT_LEVEL);
-        return level == null ? DEFAULT_REDACT_LEVEL : level;
+        return snapshot.reporting().redactionLevel();
     }
 
     public void setRedactionLevel(int level) {
         prefs.setInteger(KEY_REDACT_LEVEL, level);
+        publish();
     }
 
     public boolean getIgnoreGitleaksAllow() {
-        return Boolean.TRUE.equals(prefs.getBoolean(KEY_IGNORE_ALLOW));
+        return snapshot.detection().ignoreGitleaksAllow();
     }
 
     public void setIgnoreGitleaksAllow(boolean ignore) {
         prefs.setBoolean(KEY_IGNORE_ALLOW, ignore);
+        publish();
     }
 
     public boolean isDebugEnabled() {
-        return Boolean.TRUE.equals(prefs.getBoolean(KEY_DEBUG_LOGGING));
+        return snapshot.reporting().debug();
     }
 
     public void setDebugEnabled(boolean debug) {
         prefs.setBoolean(KEY_DEBUG_LOGGING, debug);
+        publish();
     }
 
     public boolean isScanInScopeOnly() {
-        return Boolean.TRUE.equals(prefs.getBoolean(KEY_SCAN_SCOPE_ONLY));
+        return snapshot.coverage().inScopeOnly();
     }
 
     public void setScanInScopeOnly(boolean enabled) {
         prefs.setBoolean(KEY_SCAN_SCOPE_ONLY, enabled);
+        publish();
     }
 
     public boolean isShowIssuesTab() {
-        return Boolean.TRUE.equals(prefs.getBoolean(KEY_SHOW_ISSUES_TAB));
+        return snapshot.reporting().showIssuesTab();
     }
 
     public void setShowIssuesTab(boolean show) {
         prefs.setBoolean(KEY_SHOW_ISSUES_TAB, show);
+        publish();
+    }
+
+    private int getInteger(String key, int defaultValue) {
+        Integer value = prefs.getInteger(key);
+        return value == null ? defaultValue : value;
+    }
+
+    private List<String> getRuleList(String key) {
+        String raw = prefs.getString(key);
+        if (raw == null || raw.isBlank()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(Arrays.asList(raw.split(",")));
+    }
+
+    private void setRuleList(String key, List<String> rules) {
+        if (rules == null || rules.isEmpty()) {
+            prefs.deleteString(key);
+            return;
+        }
+        if (rules.stream().anyMatch(id -> id.contains(","))) {
+            throw new IllegalArgumentException("Rule IDs cannot contain commas");
+        }
+        prefs.setString(key, String.join(",", rules));
     }
 }
\ No newline at end of file
@@ -0,0 +1,346 @@
+package com.arqsz.burpgitleaks.config;
+
+/**
+ * Minimal structural analysis of RE2 patterns as used by gitleaks rules.
+ *
+ * The analyzer only needs to be conservative: whenever it meets syntax it
+ * does not understand, the pattern is reported as unbounded and callers fall
+ * back to scanning the whole content.
+ */
+public class RegexAnalyzer {
+
+    public static final int UNBOUNDED = -1;
+
+    private static final long LIMIT = Integer.MAX_VALUE;
+
+    private final String pattern;
+    private int pos;
+
+    private RegexAnalyzer(String pattern) {
+        this.pattern = pattern;
+    }
+
+    /**
+     * Returns the maximum number of characters a match of the given pattern can
+     * span, or {@link #UNBOUNDED} when the pattern contains unbounded repetition
+     * or cannot be analyzed.
+     */
+    public static int maxMatchLength(String regex) {
+        if (regex == null || regex.isEmpty())
+            return UNBOUNDED;
+
+        try {
+            RegexAnalyzer analyzer = new RegexAnalyzer(regex);
+            long max = analyzer.parseAlternation();
+            if (analyzer.pos != regex.length() || max >= LIMIT)
+                return UNBOUNDED;
+            return (int) max;
+        } catch (IllegalStateException | IndexOutOfBoundsException e) {
+            return UNBOUNDED;
+        }
+    }
+
+    /**
+     * Returns the number of literal characters every match of the given pattern
+     * starts with, e.g. 4 for {@code \bghp_[0-9a-zA-Z]{36}} or 3 for
+     * {@code (?:ghu|ghs)_}. Word boundaries and flag groups are skipped; the
+     * prefix ends at the first class, wildcard, quantified atom or group end.
+     */
+    public static int literalPrefixLength(String regex) {
+        if (regex == null || regex.isEmpty())
+            return 0;
+
+        try {
+            return new RegexAnalyzer(regex).prefixAlternation();
+        } catch (IllegalStateException | IndexOutOfBoundsException e) {
+            return 0;
+        }
+    }
+
+    private int prefixAlternation() {
+        int min = prefixSequence();
+        while (pos < pattern.length() && pattern.charAt(pos) == '|') {
+            pos++;
+            min = Math.min(min, prefixSequence());
+        }
+        return min;
+    }
+
+    private int prefixSequence() {
+        int length = 0;
+        boolean open = true;
+        while (pos < pattern.length()) {
+            char c = pattern.charAt(pos);
+            if (c == '|' || c == ')')
+                break;
+
+            if (open) {
+                if (c == '^' || pattern.startsWith("\\b", pos)) {
+                    pos += c == '^' ? 1 : 2;
+                    continue;
+                }
+                if (c == '(' && pattern.startsWith("?", pos + 1) && isFlagGroup(pos + 2)) {
+                    pos = pattern.indexOf(')', pos) + 1;
+                    continue;
+                }
+                if (c == '(') {
+                    pos++;
+                    int inner = prefixGroup();
+                    if (isQuantified(pos))
+                        parseQuantifier(1);
+                    else
+                        length += inner;
+                    open = false;
+                    continue;
+                }
+
+                int width = literalWidth(pos);
+                if (width > 0 && !isQuantified(pos + width)) {
+                    length++;
+                    pos += width;
+                    continue;
+                }
+                open = false;
+            }
+            parseQuantifier(parseAtom());
+        }
+        return length;
+    }
+
+    private int prefixGroup() {
+        if (pattern.charAt(pos) == '?') {
+            pos++;
+            if (pattern.charAt(pos) == 'P' || pattern.charAt(pos) == '<') {
+                pos = pattern.indexOf('>', pos) + 1;
+            } else {
+                pos = pattern.indexOf(':', pos) + 1;
+            }
+        }
+
+        int inner = prefixAlternation();
+        if (pos >= pattern.length() || pattern.charAt(pos) != ')')
+            throw new IllegalStateException("Unterminated group");
+        pos++;
+        return inner;
+    }
+
+    private boolean isFlagGroup(int from) {
+        int end = from;
+        while (end < pattern.length() && (Character.isLetter(pattern.charAt(end)) || pattern.charAt(end) == '-'))
+            end++;
+        return end < pattern.length() && pattern.charAt(end) == ')';
+    }
+
+    private int literalWidth(int at) {
+        char c = pattern.charAt(at);
+        if (c == '\\')
+            return at + 1 < pattern.length() && !Character.isLetterOrDigit(pattern.charAt(at + 1)) ? 2 : 0;
+        return "[](){}|.*+?^$".indexOf(c) < 0 ? 1 : 0;
+    }
+
+    private boolean isQuantified(int at) {
+        if (at >= pattern.length())
+            return false;
+        char c = pattern.charAt(at);
+        if (c != '{')
+            return c == '*' || c == '+' || c == '?';
+
+        int saved = pos;
+        pos = at;
+        boolean repeat = isRepeat();
+        pos = saved;
+        return repeat;
+    }
+
+    private long parseAlternation() {
+        long max = parseSequence();
+        while (pos < pattern.length() && pattern.charAt(pos) == '|') {
+            pos++;
+            max = Math.max(max, parseSequence());
+        }
+        return max;
+    }
+
+    private long parseSequence() {
+        long total = 0;
+        while (pos < pattern.length()) {
+            char c = pattern.charAt(pos);
+            if (c == '|' || c == ')')
+                break;
+
+            long atom = parseAtom();
+            total = saturate(total + parseQuantifier(atom));
+        }
+        return total;
+    }
+
+    private long parseAtom() {
+        char c = pattern.charAt(pos++);
+        switch (c) {
+            case '(':
+                return parseGroup();
+            case '[':
+                skipClass();
+                return 1;
+            case '\\':
+                return parseEscape();
+            case '^':
+            case '$':
+                return 0;
+            case '*':
+            case '+':
+            case '?':
+            case '{':
+                if (c == '{' && !isRepeat())
+                    return 1;
+                throw new IllegalStateException("Dangling quantifier at " + (pos - 1));
+            default:
+                return 1;
+        }
+    }
+
+    private long parseGroup() {
+        if (pattern.charAt(pos) == '?') {
+            pos++;
+            char next = pattern.charAt(pos);
+            if (next == 'P' || next == '<') {
+                int close = pattern.indexOf('>', pos);
+                if (close < 0)
+                    throw new IllegalStateException("Unterminated group name");
+                pos = close + 1;
+            } else {
+                while (pattern.charAt(pos) != ':' && pattern.charAt(pos) != ')') {
+                    pos++;
+                }
+                if (pattern.charAt(pos) == ')') {
+                    pos++;
+                    return 0;
+                }
+                pos++;
+            }
+        }
+
+        long max = parseAlternation();
+        if (pos >= pattern.length() || pattern.charAt(pos) != ')')
+            throw new IllegalStateException("Unterminated group");
+        pos++;
+        return max;
+    }
+
+    private long parseEscape() {
+        char c = pattern.charAt(pos++);
+        switch (c) {
+            case 'b':
+            case 'B':
+            case 'A':
+            case 'z':
+                return 0;
+            case 'Q': {
+                int end = pattern.indexOf("\\E", pos);
+                int literalEnd = end < 0 ? pattern.length() : end;
+                long length = literalEnd - pos;
+                pos = end < 0 ? pattern.length() : end + 2;
+                return length;
+            }
+            case 'x':
+            case 'p':
+            case 'P':
+                if (pos < pattern.length() && pattern.charAt(pos) == '{') {
+                    int close = pattern.indexOf('}', pos);
+                    if (close < 0)
+                        throw new IllegalStateException("Unterminated escape");
+                    pos = close + 1;
+                } else {
+                    pos += (c == 'x') ? 2 : 1;
+                }
+                return 1;
+            default:
+                return 1;
+        }
+    }
+
+    private void skipClass() {
+        if (pattern.charAt(pos) == '^')
+            pos++;
+        if (pattern.charAt(pos) == ']')
+            pos++;
+
+        while (pattern.charAt(pos) != ']') {
+            char c = pattern.charAt(pos);
+            if (c == '\\') {
+                pos++;
+                char esc = pattern.charAt(pos);
+                if ((esc == 'x' || esc == 'p' || esc == 'P') && pattern.charAt(pos + 1) == '{') {
+                    pos = pattern.indexOf('}', pos);
+                }
+            } else if (c == '[' && pattern.charAt(pos + 1) == ':') {
+                pos = pattern.indexOf(":]", pos) + 1;
+            }
+            pos++;
+        }
+        pos++;
+    }
+
+    private long parseQuantifier(long atom) {
+        if (pos >= pattern.length())
+            return atom;
+
+        long result;
+        char c = pattern.charAt(pos);
+        switch (c) {
+            case '*':
+            case '+':
+                pos++;
+                result = atom == 0 ? 0 : LIMIT;
+                break;
+            case '?':
+                pos++;
+                result = atom;
+                break;
+            case '{':
+                if (!isRepeat())
+                    return atom;
+                result = parseRepeat(atom);
+                break;
+            default:
+                return atom;
+        }
+
+        if (pos < pattern.length() && pattern.charAt(pos) == '?')
+            pos++;
+
+        if (pos < pattern.length() && "*+?".indexOf(pattern.charAt(pos)) >= 0)
+            throw new IllegalStateException("Nested quantifier at " + pos);
+
+        return result;
+    }
+
+    private boolean isRepeat() {
+        int start = pattern.charAt(pos) == '{' ? pos + 1 : pos;
+        int close = pattern.indexOf('}', start);
+        if (close < 0)
+            return false;
+        String body = pattern.substring(start, close);
+        return body.matches("\\d+(,\\d*)?");
+    }
+
+    private long parseRepeat(long atom) {
+        int close = pattern.indexOf('}', pos);
+        String body = pattern.substring(pos + 1, close);
+        pos = close + 1;
+
+        int comma = body.indexOf(',');
+        if (comma < 0)
+            return saturate(atom * Long.parseLong(body));
+
+        String upper = body.substring(comma + 1);
+        if (upper.isEmpty())
+            return atom == 0 ? 0 : LIMIT;
+
+        return saturate(atom * Long.parseLong(upper));
+    }
+
+    private static long saturate(long value) {
+        return Math.min(value, LIMIT);
+    }
+}
\ No newline at end of file
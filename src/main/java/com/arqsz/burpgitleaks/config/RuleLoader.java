@@ -11,6 +11,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.ahocorasick.trie.Trie;
 import org.tomlj.Toml;
 import org.tomlj.TomlArray;
 import org.tomlj.TomlParseResult;
@@ -32,16 +33,23 @@ public class RuleLoader {
     public record GitleaksConfiguration(List<GitleaksRule> rules, List<GitleaksAllowlist> globalAllowlists) {
     }
 
+    /**
+     * Loads the base rules and the optional custom overrides. Patterns are
+     * compiled as written, like gitleaks does, so rules opt in to case
+     * insensitivity with {@code (?i)}; {@code caseInsensitive} restores the
+     * old behaviour of compiling every pattern case-insensitively.
+     */
     public static GitleaksConfiguration loadConfiguration(String customConfigPath, Logging logging,
-            boolean isDebugEnabled) throws IOException {
-        GitleaksConfiguration baseConfig = loadBaseConfiguration(logging);
+            boolean isDebugEnabled, boolean caseInsensitive) throws IOException {
+        int flags = caseInsensitive ? Pattern.CASE_INSENSITIVE : 0;
+        GitleaksConfiguration baseConfig = loadBaseConfiguration(logging, flags);
         GitleaksConfiguration finalConfig = baseConfig;
 
         if (customConfigPath != null && !customConfigPath.trim().isBlank()) {
             Path customPath = Path.of(customConfigPath.trim());
             if (Files.isRegularFile(customPath)) {
                 try (InputStream is = Files.newInputStream(customPath)) {
-                    GitleaksConfiguration customConfig = parseConfiguration(is, "Custom Config", logging);
+                    GitleaksConfiguration customConfig = parseConfiguration(is, "Custom Config", logging, flags);
                     finalConfig = mergeConfigurations(baseConfig, customConfig, logging, isDebugEnabled);
                 }
             } else {
@@ -92,10 +100,10 @@ public class RuleLoader {
         Files.deleteIfExists(LOCAL_CONFIG_PATH);
     }
 
-    private static GitleaksConfiguration loadBaseConfiguration(Logging logging) {
+    private static GitleaksConfiguration loadBaseConfiguration(Logging logging, int flags) {
         if (Files.exists(LOCAL_CONFIG_PATH)) {
             try (InputStream is = Files.newInputStream(LOCAL_CONFIG_PATH)) {
-                return parseConfiguration(is, "Local File (" + LOCAL_CONFIG_PATH + ")", logging);
+                return parseConfiguration(is, "Local File (" + LOCAL_CONFIG_PATH + ")", logging, flags);
             } catch (IOException e) {
                 logging.logToError("Failed to load local config, falling back to bundled: " + e.getMessage());
             }
@@ -104,14 +112,14 @@ public class RuleLoader {
         try (InputStream is = RuleLoader.class.getResourceAsStream("/gitleaks.toml")) {
             if (is == null)
                 throw new IOException("Bundled gitleaks.toml not found");
-            return parseConfiguration(is, "Bundled Resource", logging);
+            return parseConfiguration(is, "Bundled Resource", logging, flags);
         } catch (IOException e) {
             throw new RuntimeException("Critical failure: Could not load any rules.", e);
         }
     }
 
-    private static GitleaksConfiguration parseConfiguration(InputStream is, String sourceName, Logging logging)
-            throws IOException {
+    private static GitleaksConfiguration parseConfiguration(InputStream is, String sourceName, Logging logging,
+            int flags) throws IOException {
         TomlParseResult result = Toml.parse(is);
         if (result.hasErrors()) {
             throw new IOException("TOML Syntax Error in " + sourceName + ": " + result.errors().get(0).toString());
@@ -121,11 +129,12 @@ public class RuleLoader {
 
         if (result.contains("allowlist")) {
             if (result.isTable("allowlist")) {
-                globalAllowlists.add(parseAllowlistEntry(result.getTable("allowlist"), "Global Allowlist"));
+                globalAllowlists.add(parseAllowlistEntry(result.getTable("allowlist"), "Global Allowlist", flags));
             } else if (result.isArray("allowlist")) {
                 TomlArray allowArray = result.getArray("allowlist");
                 for (int i = 0; i < allowArray.size(); i++) {
-                    globalAllowlists.add(parseAllowlistEntry(allowArray.getTable(i), "Global Allowlist #" + (i + 1)));
+                    globalAllowlists.add(
+                            parseAllowlistEntry(allowArray.getTable(i), "Global Allowlist #" + (i + 1), flags));
                 }
             }
         }
@@ -133,7 +142,8 @@ public class RuleLoader {
         if (result.contains("allowlists") && result.isArray("allowlists")) {
             TomlArray allowArray = result.getArray("allowlists");
             for (int i = 0; i < allowArray.size(); i++) {
-                globalAllowlists.add(parseAllowlistEntry(allowArray.getTable(i), "Global Allowlist #" + (i + 1)));
+                globalAllowlists.add(
+                        parseAllowlistEntry(allowArray.getTable(i), "Global Allowlist #" + (i + 1), flags));
             }
         }
 
@@ -149,7 +159,7 @@ public class RuleLoader {
                 id = generateId(t);
 
             try {
-                rules.add(parseRule(t, id, sourceName));
+                rules.add(parseRule(t, id, sourceName, flags));
             } catch (Exception e) {
                 logging.logToError("Skipping invalid rule " + id + ": " + e.getMessage());
             }
@@ -157,7 +167,7 @@ public class RuleLoader {
         return new GitleaksConfiguration(rules, globalAllowlists);
     }
 
-    private static GitleaksRule parseRule(TomlTable t, String id, String sourceName) {
+    private static GitleaksRule parseRule(TomlTable t, String id, String sourceName, int flags) {
         String description = t.getString("description");
         double entropy = getDouble(t, "entropy");
         int secretGroup = getInt(t, "secretGroup");
@@ -168,37 +178,38 @@ public class RuleLoader {
                 .map(String::toLowerCase)
                 .toList();
 
-        List<GitleaksAllowlist> localAllowlists = extractAllowlists(t, "Rule Allowlist (" + id + ")");
+        List<GitleaksAllowlist> localAllowlists = extractAllowlists(t, "Rule Allowlist (" + id + ")", flags);
 
         return new GitleaksRule(id, description, sourceName, entropy, secretGroup, regex, path, keywords,
-                localAllowlists);
+                localAllowlists, flags);
     }
 
-    private static List<GitleaksAllowlist> extractAllowlists(TomlTable t, String descPrefix) {
+    private static List<GitleaksAllowlist> extractAllowlists(TomlTable t, String descPrefix, int flags) {
         List<GitleaksAllowlist> lists = new ArrayList<>();
 
         if (t.contains("allowlist")) {
             if (t.isTable("allowlist")) {
-                lists.add(parseAllowlistEntry(t.getTable("allowlist"), descPrefix));
+                lists.add(parseAllowlistEntry(t.getTable("allowlist"), descPrefix, flags));
             } else if (t.isArray("allowlist")) {
-                parseAllowlistArray(t.getArray("allowlist"), lists, descPrefix);
+                parseAllowlistArray(t.getArray("allowlist"), lists, descPrefix, flags);
             }
         }
 
         if (t.contains("allowlists") && t.isArray("allowlists")) {
-            parseAllowlistArray(t.getArray("allowlists"), lists, descPrefix);
+            parseAllowlistArray(t.getArray("allowlists"), lists, descPrefix, flags);
         }
 
         return lists;
     }
 
-    private static void parseAllowlistArray(TomlArray arr, List<GitleaksAllowlist> targetList, String descPrefix) {
+    private static void parseAllowlistArray(TomlArray arr, List<GitleaksAllowlist> targetList, String descPrefix,
+            int flags) {
         for (int i = 0; i < arr.size(); i++) {
-            targetList.add(parseAllowlistEntry(arr.getTable(i), descPrefix + " #" + (i + 1)));
+            targetList.add(parseAllowlistEntry(arr.getTable(i), descPrefix + " #" + (i + 1), flags));
         }
     }
 
-    private static GitleaksAllowlist parseAllowlistEntry(TomlTable t, String defaultDescription) {
+    private static GitleaksAllowlist parseAllowlistEntry(TomlTable t, String defaultDescription, int flags) {
         String description = t.getString("description");
         if (description == null || description.isBlank()) {
             description = defaultDescription;
@@ -206,11 +217,18 @@ public class RuleLoader {
         boolean matchAll = "AND".equalsIgnoreCase(t.getString("condition"));
         String regexTarget = t.getString("regexTarget");
 
-        List<Pattern> regexes = parsePatterns(t.getArray("regexes"));
-        List<Pattern> paths = parsePatterns(t.getArray("paths"));
+        List<Pattern> regexes = parsePatterns(t.getArray("regexes"), flags);
+        List<Pattern> paths = parsePatterns(t.getArray("paths"), flags);
         List<String> stopWords = toList(t.getArray("stopwords"));
 
-        return new GitleaksAllowlist(description, regexes, paths, stopWords, matchAll, regexTarget);
+        return new GitleaksAllowlist(description, regexes, paths, stopWords, compileStopWords(stopWords), matchAll,
+                regexTarget);
+    }
+
+    private static Trie compileStopWords(List<String> stopWords) {
+        if (stopWords.isEmpty())
+            return null;
+        return Trie.builder().stopOnHit().addKeywords(stopWords).build();
     }
 
     private static GitleaksConfiguration mergeConfigurations(GitleaksConfiguration base,
@@ -257,13 +275,13 @@ public class RuleLoader {
         return null;
     }
 
-    private static List<Pattern> parsePatterns(TomlArray arr) {
+    private static List<Pattern> parsePatterns(TomlArray arr, int flags) {
         if (arr == null)
             return Collections.emptyList();
         List<Pattern> patterns = new ArrayList<>();
         for (int i = 0; i < arr.size(); i++) {
             try {
-                patterns.add(Pattern.compile(arr.getString(i), Pattern.CASE_INSENSITIVE));
+                patterns.add(Pattern.compile(arr.getString(i), flags));
             } catch (PatternSyntaxException ignored) {
             }
         }
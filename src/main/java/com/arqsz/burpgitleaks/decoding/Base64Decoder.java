@@ -0,0 +1,145 @@
+package com.arqsz.burpgitleaks.decoding;
+
+import java.util.Arrays;
+
+import com.arqsz.burpgitleaks.utils.ByteText;
+
+/**
+ * Decodes base64 blobs.
+ *
+ * Accepts exactly what {@link java.util.Base64} accepts (the URL-safe alphabet
+ * is used when the blob contains {@code -} or {@code _}), but decodes into a
+ * reused buffer and stops as soon as the output can no longer be mostly
+ * printable, so the long identifiers that make up most candidates are
+ * rejected without allocating anything.
+ */
+public class Base64Decoder implements Decoder {
+
+    private static final int MIN_LENGTH = 20;
+    private static final byte[] STANDARD = alphabet('+', '/');
+    private static final byte[] URL_SAFE = alphabet('-', '_');
+
+    @Override
+    public String name() {
+        return "Base64";
+    }
+
+    /**
+     * Reports every run of at least {@value #MIN_LENGTH} base64 characters
+     * ({@code +}, {@code -} and {@code _} included, {@code /} not), with up to
+     * two trailing {@code =}.
+     */
+    @Override
+    public void decode(ByteText content, Sink sink) {
+        DecodeBuffer out = new DecodeBuffer();
+        int length = content.length();
+        int i = 0;
+
+        while (i < length) {
+            if (!isBlobChar(content.byteAt(i))) {
+                i++;
+                continue;
+            }
+
+            int start = i;
+            while (i < length && isBlobChar(content.byteAt(i))) {
+                i++;
+            }
+            if (i - start < MIN_LENGTH)
+                continue;
+
+            for (int pad = 0; pad < 2 && i < length && content.byteAt(i) == '='; pad++) {
+                i++;
+            }
+            Action action = sink.offer(start, i);
+            if (action == Action.STOP)
+                return;
+            if (action == Action.SKIP)
+                continue;
+
+            out.reset();
+            if (!decodeInto(content, start, i, out, true))
+                sink.reject(start, i);
+            else if (!sink.accept(start, i, out.view()))
+                return;
+        }
+    }
+
+    /**
+     * Appends the decoded form of {@code src[start, end)} to {@code out}. Returns {@code false} if
+     * the input is not valid base64, or, when {@code printable} is set, if the
+     * output is not mostly printable.
+     */
+    static boolean decodeInto(ByteText src, int start, int end, DecodeBuffer out, boolean printable) {
+        int padding = 0;
+        while (end - padding > start && src.byteAt(end - padding - 1) == '=') {
+            padding++;
+        }
+
+        int chars = end - start - padding;
+        int rem = chars & 3;
+        if (rem == 1 || padding > 2 || (padding > 0 && padding != 4 - rem))
+            return false;
+
+        int length = chars / 4 * 3 + (rem == 0 ? 0 : rem - 1);
+        if (length == 0)
+            return false;
+
+        int dataEnd = start + chars;
+        byte[] table = STANDARD;
+        for (int i = start; i < dataEnd; i++) {
+            int c = src.byteAt(i);
+            if (c == '-' || c == '_') {
+                table = URL_SAFE;
+                break;
+            }
+        }
+
+        int bits = 0;
+        int count = 0;
+        for (int i = start; i < dataEnd; i++) {
+            int b = table[src.byteAt(i)];
+            if (b < 0)
+                return false;
+
+            bits = (bits << 6) | b;
+            if (++count == 4) {
+                out.put(bits >> 16);
+                out.put(bits >> 8);
+                out.put(bits);
+                bits = 0;
+                count = 0;
+                if (printable && out.hopeless(length))
+                    return false;
+            }
+        }
+
+        if (count == 2) {
+            out.put(bits >> 4);
+        } else if (count == 3) {
+            out.put(bits >> 10);
+            out.put(bits >> 2);
+        }
+
+        return !printable || out.isPrintable();
+    }
+
+    private static boolean isBlobChar(int c) {
+        return c != '/' && (STANDARD[c] >= 0 || URL_SAFE[c] >= 0);
+    }
+
+    private static byte[] alphabet(char c62, char c63) {
+        byte[] table = new byte[256];
+        Arrays.fill(table, (byte) -1);
+        for (int i = 0; i < 26; i++) {
+            table['A' + i] = (byte) i;
+            table['a' + i] = (byte) (26 + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            table['0' + i] = (byte) (52 + i);
+        }
+        table[c62] = 62;
+        table[c63] = 63;
+        return table;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.arqsz.burpgitleaks.decoding;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-response limit on decoding work, shared by every layer of the response.
+ * Once any limit is reached no further layer is decoded and the hit is
+ * recorded once in {@link DecodeStats}.
+ */
+public final class DecodeBudget {
+
+    public enum Limit {
+        BYTES, LAYERS, TIME
+    }
+
+    private final long maxBytes;
+    private final int maxLayers;
+    private final long deadline;
+    private final DecodeStats stats;
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicInteger layers = new AtomicInteger();
+    private volatile Limit exhausted;
+
+    public DecodeBudget(long maxBytes, int maxLayers, long maxMillis, DecodeStats stats) {
+        this.maxBytes = maxBytes;
+        this.maxLayers = maxLayers;
+        this.deadline = System.nanoTime() + maxMillis * 1_000_000;
+        this.stats = stats;
+    }
+
+    /** Reserves room for one decoded layer of {@code length} bytes. */
+    public boolean tryAcquire(int length) {
+        if (exhausted != null)
+            return false;
+        if (System.nanoTime() - deadline > 0)
+            return exhaust(Limit.TIME);
+        if (layers.incrementAndGet() > maxLayers)
+            return exhaust(Limit.LAYERS);
+        if (bytes.addAndGet(length) > maxBytes)
+            return exhaust(Limit.BYTES);
+        return true;
+    }
+
+    public boolean isExhausted() {
+        return exhausted != null;
+    }
+
+    private synchronized boolean exhaust(Limit limit) {
+        if (exhausted == null) {
+            exhausted = limit;
+            stats.recordExhausted(limit);
+        }
+        return false;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.arqsz.burpgitleaks.decoding;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import com.arqsz.burpgitleaks.utils.ByteText;
+
+/**
+ * Growable output buffer shared by the decoders, reused for every span of one
+ * {@link Decoder#decode} call. Counts control characters as they are written
+ * so decoders can give up on binary output early.
+ */
+final class DecodeBuffer {
+
+    private static final double MAX_CONTROL_RATIO = 0.3;
+
+    private byte[] data = new byte[1024];
+    private int length;
+    private int control;
+
+    void reset() {
+        length = 0;
+        control = 0;
+    }
+
+    int length() {
+        return length;
+    }
+
+    void put(int b) {
+        if (length == data.length)
+            data = Arrays.copyOf(data, data.length * 2);
+        data[length++] = (byte) b;
+        int c = b & 0xFF;
+        if ((c < 32 && c != '\n' && c != '\r' && c != '\t') || c > 126)
+            control++;
+    }
+
+    void putCodePoint(int cp) {
+        if (cp < 0x80) {
+            put(cp);
+        } else if (cp < 0x800) {
+            put(0xC0 | (cp >> 6));
+            put(0x80 | (cp & 0x3F));
+        } else if (cp < 0x10000) {
+            put(0xE0 | (cp >> 12));
+            put(0x80 | ((cp >> 6) & 0x3F));
+            put(0x80 | (cp & 0x3F));
+        } else {
+            put(0xF0 | (cp >> 18));
+            put(0x80 | ((cp >> 12) & 0x3F));
+            put(0x80 | ((cp >> 6) & 0x3F));
+            put(0x80 | (cp & 0x3F));
+        }
+    }
+
+    /** True once output of the given final length can no longer be printable. */
+    boolean hopeless(int expectedLength) {
+        return control >= expectedLength * MAX_CONTROL_RATIO;
+    }
+
+    boolean isPrintable() {
+        return length > 0 && (double) control / length < MAX_CONTROL_RATIO;
+    }
+
+    InputStream inputStream() {
+        return new ByteArrayInputStream(data, 0, length);
+    }
+
+    ByteText view() {
+        return new ByteText(data, 0, length);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.arqsz.burpgitleaks.decoding;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class DecodeStats {
+
+    private final Map<String, LongAdder> layers = new ConcurrentHashMap<>();
+    private final LongAdder bytes = new LongAdder();
+    private final Map<DecodeBudget.Limit, LongAdder> exhausted = new EnumMap<>(DecodeBudget.Limit.class);
+
+    public record Snapshot(Map<String, Long> layers, long bytes, Map<DecodeBudget.Limit, Long> exhausted) {
+    }
+
+    public DecodeStats() {
+        for (DecodeBudget.Limit limit : DecodeBudget.Limit.values()) {
+            exhausted.put(limit, new LongAdder());
+        }
+    }
+
+    public void recordLayer(String decoder, int length) {
+        layers.computeIfAbsent(decoder, name -> new LongAdder()).increment();
+        bytes.add(length);
+    }
+
+    void recordExhausted(DecodeBudget.Limit limit) {
+        exhausted.get(limit).increment();
+    }
+
+    public Snapshot snapshot() {
+        Map<String, Long> layerCounts = new LinkedHashMap<>();
+        for (Decoder decoder : Decoders.ALL) {
+            LongAdder count = layers.get(decoder.name());
+            layerCounts.put(decoder.name(), count == null ? 0 : count.sum());
+        }
+        Map<DecodeBudget.Limit, Long> hits = new EnumMap<>(DecodeBudget.Limit.class);
+        exhausted.forEach((limit, count) -> hits.put(limit, count.sum()));
+        return new Snapshot(layerCounts, bytes.sum(), hits);
+    }
+
+    public void reset() {
+        layers.values().forEach(LongAdder::reset);
+        bytes.reset();
+        exhausted.values().forEach(LongAdder::reset);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.arqsz.burpgitleaks.decoding;
+
+import com.arqsz.burpgitleaks.utils.ByteText;
+
+/**
+ * Finds encoded spans in scanned content and decodes them into layers that
+ * are scanned like the response body. Implementations are stateless and only
+ * report spans whose decoded form is mostly printable.
+ */
+public interface Decoder {
+
+    String name();
+
+    /**
+     * Reports the decodable spans of {@code content} in order of position. Each
+     * candidate span is {@linkplain Sink#offer offered} before it is decoded,
+     * so the sink can skip spans it has already seen. The decoded bytes may
+     * live in a reused buffer and are only valid during the callback. Stops as
+     * soon as the sink returns {@code false} or {@link Action#STOP}.
+     */
+    void decode(ByteText content, Sink sink);
+
+    enum Action {
+        DECODE, SKIP, STOP
+    }
+
+    @FunctionalInterface
+    interface Sink {
+        boolean accept(int start, int end, ByteText decoded);
+
+        /** Decides whether a candidate span is decoded at all. */
+        default Action offer(int start, int end) {
+            return Action.DECODE;
+        }
+
+        /** Called instead of {@link #accept} when an offered span did not decode to printable text. */
+        default void reject(int start, int end) {
+        }
+    }
+}
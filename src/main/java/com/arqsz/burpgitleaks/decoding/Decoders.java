@@ -0,0 +1,30 @@
+package com.arqsz.burpgitleaks.decoding;
+
+import java.util.Collection;
+import java.util.List;
+
+public final class Decoders {
+
+    /**
+     * Every decoder, in the order they are applied to a layer. A span decoded
+     * by an earlier decoder is not offered to later ones, so the more specific
+     * formats come first.
+     */
+    public static final List<Decoder> ALL = List.of(
+            new JwtDecoder(),
+            new GzipBase64Decoder(),
+            new HexDecoder(),
+            new Base64Decoder(),
+            new UrlDecoder(),
+            new UnicodeEscapeDecoder(),
+            new HtmlEntityDecoder());
+
+    private Decoders() {
+    }
+
+    public static List<Decoder> enabled(Collection<String> disabled) {
+        if (disabled.isEmpty())
+            return ALL;
+        return ALL.stream().filter(d -> !disabled.contains(d.name())).toList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.arqsz.burpgitleaks.decoding;
+
+import com.arqsz.burpgitleaks.utils.ByteText;
+
+/**
+ * Base for decoders of inline escape sequences. A span is the run of
+ * {@linkplain #isRunChar run characters} and escapes around each escape, found
+ * by jumping between occurrences of the escape's first character rather than
+ * running a regex over the whole content.
+ */
+abstract class EscapeDecoder implements Decoder {
+
+    private final char trigger;
+
+    EscapeDecoder(char trigger) {
+        this.trigger = trigger;
+    }
+
+    @Override
+    public void decode(ByteText content, Sink sink) {
+        DecodeBuffer out = new DecodeBuffer();
+        int length = content.length();
+        int lastEnd = 0;
+        int pos = 0;
+
+        while ((pos = content.indexOf(trigger, pos)) >= 0) {
+            if (escapeLength(content, pos, length) == 0) {
+                pos++;
+                continue;
+            }
+
+            int start = pos;
+            while (start > lastEnd && isRunChar(content.byteAt(start - 1))) {
+                start--;
+            }
+            int end = pos;
+            while (end < length) {
+                int escape = escapeLength(content, end, length);
+                if (escape > 0)
+                    end += escape;
+                else if (isRunChar(content.byteAt(end)))
+                    end++;
+                else
+                    break;
+            }
+
+            Action action = sink.offer(start, end);
+            if (action == Action.STOP)
+                return;
+            if (action == Action.DECODE) {
+                out.reset();
+                decodeSpan(content, start, end, out);
+                if (!out.isPrintable())
+                    sink.reject(start, end);
+                else if (!sink.accept(start, end, out.view()))
+                    return;
+            }
+            lastEnd = end;
+            pos = end;
+        }
+    }
+
+    abstract boolean isRunChar(int c);
+
+    /** Length of the escape sequence at {@code pos}, or 0 if there is none. */
+    abstract int escapeLength(ByteText content, int pos, int end);
+
+    /** Appends the value of the escape sequence at {@code pos} to {@code out}. */
+    abstract void decodeEscape(ByteText content, int pos, int length, DecodeBuffer out);
+
+    private void decodeSpan(ByteText content, int start, int end, DecodeBuffer out) {
+        for (int i = start; i < end;) {
+            int escape = escapeLength(content, i, end);
+            if (escape > 0) {
+                decodeEscape(content, i, escape, out);
+                i += escape;
+            } else {
+                out.put(content.byteAt(i++));
+            }
+        }
+    }
+
+    static int hexValue(int c) {
+        if (c >= '0' && c <= '9')
+            return c - '0';
+        if (c >= 'a' && c <= 'f')
+            return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F')
+            return c - 'A' + 10;
+        return -1;
+    }
+
+    static boolean isHex(ByteText content, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (hexValue(content.byteAt(i)) < 0)
+                return false;
+        }
+        return true;
+    }
+
+    static int parseHex(ByteText content, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value << 4 | hexValue(content.byteAt(i));
+        }
+        return value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.arqsz.burpgitleaks.decoding;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import com.arqsz.burpgitleaks.utils.ByteText;
+
+/**
+ * Inflates base64-encoded gzip streams (recognisable by the {@code H4sI}
+ * prefix). Output is capped so a compression bomb cannot exhaust memory.
+ */
+public class GzipBase64Decoder extends SpanDecoder {
+
+    private static final int MAX_INFLATED = 1024 * 1024;
+
+    public GzipBase64Decoder() {
+        super("H4sI[A-Za-z0-9+/_-]{16,}={0,2}", "H4sI");
+    }
+
+    @Override
+    public String name() {
+        return "Gzip";
+    }
+
+    @Override
+    boolean decodeSpan(ByteText content, int start, int end, DecodeBuffer out) {
+        DecodeBuffer compressed = new DecodeBuffer();
+        if (!Base64Decoder.decodeInto(content, start, end, compressed, false))
+            return false;
+
+        try (InputStream in = new GZIPInputStream(compressed.inputStream())) {
+            byte[] chunk = new byte[8192];
+            int n;
+            while (out.length() < MAX_INFLATED && (n = in.read(chunk, 0, Math.min(chunk.length,
+                    MAX_INFLATED - out.length()))) > 0) {
+                for (int i = 0; i < n; i++) {
+                    out.put(chunk[i]);
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
\ No newline at end of file
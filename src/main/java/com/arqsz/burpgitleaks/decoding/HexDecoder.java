@@ -0,0 +1,67 @@
+package com.arqsz.burpgitleaks.decoding;
+
+import com.arqsz.burpgitleaks.utils.ByteText;
+
+/**
+ * Decodes hex blobs: whole words of at least 32 hex digits and even length.
+ */
+public class HexDecoder implements Decoder {
+
+    private static final int MIN_DIGITS = 32;
+
+    @Override
+    public String name() {
+        return "Hex";
+    }
+
+    @Override
+    public void decode(ByteText content, Sink sink) {
+        DecodeBuffer out = new DecodeBuffer();
+        int length = content.length();
+        int i = 0;
+
+        while (i < length) {
+            if (!isWordChar(content.byteAt(i))) {
+                i++;
+                continue;
+            }
+
+            int start = i;
+            boolean hex = true;
+            while (i < length && isWordChar(content.byteAt(i))) {
+                hex &= EscapeDecoder.hexValue(content.byteAt(i)) >= 0;
+                i++;
+            }
+
+            int digits = i - start;
+            if (!hex || digits < MIN_DIGITS || (digits & 1) != 0)
+                continue;
+
+            Action action = sink.offer(start, i);
+            if (action == Action.STOP)
+                return;
+            if (action == Action.SKIP)
+                continue;
+
+            if (!decodeInto(content, start, i, out))
+                sink.reject(start, i);
+            else if (!sink.accept(start, i, out.view()))
+                return;
+        }
+    }
+
+    private static boolean decodeInto(ByteText content, int start, int end, DecodeBuffer out) {
+        out.reset();
+        int length = (end - start) / 2;
+        for (int i = start; i < end; i += 2) {
+            out.put(EscapeDecoder.parseHex(content, i, i + 2));
+            if (out.hopeless(length))
+                return false;
+        }
+        return out.isPrintable();
+    }
+
+    private static boolean isWordChar(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.arqsz.burpgitleaks.decoding;
+
+import java.util.Map;
+
+import com.arqsz.burpgitleaks.utils.ByteText;
+
+public class HtmlEntityDecoder extends EscapeDecoder {
+
+    private static final int MAX_ENTITY_LENGTH = 10;
+    private static final Map<String, Integer> NAMED = Map.of(
+            "quot", (int) '"',
+            "amp", (int) '&',
+            "lt", (int) '<',
+            "gt", (int) '>',
+            "apos", (int) '\'',
+            "nbsp", (int) ' ');
+
+    public HtmlEntityDecoder() {
+        super('&');
+    }
+
+    @Override
+    public String name() {
+        return "HTML Entity";
+    }
+
+    @Override
+    boolean isRunChar(int c) {
+        return c > ' ' && c != '"' && c != '\'' && c != '<' && c != '>';
+    }
+
+    @Override
+    int escapeLength(ByteText content, int pos, int end) {
+        if (content.byteAt(pos) != '&')
+            return 0;
+        int limit = Math.min(end, pos + MAX_ENTITY_LENGTH);
+        for (int i = pos + 1; i < limit; i++) {
+            if (content.byteAt(i) == ';')
+                return entityValue(content, pos + 1, i) >= 0 ? i - pos + 1 : 0;
+        }
+        return 0;
+    }
+
+    @Override
+    void decodeEscape(ByteText content, int pos, int length, DecodeBuffer out) {
+        out.putCodePoint(entityValue(content, pos + 1, pos + length - 1));
+    }
+
+    private static int entityValue(ByteText content, int start, int end) {
+        if (end - start < 2)
+            return -1;
+        if (content.byteAt(start) != '#') {
+            Integer named = NAMED.get(content.substring(start, end));
+            return named == null ? -1 : named;
+        }
+
+        boolean hex = content.byteAt(start + 1) == 'x' || content.byteAt(start + 1) == 'X';
+        int digits = start + (hex ? 2 : 1);
+        if (digits == end)
+            return -1;
+
+        int value = 0;
+        for (int i = digits; i < end; i++) {
+            int digit = hex ? hexValue(content.byteAt(i)) : content.byteAt(i) - '0';
+            if (digit < 0 || digit > (hex ? 15 : 9))
+                return -1;
+            value = value * (hex ? 16 : 10) + digit;
+        }
+        return value <= Character.MAX_CODE_POINT && (value < 0xD800 || value > 0xDFFF) ? value : -1;
+    }
+}
\ No newline at end of file
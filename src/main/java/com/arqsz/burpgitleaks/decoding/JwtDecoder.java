@@ -0,0 +1,30 @@
+package com.arqsz.burpgitleaks.decoding;
+
+import com.arqsz.burpgitleaks.utils.ByteText;
+
+/**
+ * Decodes the header and payload of a JSON Web Token into one layer, so claims
+ * are reported against the whole token rather than one of its segments.
+ */
+public class JwtDecoder extends SpanDecoder {
+
+    public JwtDecoder() {
+        super("eyJ[A-Za-z0-9_-]{8,}\\.eyJ[A-Za-z0-9_-]{8,}\\.[A-Za-z0-9_-]*", "eyJ");
+    }
+
+    @Override
+    public String name() {
+        return "JWT";
+    }
+
+    @Override
+    boolean decodeSpan(ByteText content, int start, int end, DecodeBuffer out) {
+        int headerEnd = content.indexOf('.', start);
+        int payloadEnd = content.indexOf('.', headerEnd + 1);
+
+        if (!Base64Decoder.decodeInto(content, start, headerEnd, out, false))
+            return false;
+        out.put('\n');
+        return Base64Decoder.decodeInto(content, headerEnd + 1, payloadEnd, out, false);
+    }
+}
\ No newline at end of file
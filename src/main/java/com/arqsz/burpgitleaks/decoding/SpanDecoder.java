@@ -0,0 +1,47 @@
+package com.arqsz.burpgitleaks.decoding;
+
+import com.arqsz.burpgitleaks.utils.ByteText;
+import com.google.re2j.Matcher;
+import com.google.re2j.Pattern;
+
+/**
+ * Base for decoders that find their spans with a regex. Content that does not
+ * contain the trigger string is skipped without running the regex.
+ */
+abstract class SpanDecoder implements Decoder {
+
+    private final Pattern pattern;
+    private final String trigger;
+
+    SpanDecoder(String regex, String trigger) {
+        this.pattern = Pattern.compile(regex);
+        this.trigger = trigger;
+    }
+
+    @Override
+    public void decode(ByteText content, Sink sink) {
+        if (trigger != null && !content.contains(trigger))
+            return;
+
+        DecodeBuffer out = new DecodeBuffer();
+        Matcher matcher = pattern.matcher(content);
+        while (matcher.find()) {
+            int start = matcher.start();
+            int end = matcher.end();
+            Action action = sink.offer(start, end);
+            if (action == Action.STOP)
+                return;
+            if (action == Action.SKIP)
+                continue;
+
+            out.reset();
+            if (!decodeSpan(content, start, end, out) || !out.isPrintable())
+                sink.reject(start, end);
+            else if (!sink.accept(start, end, out.view()))
+                return;
+        }
+    }
+
+    /** Decodes one span into {@code out}; returns {@code false} to skip it. */
+    abstract boolean decodeSpan(ByteText content, int start, int end, DecodeBuffer out);
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.arqsz.burpgitleaks.decoding;
+
+import com.arqsz.burpgitleaks.utils.ByteText;
+
+/**
+ * Decodes JavaScript/JSON {@code \}{@code uXXXX} escapes, including surrogate
+ * pairs, into UTF-8.
+ */
+public class UnicodeEscapeDecoder extends EscapeDecoder {
+
+    public UnicodeEscapeDecoder() {
+        super('\\');
+    }
+
+    @Override
+    public String name() {
+        return "Unicode Escape";
+    }
+
+    @Override
+    boolean isRunChar(int c) {
+        return c > ' ' && c < 127 && c != '"' && c != '\'' && c != '<' && c != '>' && c != '\\';
+    }
+
+    @Override
+    int escapeLength(ByteText content, int pos, int end) {
+        if (!isEscape(content, pos, end))
+            return 0;
+        int unit = parseHex(content, pos + 2, pos + 6);
+        if (Character.isHighSurrogate((char) unit) && isEscape(content, pos + 6, end)
+                && Character.isLowSurrogate((char) parseHex(content, pos + 8, pos + 12)))
+            return 12;
+        return 6;
+    }
+
+    @Override
+    void decodeEscape(ByteText content, int pos, int length, DecodeBuffer out) {
+        int unit = parseHex(content, pos + 2, pos + 6);
+        if (length == 12) {
+            out.putCodePoint(Character.toCodePoint((char) unit, (char) parseHex(content, pos + 8, pos + 12)));
+        } else {
+            out.putCodePoint(Character.isSurrogate((char) unit) ? '?' : unit);
+        }
+    }
+
+    private static boolean isEscape(ByteText content, int pos, int end) {
+        return pos + 6 <= end && content.byteAt(pos) == '\\' && content.byteAt(pos + 1) == 'u'
+                && isHex(content, pos + 2, pos + 6);
+    }
+}
\ No newline at end of file
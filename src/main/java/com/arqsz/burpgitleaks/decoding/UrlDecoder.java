@@ -0,0 +1,31 @@
+package com.arqsz.burpgitleaks.decoding;
+
+import com.arqsz.burpgitleaks.utils.ByteText;
+
+public class UrlDecoder extends EscapeDecoder {
+
+    public UrlDecoder() {
+        super('%');
+    }
+
+    @Override
+    public String name() {
+        return "URL";
+    }
+
+    @Override
+    boolean isRunChar(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || "-._~!$&*+,;=:@/?".indexOf(c) >= 0;
+    }
+
+    @Override
+    int escapeLength(ByteText content, int pos, int end) {
+        return pos + 3 <= end && content.byteAt(pos) == '%' && isHex(content, pos + 1, pos + 3) ? 3 : 0;
+    }
+
+    @Override
+    void decodeEscape(ByteText content, int pos, int length, DecodeBuffer out) {
+        out.put(parseHex(content, pos + 1, pos + 3));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.arqsz.burpgitleaks.scan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.arqsz.burpgitleaks.config.GitleaksRule;
+
+/**
+ * Inverted index from the literals ("anchors") the rules' matches must
+ * contain to the rules that need them, as rule-index bitsets. OR-ing the
+ * bitsets of the anchors found in the content gives the exact candidate set.
+ *
+ * The anchors are a rule's keywords, or the literals derived from its regex
+ * when it declares none. For rules whose keywords do not imply the derived
+ * literals (e.g. the keyword {@code ey} of the JWT rule, which needs
+ * {@code .ey}) the literals are an additional requirement: such a rule stays
+ * a candidate only when one of its keywords and one of its literals occur.
+ * Rules without any anchor are always candidates.
+ */
+final class AnchorIndex {
+
+    record Anchor(int id, String literal, BitSet rules, BitSet requiredBy) {
+    }
+
+    private final int ruleCount;
+    private final Map<String, Anchor> anchors = new HashMap<>();
+    private final List<Anchor> anchorList = new ArrayList<>();
+    private final int[][] ruleAnchors;
+    private final BitSet unanchoredRules = new BitSet();
+    private final BitSet constrainedRules = new BitSet();
+
+    AnchorIndex(List<GitleaksRule> rules) {
+        this.ruleCount = rules.size();
+        this.ruleAnchors = new int[ruleCount][];
+        for (int i = 0; i < rules.size(); i++) {
+            index(i, rules.get(i));
+        }
+    }
+
+    /** The anchors, indexed by {@link Anchor#id()}. */
+    List<Anchor> anchors() {
+        return Collections.unmodifiableList(anchorList);
+    }
+
+    /** Ids of the anchors that make rule {@code ruleIndex} a candidate. */
+    int[] anchorsOf(int ruleIndex) {
+        return ruleAnchors[ruleIndex];
+    }
+
+    BitSet unanchoredRules() {
+        return unanchoredRules;
+    }
+
+    /** Rules that also need one of their {@link Anchor#requiredBy() required} literals. */
+    BitSet constrainedRules() {
+        return constrainedRules;
+    }
+
+    private void index(int i, GitleaksRule rule) {
+        ruleAnchors[i] = new int[0];
+        if (rule.getRegex() == null)
+            return;
+
+        List<String> literals = rule.getRequiredLiterals();
+        List<String> keywords = rule.getKeywords().isEmpty() ? literals : rule.getKeywords();
+        if (keywords.isEmpty()) {
+            unanchoredRules.set(i);
+            return;
+        }
+
+        int[] ids = new int[keywords.size()];
+        int count = 0;
+        for (String kw : keywords) {
+            Anchor anchor = anchor(kw);
+            if (!anchor.rules().get(i)) {
+                anchor.rules().set(i);
+                ids[count++] = anchor.id();
+            }
+        }
+        ruleAnchors[i] = Arrays.copyOf(ids, count);
+
+        if (keywords != literals && !impliedBy(literals, keywords)) {
+            constrainedRules.set(i);
+            for (String literal : literals) {
+                anchor(literal).requiredBy().set(i);
+            }
+        }
+    }
+
+    /**
+     * The anchor for {@code literal}. Matching ignores case, so anchors are
+     * keyed by the lower-cased literal, whatever case the rule file used.
+     */
+    private Anchor anchor(String literal) {
+        return anchors.computeIfAbsent(fold(literal), k -> {
+            Anchor anchor = new Anchor(anchorList.size(), k, new BitSet(ruleCount), new BitSet(ruleCount));
+            anchorList.add(anchor);
+            return anchor;
+        });
+    }
+
+    private static String fold(String literal) {
+        StringBuilder folded = new StringBuilder(literal.length());
+        for (int i = 0; i < literal.length(); i++) {
+            folded.append(Character.toLowerCase(literal.charAt(i)));
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Whether every keyword contains one of the literals, in which case a
+     * keyword hit already implies a literal hit and the check is redundant.
+     */
+    private static boolean impliedBy(List<String> literals, List<String> keywords) {
+        if (literals.isEmpty())
+            return true;
+        for (String keyword : keywords) {
+            String lower = keyword.toLowerCase(Locale.ROOT);
+            if (literals.stream().noneMatch(lower::contains))
+                return false;
+        }
+        return true;
+    }
+}
@@ -1,8 +1,5 @@
 package com.arqsz.burpgitleaks.scan;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 import com.arqsz.burpgitleaks.config.PluginSettings;
 import com.arqsz.burpgitleaks.ui.IssuesTab;
 
@@ -22,20 +19,18 @@ public class CommunityHttpHandler implements HttpHandler {
     private final MontoyaApi api;
     private final GitleaksScanCheck scanCheck;
     private final PluginSettings settings;
-    private final ExecutorService executor;
+    private final ScanQueue scanQueue;
+    private final ScanGate scanGate;
     private final IssuesTab issuesTab;
 
-    public CommunityHttpHandler(MontoyaApi api, GitleaksScanCheck scanCheck, PluginSettings settings,
-            IssuesTab issuesTab) {
+    public CommunityHttpHandler(MontoyaApi api, GitleaksScanCheck scanCheck, ScanQueue scanQueue, ScanGate scanGate,
+            PluginSettings settings, IssuesTab issuesTab) {
         this.api = api;
         this.scanCheck = scanCheck;
+        this.scanQueue = scanQueue;
+        this.scanGate = scanGate;
         this.settings = settings;
         this.issuesTab = issuesTab;
-        this.executor = Executors.newFixedThreadPool(3);
-    }
-
-    public void shutdown() {
-        executor.shutdownNow();
     }
 
     @Override
@@ -45,7 +40,8 @@ public class CommunityHttpHandler implements HttpHandler {
 
     @Override
     public ResponseReceivedAction handleHttpResponseReceived(HttpResponseReceived responseReceived) {
-        if (!isToolEnabled(responseReceived.toolSource().toolType())) {
+        ToolType toolType = responseReceived.toolSource().toolType();
+        if (!isToolEnabled(toolType) || scanGate.check(responseReceived) != null) {
             return ResponseReceivedAction.continueWith(responseReceived);
         }
 
@@ -53,19 +49,18 @@ public class CommunityHttpHandler implements HttpHandler {
                 responseReceived.initiatingRequest(),
                 responseReceived);
 
-        executor.submit(() -> {
-            try {
-                runScan(reqRes);
-            } catch (Exception e) {
-                api.logging().logToError("Error running secret scan" + e.getMessage());
-            }
-        });
+        ScanQueue.Lane lane = toolType == ToolType.REPEATER ? ScanQueue.Lane.REPEATER : ScanQueue.Lane.PROXY;
+        scanQueue.offer(reqRes, lane, scanGate.isInScope(responseReceived.initiatingRequest()),
+                message -> runScan(message, lane));
 
         return ResponseReceivedAction.continueWith(responseReceived);
     }
 
-    private void runScan(HttpRequestResponse reqRes) {
-        AuditResult result = scanCheck.doCheck(reqRes);
+    private void runScan(HttpRequestResponse reqRes, ScanQueue.Lane lane) {
+        ScanTier tier = lane == ScanQueue.Lane.PROXY && scanQueue.isShedding()
+                ? ScanTier.FAST
+                : scanCheck.defaultTier();
+        AuditResult result = scanCheck.doCheck(reqRes, true, tier);
 
         for (AuditIssue issue : result.auditIssues()) {
             api.siteMap().add(issue);
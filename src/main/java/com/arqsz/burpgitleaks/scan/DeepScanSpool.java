@@ -0,0 +1,162 @@
+package com.arqsz.burpgitleaks.scan;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import burp.api.montoya.core.ByteArray;
+import burp.api.montoya.http.HttpService;
+import burp.api.montoya.http.message.HttpRequestResponse;
+import burp.api.montoya.http.message.requests.HttpRequest;
+import burp.api.montoya.http.message.responses.HttpResponse;
+import burp.api.montoya.logging.Logging;
+
+/**
+ * Temporary files holding the messages that wait for a deferred full scan,
+ * so a pending scan keeps a few hundred bytes on the heap instead of the
+ * whole message.
+ *
+ * The files live in one private directory and count against a byte budget;
+ * a message that does not fit is not spooled. Each file is deleted once its
+ * scan has run or was dropped, and {@link #shutdown()} removes whatever is
+ * left.
+ */
+class DeepScanSpool {
+
+    /** A spooled message: the raw request followed by the raw response, if any. */
+    record Entry(Path file, HttpService service, int requestLength, int responseLength) {
+
+        long bytes() {
+            return (long) requestLength + Math.max(0, responseLength);
+        }
+    }
+
+    private final Logging logging;
+    private final long maxBytes;
+    private final Set<Path> files = new HashSet<>();
+    private Path directory;
+    private long bytes;
+    private boolean shutdown;
+
+    DeepScanSpool(Logging logging, long maxBytes) {
+        this.logging = logging;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Writes {@code message} to a new file. Returns null if the spool is full,
+     * shut down or the file could not be written.
+     */
+    Entry write(HttpRequestResponse message) {
+        byte[] request = message.request().toByteArray().getBytes();
+        byte[] response = message.response() == null ? null : message.response().toByteArray().getBytes();
+        long size = (long) request.length + (response == null ? 0 : response.length);
+
+        Path dir;
+        synchronized (this) {
+            if (shutdown || bytes + size > maxBytes)
+                return null;
+            try {
+                if (directory == null)
+                    directory = Files.createTempDirectory("gitleaks-deep-scans");
+            } catch (IOException e) {
+                logging.logToError("Cannot create the deep scan spool: " + e.getMessage());
+                return null;
+            }
+            dir = directory;
+            bytes += size;
+        }
+
+        Path file = null;
+        try {
+            file = Files.createTempFile(dir, "message", ".bin");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                out.write(request);
+                if (response != null)
+                    out.write(response);
+            }
+        } catch (IOException e) {
+            logging.logToError("Cannot spool a message for a deep scan: " + e.getMessage());
+            deleteFile(file);
+            release(size);
+            return null;
+        }
+
+        Entry entry = new Entry(file, message.request().httpService(), request.length,
+                response == null ? -1 : response.length);
+        synchronized (this) {
+            if (!shutdown) {
+                files.add(file);
+                return entry;
+            }
+        }
+        deleteFile(file);
+        return null;
+    }
+
+    /** Reads a spooled message back. */
+    HttpRequestResponse read(Entry entry) {
+        byte[] raw;
+        try {
+            raw = Files.readAllBytes(entry.file());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        HttpRequest request = HttpRequest.httpRequest(entry.service(),
+                ByteArray.byteArray(Arrays.copyOfRange(raw, 0, entry.requestLength())));
+        HttpResponse response = entry.responseLength() < 0 ? null
+                : HttpResponse.httpResponse(ByteArray.byteArray(Arrays.copyOfRange(raw, entry.requestLength(),
+                        entry.requestLength() + entry.responseLength())));
+        return HttpRequestResponse.httpRequestResponse(request, response);
+    }
+
+    /** Deletes the file of a message whose scan ran or was dropped. */
+    void delete(Entry entry) {
+        boolean owned;
+        synchronized (this) {
+            owned = files.remove(entry.file());
+            if (owned)
+                bytes -= entry.bytes();
+        }
+        if (owned)
+            deleteFile(entry.file());
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    /** Deletes every file left and the directory; later writes are refused. */
+    void shutdown() {
+        Set<Path> left;
+        Path dir;
+        synchronized (this) {
+            shutdown = true;
+            left = new HashSet<>(files);
+            files.clear();
+            bytes = 0;
+            dir = directory;
+        }
+        left.forEach(this::deleteFile);
+        deleteFile(dir);
+    }
+
+    private synchronized void release(long size) {
+        bytes -= size;
+    }
+
+    private void deleteFile(Path file) {
+        if (file == null)
+            return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logging.logToError("Cannot delete " + file + ": " + e.getMessage());
+        }
+    }
+}
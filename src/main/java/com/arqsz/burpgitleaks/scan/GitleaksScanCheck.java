@@ -1,23 +1,42 @@
 package com.arqsz.burpgitleaks.scan;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-
-import org.ahocorasick.trie.Trie;
+import java.util.function.Supplier;
 
 import com.arqsz.burpgitleaks.config.GitleaksAllowlist;
 import com.arqsz.burpgitleaks.config.GitleaksRule;
 import com.arqsz.burpgitleaks.config.PluginSettings;
+import com.arqsz.burpgitleaks.config.RegexAnalyzer;
 import com.arqsz.burpgitleaks.config.RuleLoader.GitleaksConfiguration;
+import com.arqsz.burpgitleaks.decoding.DecodeBudget;
+import com.arqsz.burpgitleaks.decoding.DecodeStats;
+import com.arqsz.burpgitleaks.decoding.Decoder;
+import com.arqsz.burpgitleaks.decoding.Decoders;
+import com.arqsz.burpgitleaks.scan.ScanResultCache.Finding;
+import com.arqsz.burpgitleaks.utils.ByteText;
 import com.arqsz.burpgitleaks.utils.Entropy;
+import com.arqsz.burpgitleaks.utils.IssueUtils;
+import com.arqsz.burpgitleaks.utils.LineIndex;
+import com.arqsz.burpgitleaks.utils.Murmur3;
 import com.google.re2j.Matcher;
-import com.google.re2j.Pattern;
 
 import burp.api.montoya.MontoyaApi;
+import burp.api.montoya.core.ByteArray;
 import burp.api.montoya.core.Marker;
 import burp.api.montoya.http.message.HttpRequestResponse;
 import burp.api.montoya.http.message.MimeType;
@@ -31,15 +50,22 @@ import burp.api.montoya.scanner.scancheck.PassiveScanCheck;
 
 public class GitleaksScanCheck implements PassiveScanCheck {
 
-    private static final int MAX_SCAN_SIZE = 1024 * 1024 * 5;
     private static final int MAX_DECODE_DEPTH = 2;
+    private static final int FRAGMENT_MARGIN = 64;
+    private static final int PARALLEL_PIECE_SIZE = 64 * 1024;
+    private static final int DEADLINE_CHECK_INTERVAL = 16;
+    private static final int PROBE_BYTES = 4096;
+    private static final int FAST_TIER_PREFIX = 3;
+    private static final int MIN_PROBED_SPAN = 20;
+    private static final int ENTROPY_SAMPLE = 256;
+    private static final double MIN_PROBED_ENTROPY = 3.5;
+    private static final long MAX_SPOOL_BYTES = 512L * 1024 * 1024;
+    private static final String GENERIC_RULE_ID = "generic-api-key";
 
     private static final String ISSUE_REMEDIATION = "Review the exposed file or secret and revoke it immediately. Ensure it is removed from the codebase and history.";
     private static final String ISSUE_BACKGROUND = "Hardcoded secrets (such as API keys, passwords, and tokens) in HTTP responses may allow unauthorized access to sensitive resources.";
 
-    private static final Pattern BASE64_PATTERN = Pattern.compile("[a-zA-Z0-9+\\-_]{20,}={0,2}");
-
-    private static final Set<MimeType> IGNORED_MIME_TYPES = Set.of(
+    static final Set<MimeType> IGNORED_MIME_TYPES = Set.of(
             MimeType.IMAGE_UNKNOWN, MimeType.IMAGE_JPEG, MimeType.IMAGE_GIF,
             MimeType.IMAGE_PNG, MimeType.IMAGE_BMP, MimeType.IMAGE_TIFF,
             MimeType.FONT_WOFF, MimeType.FONT_WOFF2, MimeType.SOUND, MimeType.VIDEO);
@@ -48,24 +74,303 @@ public class GitleaksScanCheck implements PassiveScanCheck {
     private final PluginSettings settings;
     private final Logging logging;
     private final MontoyaApi api;
+    private final ScanResultCache resultCache = new ScanResultCache();
+    private final SecretIndex secretIndex = new SecretIndex();
+    private final RuleProfiler profiler = new RuleProfiler();
+    private final DecodeStats decodeStats = new DecodeStats();
+    private final Object poolLock = new Object();
+    private volatile ForkJoinPool scanPool;
+    private final AtomicLong configVersion = new AtomicLong();
+    private final ScanBudgetStats budgetStats = new ScanBudgetStats();
+    private volatile Consumer<AuditIssue> lateIssueHandler;
+    private volatile ScanQueue deepScanQueue;
+    private final LoadShedStats shedStats = new LoadShedStats();
+    private final DeepScanSpool spool;
 
     private record ScanState(
             List<GitleaksRule> rules,
             List<GitleaksAllowlist> allowlists,
-            Trie keywordTrie) {
+            RuleSetMatcher ruleSetMatcher,
+            int longestBoundedMatch,
+            RuleProfiler.Counters[] counters,
+            BitSet fastRules,
+            long version,
+            PluginSettings.Snapshot settings,
+            BitSet enabledRules,
+            BitSet fullScanRules,
+            List<Decoder> decoders) {
+
+        ScanState withSettings(PluginSettings.Snapshot snapshot) {
+            BitSet enabled = new BitSet(rules.size());
+            BitSet fullScan = new BitSet(rules.size());
+            for (int i = 0; i < rules.size(); i++) {
+                String id = rules.get(i).getId();
+                enabled.set(i, !snapshot.detection().disabledRules().contains(id));
+                fullScan.set(i, snapshot.detection().fullScanRules().contains(id));
+            }
+            return new ScanState(rules, allowlists, ruleSetMatcher, longestBoundedMatch, counters, fastRules, version,
+                    snapshot, enabled, fullScan, Decoders.enabled(snapshot.decoding().disabledDecoders()));
+        }
+    }
+
+    /**
+     * Position of the scanned content within the response body. Only matches
+     * starting inside {@code [acceptStart, acceptEnd)} are reported, so the
+     * overlap between consecutive chunks of a streamed body is not reported
+     * twice. {@code carriedEnds} holds the absolute end of the last match of
+     * each rule in the previous chunk; {@code lastEnds} collects them for the
+     * next one. {@code bounds}, when set, lists the {@code [start, end)} pairs
+     * of independent segments laid out in one buffer: scan windows, matches
+     * and decoded spans never cross from one segment into another.
+     */
+    private record Region(int offset, int acceptStart, int acceptEnd, Map<String, Integer> carriedEnds,
+            Map<String, Integer> lastEnds, int[] bounds) {
+
+        static Region whole() {
+            return new Region(0, 0, Integer.MAX_VALUE, null, null, null);
+        }
+
+        static Region segments(int[] bounds) {
+            return new Region(0, 0, Integer.MAX_VALUE, null, null, bounds);
+        }
+
+        /** Cuts scan windows at segment bounds and drops the parts between segments. */
+        int[] clip(int[] windows) {
+            if (bounds == null)
+                return windows;
+            int[] clipped = new int[windows.length + bounds.length];
+            int n = 0;
+            int t = 0;
+            for (int w = 0; w < windows.length; w += 2) {
+                while (t < bounds.length && bounds[t + 1] <= windows[w]) {
+                    t += 2;
+                }
+                for (int u = t; u < bounds.length && bounds[u] < windows[w + 1]; u += 2) {
+                    int start = Math.max(windows[w], bounds[u]);
+                    int end = Math.min(windows[w + 1], bounds[u + 1]);
+                    if (start < end) {
+                        clipped[n++] = start;
+                        clipped[n++] = end;
+                    }
+                }
+            }
+            return Arrays.copyOf(clipped, n);
+        }
+
+        int segmentStart(int pos) {
+            return bounds == null ? 0 : bounds[segment(pos)];
+        }
+
+        int segmentEnd(int pos, int length) {
+            return bounds == null ? length : bounds[segment(pos) + 1];
+        }
+
+        boolean contains(int start, int end) {
+            if (bounds == null)
+                return true;
+            int t = segment(start);
+            return t >= 0 && end <= bounds[t + 1];
+        }
+
+        private int segment(int pos) {
+            for (int t = 0; t < bounds.length; t += 2) {
+                if (pos < bounds[t + 1])
+                    return pos >= bounds[t] ? t : -1;
+            }
+            return -1;
+        }
+
+        boolean owns(int start) {
+            return start >= acceptStart && start < acceptEnd;
+        }
+
+        boolean accept(String ruleId, int start, int end) {
+            if (!owns(start))
+                return false;
+            if (lastEnds == null)
+                return true;
+
+            Integer carriedEnd = carriedEnds.get(ruleId);
+            if (carriedEnd != null && offset + start < carriedEnd)
+                return false;
+            lastEnds.merge(ruleId, offset + end, Math::max);
+            return true;
+        }
+    }
+
+    /**
+     * Per-response scan context. {@code layers} holds the scan of every decoded
+     * layer by the hash of its encoded form, so a blob repeated in the response
+     * is only decoded and scanned once. {@code skippedWork} is set when a fast
+     * tier scan passes over a rule or decoded layer that could match.
+     */
+    private record ResponseScan(ScanState state, PathDecision paths, ScanTier tier, DecodeBudget budget,
+            ScanDeadline deadline, Map<BlobKey, ForkJoinTask<List<Finding>>> layers, Set<BlobKey> rejected,
+            AtomicBoolean skippedWork) {
+    }
+
+    /**
+     * Where the findings of a decoded layer are reported: the encoded span in
+     * the response body, and the chain of decoders that led to the layer.
+     */
+    private record Origin(int markerStart, int markerEnd, String encoding) {
+    }
+
+    private record BlobKey(String encoding, long hashHigh, long hashLow, int length) {
+    }
+
+    private record Layer(ForkJoinTask<List<Finding>> task, Origin origin) {
+    }
+
+    /**
+     * Byte range {@code [from, to)} of a request or response that belongs to
+     * one message part.
+     */
+    private record Segment(MessagePart part, ByteArray source, int from, int to) {
+
+        int length() {
+            return to - from;
+        }
+
+        byte[] bytes() {
+            return from == 0 && to == source.length() ? source.getBytes() : source.subArray(from, to).getBytes();
+        }
+    }
+
+    /**
+     * Segments copied back to back into one buffer, each followed by a newline
+     * so line numbers and line context stay within a segment. {@code bounds}
+     * holds the {@code [start, end)} of every segment in the buffer.
+     */
+    private record Layout(ByteText text, List<Segment> segments, int[] bounds) {
+
+        static Layout of(List<Segment> segments) {
+            if (segments.size() == 1) {
+                byte[] bytes = segments.get(0).bytes();
+                return new Layout(new ByteText(bytes), segments, new int[] { 0, bytes.length });
+            }
+
+            int length = 0;
+            for (Segment segment : segments) {
+                length += segment.length() + 1;
+            }
+            byte[] buffer = new byte[length];
+            int[] bounds = new int[segments.size() * 2];
+            int pos = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                Segment segment = segments.get(i);
+                bounds[2 * i] = pos;
+                if (segment.length() > 0)
+                    System.arraycopy(segment.bytes(), 0, buffer, pos, segment.length());
+                pos += segment.length();
+                bounds[2 * i + 1] = pos;
+                buffer[pos++] = '\n';
+            }
+            return new Layout(new ByteText(buffer), segments, bounds);
+        }
+    }
+
+    /**
+     * Slice of a rule's scan windows evaluated as one unit of parallel work.
+     * Matches are only reported when they start inside {@code [ownStart, ownEnd)};
+     * the windows reach back before {@code ownStart} so the regex resynchronises
+     * with the match sequence a serial scan would have produced.
+     */
+    private record Piece(int[] windows, int ownStart, int ownEnd) {
+
+        static Piece of(int[] windows) {
+            return new Piece(windows, 0, Integer.MAX_VALUE);
+        }
+
+        boolean owns(int start) {
+            return start >= ownStart && start < ownEnd;
+        }
     }
 
     public GitleaksScanCheck(MontoyaApi api, GitleaksConfiguration config, PluginSettings settings) {
         this.api = api;
         this.logging = api.logging();
         this.settings = settings;
+        this.lateIssueHandler = issue -> api.siteMap().add(issue);
+        this.spool = new DeepScanSpool(logging, MAX_SPOOL_BYTES);
         updateConfig(config);
+        secretIndex.setGrouping(settings.snapshot().reporting().issueGrouping());
+        settings.addChangeListener(snapshot -> applySettings());
+    }
+
+    public synchronized void updateConfig(GitleaksConfiguration config) {
+        RuleSetMatcher newMatcher = new RuleSetMatcher(config.rules());
+
+        int longestBoundedMatch = 0;
+        RuleProfiler.Counters[] counters = new RuleProfiler.Counters[config.rules().size()];
+        BitSet fastRules = new BitSet(config.rules().size());
+        for (int i = 0; i < config.rules().size(); i++) {
+            GitleaksRule rule = config.rules().get(i);
+            counters[i] = profiler.forRule(rule.getId());
+            longestBoundedMatch = Math.max(longestBoundedMatch, rule.getMaxMatchLength());
+            fastRules.set(i, rule.getRegex() != null && !rule.getId().equals(GENERIC_RULE_ID)
+                    && RegexAnalyzer.literalPrefixLength(rule.getRegex().pattern()) >= FAST_TIER_PREFIX);
+        }
+
+        this.scanState = new ScanState(config.rules(), config.globalAllowlists(), newMatcher, longestBoundedMatch,
+                counters, fastRules, configVersion.incrementAndGet(), null, null, null, null)
+                .withSettings(settings.snapshot());
+        resultCache.clear();
+    }
+
+    private synchronized void applySettings() {
+        this.scanState = scanState.withSettings(settings.snapshot());
+        secretIndex.setGrouping(scanState.settings().reporting().issueGrouping());
+    }
+
+    public ScanResultCache getResultCache() {
+        return resultCache;
+    }
+
+    public SecretIndex getSecretIndex() {
+        return secretIndex;
+    }
+
+    public RuleProfiler getProfiler() {
+        return profiler;
     }
 
-    public void updateConfig(GitleaksConfiguration config) {
-        Trie newTrie = buildTrie(config.rules());
+    public DecodeStats getDecodeStats() {
+        return decodeStats;
+    }
+
+    public ScanBudgetStats getBudgetStats() {
+        return budgetStats;
+    }
+
+    public LoadShedStats getShedStats() {
+        return shedStats;
+    }
+
+    /**
+     * Where issues found after {@link #doCheck} has returned are reported, i.e.
+     * those of scans that ran out of time and were finished later.
+     */
+    public void setLateIssueHandler(Consumer<AuditIssue> handler) {
+        this.lateIssueHandler = handler;
+    }
+
+    /**
+     * Where the full scans owed to fast tier scans and to scans that ran out
+     * of time are queued. Without a queue, neither is followed up.
+     */
+    public void setDeepScanQueue(ScanQueue queue) {
+        this.deepScanQueue = queue;
+    }
 
-        this.scanState = new ScanState(config.rules(), config.globalAllowlists(), newTrie);
+    public void shutdown() {
+        spool.shutdown();
+        synchronized (poolLock) {
+            // A pool that never started is still closed so later scans cannot create one.
+            if (scanPool == null)
+                scanPool = new ForkJoinPool(1);
+            scanPool.shutdownNow();
+        }
     }
 
     @Override
@@ -75,7 +380,38 @@ public class GitleaksScanCheck implements PassiveScanCheck {
 
     @Override
     public AuditResult doCheck(HttpRequestResponse baseRequestResponse) {
-        if (settings.isScanInScopeOnly()) {
+        return doCheck(baseRequestResponse, true, defaultTier());
+    }
+
+    /**
+     * The tier for passively scanned traffic: with two-phase scanning the
+     * fast tier reports immediately and the rest runs later, in the deep lane
+     * of the scan queue.
+     */
+    public ScanTier defaultTier() {
+        return scanState.settings().performance().twoPhaseScan() ? ScanTier.FAST : ScanTier.FULL;
+    }
+
+    /**
+     * Scans one message. With {@code aggregate} set, a secret already reported
+     * in the scope of the configured grouping only counts as another sighting;
+     * manual rescans pass false so they always report what they find.
+     */
+    public AuditResult doCheck(HttpRequestResponse baseRequestResponse, boolean aggregate) {
+        return doCheck(baseRequestResponse, aggregate, ScanTier.FULL);
+    }
+
+    /**
+     * Scans one message with the given tier. A message scanned with the fast
+     * tier is queued for a full scan if the rules or decoders it skipped could
+     * have found something; the full scan reports the secrets the fast tier
+     * missed.
+     */
+    public AuditResult doCheck(HttpRequestResponse baseRequestResponse, boolean aggregate, ScanTier tier) {
+        ScanState state = this.scanState;
+        PluginSettings.Snapshot config = state.settings();
+
+        if (config.coverage().inScopeOnly()) {
             String url = baseRequestResponse.request().url();
             if (!api.scope().isInScope(url)) {
                 return AuditResult.auditResult(Collections.emptyList());
@@ -83,113 +419,808 @@ public class GitleaksScanCheck implements PassiveScanCheck {
         }
 
         var response = baseRequestResponse.response();
-        if (response == null)
+        ByteArray rawBody = response == null ? null : response.body();
+        boolean scanBody = rawBody != null && rawBody.length() > 0
+                && !IGNORED_MIME_TYPES.contains(response.inferredMimeType());
+        if (!scanBody && !config.coverage().scansMessageParts())
             return AuditResult.auditResult(Collections.emptyList());
 
-        if (response.body().length() > MAX_SCAN_SIZE || IGNORED_MIME_TYPES.contains(response.inferredMimeType())) {
-            return AuditResult.auditResult(Collections.emptyList());
-        }
+        String requestPath = baseRequestResponse.request().path();
+        List<AuditIssue> issues = new ArrayList<>();
 
-        String body = response.bodyToString();
-        if (body.isEmpty()) {
-            return AuditResult.auditResult(Collections.emptyList());
+        PathDecision paths = PathDecision.resolve(state.rules(), state.allowlists(), requestPath);
+        if (scanBody)
+            scanFileRules(state, paths, requestPath, baseRequestResponse, issues);
+        if (paths.skipsContent(state.rules()))
+            return AuditResult.auditResult(issues);
+
+        ScanDeadline deadline = ScanDeadline.start(config.limits().scanBudgetMs());
+        ResponseScan scan = newScan(state, paths, tier, deadline);
+        List<Finding> findings = scanFindings(scan, baseRequestResponse, rawBody, scanBody);
+        if (deadline.isExpired())
+            handleTimeout(config, tier, baseRequestResponse, deadline, findings, aggregate);
+        if (tier == ScanTier.FAST) {
+            shedStats.recordFastScan();
+            if (scan.skippedWork().get() || deadline.isExpired())
+                deferDeepScan(baseRequestResponse, findings, aggregate);
         }
 
+        issues.addAll(report(findings, baseRequestResponse, config, aggregate));
+        return AuditResult.auditResult(issues);
+    }
+
+    private ResponseScan newScan(ScanState state, PathDecision paths, ScanTier tier, ScanDeadline deadline) {
+        PluginSettings.Decoding decoding = state.settings().decoding();
+        DecodeBudget budget = new DecodeBudget((long) decoding.budgetKb() * 1024, decoding.budgetLayers(),
+                decoding.budgetMs(), decodeStats);
+        return new ResponseScan(state, paths, tier, budget, deadline, new ConcurrentHashMap<>(),
+                ConcurrentHashMap.newKeySet(), new AtomicBoolean());
+    }
+
+    private List<Finding> scanFindings(ScanState state, PathDecision paths, ScanTier tier,
+            HttpRequestResponse message, ByteArray rawBody, boolean scanBody, ScanDeadline deadline) {
+        return scanFindings(newScan(state, paths, tier, deadline), message, rawBody, scanBody);
+    }
+
+    private List<Finding> scanFindings(ResponseScan scan, HttpRequestResponse message, ByteArray rawBody,
+            boolean scanBody) {
+        PluginSettings.Snapshot config = scan.state().settings();
+        List<Segment> parts = config.coverage().scansMessageParts() ? messageParts(config, message) : List.of();
+        if (!scanBody)
+            return scanSegments(scan, parts);
+        return scanMessage(scan, rawBody, parts, message.request().url());
+    }
+
+    private List<AuditIssue> report(List<Finding> findings, HttpRequestResponse message,
+            PluginSettings.Snapshot config, boolean aggregate) {
+        String url = message.request().url();
         List<AuditIssue> issues = new ArrayList<>();
+        for (Finding finding : findings) {
+            String fingerprint = secretIndex.fingerprint(finding.rule().getId(), finding.secret());
+            if (aggregate && !secretIndex.record(fingerprint, url))
+                continue;
+            issues.add(createAuditIssue(finding, fingerprint, message, config.reporting().redactionLevel()));
+        }
+        return issues;
+    }
 
-        scanContent(body, issues, 0, baseRequestResponse, Collections.emptyList());
+    /**
+     * Logs a scan that ran out of time and, in "finish later" mode, queues a
+     * scan of the same message without a deadline in the deep lane of the
+     * scan queue. Findings already returned by the partial scan are not
+     * reported again. Fast tier scans are left to the deep scan instead.
+     */
+    private void handleTimeout(PluginSettings.Snapshot config, ScanTier tier, HttpRequestResponse message,
+            ScanDeadline deadline, List<Finding> partial, boolean aggregate) {
+        budgetStats.recordTimeout();
+        logging.logToOutput(String.format(
+                "Scan budget of %d ms exceeded after %d ms while running %s, reporting %d finding(s) so far: %s",
+                config.limits().scanBudgetMs(), deadline.elapsedMillis(), deadline.expiredIn(), partial.size(),
+                message.request().url()));
+
+        if (!config.limits().finishLater() || tier == ScanTier.FAST)
+            return;
 
-        return AuditResult.auditResult(issues);
+        Set<List<Object>> reported = reportedKeys(partial);
+        budgetStats.recordDeferred();
+        if (!deferFullScan(message, m -> {
+            try {
+                scanLater(m, reported, aggregate);
+            } catch (Exception e) {
+                logging.logToError("Error finishing deferred secret scan: " + e.getMessage());
+            } finally {
+                budgetStats.recordFinished();
+            }
+        }, budgetStats::recordDropped))
+            budgetStats.recordDropped();
+    }
+
+    /**
+     * Queues the full scan of a message that was only scanned with the fast
+     * tier. It waits in the deep lane, which is the first to be evicted when
+     * the queue fills up.
+     */
+    private void deferDeepScan(HttpRequestResponse message, List<Finding> findings, boolean aggregate) {
+        Set<List<Object>> reported = reportedKeys(findings);
+        shedStats.recordDeferred();
+        if (!deferFullScan(message, m -> shedStats.recordDeepScan(scanLater(m, reported, aggregate)),
+                shedStats::recordDropped))
+            shedStats.recordDropped();
+    }
+
+    /**
+     * Spools {@code message} to a temporary file and queues a deferred job
+     * that reads it back for {@code scan}. The file is deleted once the job ran
+     * or was dropped. Returns false if the spool or the queue had no room.
+     */
+    private boolean deferFullScan(HttpRequestResponse message, Consumer<HttpRequestResponse> scan, Runnable onDrop) {
+        ScanQueue queue = deepScanQueue;
+        if (queue == null)
+            return false;
+        DeepScanSpool.Entry entry = spool.write(message);
+        if (entry == null)
+            return false;
+
+        boolean queued = queue.defer(() -> {
+            try {
+                scan.accept(spool.read(entry));
+            } finally {
+                spool.delete(entry);
+            }
+        }, () -> {
+            spool.delete(entry);
+            onDrop.run();
+        });
+        if (!queued)
+            spool.delete(entry);
+        return queued;
+    }
+
+    private static Set<List<Object>> reportedKeys(List<Finding> findings) {
+        Set<List<Object>> reported = new HashSet<>();
+        for (Finding f : findings) {
+            reported.add(findingKey(f));
+        }
+        return reported;
+    }
+
+    /**
+     * Runs the full scan of a message whose first scan was cut short,
+     * reporting the findings that scan missed through the late issue handler.
+     * Returns how many were reported.
+     */
+    private int scanLater(HttpRequestResponse message, Set<List<Object>> reported, boolean aggregate) {
+        ScanState state = this.scanState;
+        var response = message.response();
+        ByteArray rawBody = response == null ? null : response.body();
+        boolean scanBody = rawBody != null && rawBody.length() > 0
+                && !IGNORED_MIME_TYPES.contains(response.inferredMimeType());
+
+        int count = 0;
+        PathDecision paths = PathDecision.resolve(state.rules(), state.allowlists(), message.request().path());
+        if ((scanBody || state.settings().coverage().scansMessageParts()) && !paths.skipsContent(state.rules())) {
+            List<Finding> findings = scanFindings(state, paths, ScanTier.FULL, message, rawBody, scanBody,
+                    ScanDeadline.NONE);
+            findings.removeIf(f -> reported.contains(findingKey(f)));
+            for (AuditIssue issue : report(findings, message, state.settings(), aggregate)) {
+                lateIssueHandler.accept(issue);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static List<Object> findingKey(Finding f) {
+        return List.of(f.rule().getId(), f.part(), f.markerStart(), f.markerEnd(), f.secret());
+    }
+
+    /**
+     * Scans the response body and the other enabled message parts. A body
+     * small enough to scan whole is scanned in the same pass as the parts;
+     * only its own findings are cached, so on a cache hit the parts are
+     * scanned alone. Candidate rules are decided per part, which keeps the
+     * body's findings independent of the parts scanned with it.
+     */
+    private List<Finding> scanMessage(ResponseScan scan, ByteArray rawBody, List<Segment> parts, String url) {
+        PluginSettings.Snapshot config = scan.state().settings();
+        if (rawBody.length() > (long) config.limits().maxScanSizeMb() * 1024 * 1024) {
+            int limit = (int) Math.min(rawBody.length(), (long) config.limits().streamCapMb() * 1024 * 1024);
+            if (limit < rawBody.length() && config.reporting().debug()) {
+                logging.logToOutput(String.format(
+                        "Response of %d bytes exceeds the streaming cap, scanning first %d bytes: %s",
+                        rawBody.length(), limit, url));
+            }
+
+            List<Finding> findings = new ArrayList<>(cachedChunkedScan(scan, rawBody, limit));
+            if (!scan.deadline().isExpired())
+                findings.addAll(scanSegments(scan, parts));
+            return findings;
+        }
+
+        List<Segment> segments = new ArrayList<>(parts.size() + 1);
+        segments.add(new Segment(MessagePart.RESPONSE_BODY, rawBody, 0, rawBody.length()));
+        segments.addAll(parts);
+        Layout layout = Layout.of(segments);
+
+        List<List<Finding>> scanned = new ArrayList<>();
+        List<Finding> findings = new ArrayList<>(cachedScan(scan, rawBody.length(),
+                () -> layout.text().hash128(0, rawBody.length()),
+                () -> {
+                    scanned.addAll(scanLayout(scan, layout));
+                    return scanned.get(0);
+                }));
+        if (scanned.isEmpty()) {
+            if (!scan.deadline().isExpired())
+                findings.addAll(scanSegments(scan, parts));
+        } else {
+            for (List<Finding> partFindings : scanned.subList(1, scanned.size())) {
+                findings.addAll(partFindings);
+            }
+        }
+        return findings;
+    }
+
+    private List<Segment> messageParts(PluginSettings.Snapshot config, HttpRequestResponse message) {
+        List<Segment> segments = new ArrayList<>();
+
+        ByteArray request = message.request().toByteArray();
+        int requestLineEnd = lineEnd(request);
+        int requestBodyOffset = Math.max(requestLineEnd, message.request().bodyOffset());
+        if (config.coverage().requestLine())
+            segments.add(new Segment(MessagePart.REQUEST_LINE, request, 0, requestLineEnd));
+        if (config.coverage().requestHeaders())
+            segments.add(new Segment(MessagePart.REQUEST_HEADERS, request, requestLineEnd, requestBodyOffset));
+        if (config.coverage().requestBody()) {
+            int end = (int) Math.min(request.length(),
+                    requestBodyOffset + (long) config.limits().maxScanSizeMb() * 1024 * 1024);
+            segments.add(new Segment(MessagePart.REQUEST_BODY, request, requestBodyOffset, end));
+        }
+        if (config.coverage().responseHeaders() && message.response() != null) {
+            ByteArray response = message.response().toByteArray();
+            int statusLineEnd = lineEnd(response);
+            segments.add(new Segment(MessagePart.RESPONSE_HEADERS, response, statusLineEnd,
+                    Math.max(statusLineEnd, message.response().bodyOffset())));
+        }
+        return segments;
+    }
+
+    private List<Finding> scanSegments(ResponseScan scan, List<Segment> segments) {
+        if (segments.isEmpty())
+            return List.of();
+        List<Finding> findings = new ArrayList<>();
+        for (List<Finding> segmentFindings : scanLayout(scan, Layout.of(segments))) {
+            findings.addAll(segmentFindings);
+        }
+        return findings;
+    }
+
+    /**
+     * Scans every segment of the layout in one pass and returns the findings
+     * of each segment, with markers, lines and columns relative to the message
+     * part it came from.
+     */
+    private List<List<Finding>> scanLayout(ResponseScan scan, Layout layout) {
+        List<Finding> found = new ArrayList<>();
+        int[] bounds = layout.bounds();
+        scanContent(scan, layout.text(), found, 0, null, Region.segments(bounds));
+
+        List<List<Finding>> bySegment = new ArrayList<>(layout.segments().size());
+        for (int i = 0; i < layout.segments().size(); i++) {
+            bySegment.add(new ArrayList<>());
+        }
+        for (Finding f : found) {
+            for (int t = 0; t < bounds.length; t += 2) {
+                if (f.markerStart() >= bounds[t] && f.markerStart() < bounds[t + 1]) {
+                    bySegment.get(t / 2).add(f);
+                    break;
+                }
+            }
+        }
+
+        LineIndex lines = found.isEmpty() ? null : layout.text().lineIndex();
+        for (int i = 0; i < bySegment.size(); i++) {
+            Segment segment = layout.segments().get(i);
+            int start = bounds[2 * i];
+            int shift = segment.from() - start;
+            List<Finding> located = new ArrayList<>();
+            for (Finding f : withoutRedundantLayers(bySegment.get(i))) {
+                located.add(new Finding(f.rule(), f.depth(), f.encoding(), f.secret(), f.fullMatch(), segment.part(),
+                        f.markerStart() + shift, f.markerEnd() + shift,
+                        lines.line(f.markerStart()) - lines.line(start) + 1, lines.column(f.markerStart())));
+            }
+            bySegment.set(i, located);
+        }
+        return bySegment;
+    }
+
+    private static int lineEnd(ByteArray message) {
+        int newline = message.indexOf("\n");
+        return newline < 0 ? message.length() : newline + 1;
+    }
+
+    private static List<Finding> locate(List<Finding> findings, Supplier<LineIndex> index) {
+        if (findings.isEmpty())
+            return findings;
+
+        LineIndex lines = index.get();
+        List<Finding> located = new ArrayList<>(findings.size());
+        for (Finding f : findings) {
+            located.add(f.at(lines.line(f.markerStart()), lines.column(f.markerStart())));
+        }
+        return located;
+    }
+
+    private List<Finding> cachedScan(ResponseScan scan, int length, Supplier<long[]> hasher,
+            Supplier<List<Finding>> scanner) {
+        PluginSettings.Snapshot config = scan.state().settings();
+        if (!config.performance().resultCache() || !resultCache.configure(config.version(),
+                (long) config.performance().resultCacheSizeMb() * 1024 * 1024, settingsFingerprint(config)))
+            return scanner.get();
+
+        long[] hash = hasher.get();
+        ScanResultCache.Key key = new ScanResultCache.Key(hash[0], hash[1], length, scan.state().version(),
+                scan.paths().signature());
+
+        List<Finding> cached = resultCache.get(key);
+        if (cached != null)
+            return cached;
+
+        List<Finding> findings = scanner.get();
+        if (scan.tier() == ScanTier.FULL && !scan.budget().isExhausted() && !scan.deadline().isExpired())
+            resultCache.put(key, findings);
+        return findings;
+    }
+
+    /**
+     * Drops decoded-layer findings of a secret that the same rule already found
+     * in the plain body; escape decoders re-surface most of the text around the
+     * escapes they decode.
+     */
+    private static List<Finding> withoutRedundantLayers(List<Finding> findings) {
+        Set<List<Object>> plain = new HashSet<>();
+        for (Finding f : findings) {
+            if (f.depth() == 0)
+                plain.add(List.of(f.rule().getId(), f.secret()));
+        }
+        if (plain.isEmpty())
+            return findings;
+
+        List<Finding> result = new ArrayList<>(findings.size());
+        for (Finding f : findings) {
+            if (f.depth() == 0 || !plain.contains(List.of(f.rule().getId(), f.secret())))
+                result.add(f);
+        }
+        return result;
+    }
+
+    private static List<Object> settingsFingerprint(PluginSettings.Snapshot config) {
+        PluginSettings.Limits limits = config.limits();
+        PluginSettings.Decoding decoding = config.decoding();
+        return List.of(config.detection(), limits.maxScanSizeMb(), limits.chunkSizeKb(), limits.streamCapMb(),
+                decoding.disabledDecoders(), decoding.budgetKb(), decoding.budgetLayers());
+    }
+
+    /**
+     * Result cache lookup for streamed bodies, which are too large to copy
+     * twice. The body is hashed while {@link #scanChunked} copies it, and
+     * the entry is also registered under a probe key made of the hash of the
+     * first {@link #PROBE_BYTES} and the length. Only a body matching a probe
+     * is hashed in full before scanning, to look up its entry.
+     */
+    private List<Finding> cachedChunkedScan(ResponseScan scan, ByteArray rawBody, int limit) {
+        PluginSettings.Snapshot config = scan.state().settings();
+        if (!config.performance().resultCache() || !resultCache.configure(config.version(),
+                (long) config.performance().resultCacheSizeMb() * 1024 * 1024, settingsFingerprint(config)))
+            return scanChunked(scan, rawBody, limit, null);
+
+        long[] prefix = Murmur3.hash128(rawBody.subArray(0, Math.min(limit, PROBE_BYTES)).getBytes());
+        ScanResultCache.Key probe = new ScanResultCache.Key(prefix[0], prefix[1], limit, scan.state().version(),
+                scan.paths().signature());
+        if (resultCache.hasProbe(probe)) {
+            long[] hash = hashChunks(config, rawBody, limit);
+            ScanResultCache.Key key = new ScanResultCache.Key(hash[0], hash[1], limit, scan.state().version(),
+                    scan.paths().signature());
+            List<Finding> cached = resultCache.get(key);
+            if (cached != null)
+                return cached;
+        }
+
+        Murmur3 hasher = new Murmur3(0);
+        List<Finding> findings = scanChunked(scan, rawBody, limit, hasher);
+        if (scan.tier() == ScanTier.FULL && !scan.budget().isExhausted() && !scan.deadline().isExpired()) {
+            long[] hash = hasher.digest();
+            resultCache.put(new ScanResultCache.Key(hash[0], hash[1], limit, scan.state().version(),
+                    scan.paths().signature()), findings);
+            resultCache.addProbe(probe);
+        }
+        return findings;
+    }
+
+    private static long[] hashChunks(PluginSettings.Snapshot config, ByteArray rawBody, int limit) {
+        int chunkSize = Math.max(1, config.limits().chunkSizeKb()) * 1024;
+        Murmur3 hasher = new Murmur3(0);
+        for (int start = 0; start < limit; start += chunkSize) {
+            int end = (int) Math.min(limit, (long) start + chunkSize);
+            byte[] chunk = rawBody.subArray(start, end).getBytes();
+            hasher.update(chunk, 0, chunk.length);
+        }
+        return hasher.digest();
+    }
+
+    private List<Finding> scanChunked(ResponseScan scan, ByteArray rawBody, int limit, Murmur3 hasher) {
+        ScanState state = scan.state();
+        int chunkSize = Math.max(1, state.settings().limits().chunkSizeKb()) * 1024;
+        int overlap = Math.max(state.longestBoundedMatch(), state.settings().detection().fragmentWindow())
+                + FRAGMENT_MARGIN;
+
+        List<Finding> findings = new ArrayList<>();
+        LineIndex.Builder lines = new LineIndex.Builder();
+        Map<String, Integer> carriedEnds = Map.of();
+        for (int start = 0; start < limit; start += chunkSize) {
+            if (scan.deadline().expired("chunk at " + start))
+                break;
+            int end = (int) Math.min(limit, (long) start + chunkSize);
+            int from = Math.max(0, start - overlap);
+            int to = (int) Math.min(limit, (long) end + overlap);
+
+            byte[] bytes = rawBody.subArray(from, to).getBytes();
+            if (hasher != null)
+                hasher.update(bytes, start - from, end - start);
+            ByteText chunk = new ByteText(bytes);
+            lines.add(chunk, start - from, end - from, from);
+            Map<String, Integer> lastEnds = new ConcurrentHashMap<>(carriedEnds);
+            scanContent(scan, chunk, findings, 0, null,
+                    new Region(from, start - from, end - from, carriedEnds, lastEnds, null));
+            carriedEnds = lastEnds;
+        }
+        return locate(withoutRedundantLayers(findings), () -> lines.build(limit));
     }
 
     @Override
     public ConsolidationAction consolidateIssues(AuditIssue existingIssue, AuditIssue newIssue) {
         if (existingIssue.name().equals(newIssue.name()) &&
-                existingIssue.detail().equals(newIssue.detail()) &&
+                IssueUtils.withoutMetadata(existingIssue.detail())
+                        .equals(IssueUtils.withoutMetadata(newIssue.detail())) &&
                 existingIssue.baseUrl().equals(newIssue.baseUrl())) {
             return ConsolidationAction.KEEP_EXISTING;
         }
         return ConsolidationAction.KEEP_BOTH;
     }
 
-    private void scanContent(String content, List<AuditIssue> issues, int depth, HttpRequestResponse baseReq,
-            List<Marker> contextMarkers) {
-        if (depth > MAX_DECODE_DEPTH)
-            return;
+    private void scanContent(ResponseScan scan, ByteText content, List<Finding> findings, int depth, Origin origin,
+            Region region) {
+        PluginSettings.Performance performance = scan.state().settings().performance();
+        boolean parallel = performance.parallelScan()
+                && content.length() >= (long) performance.parallelThresholdKb() * 1024;
 
-        scanLayer(content, issues, baseReq, depth, contextMarkers);
+        scanLayer(scan, content, findings, depth, origin, region, parallel);
 
-        Matcher b64Matcher = BASE64_PATTERN.matcher(content);
+        if (scan.tier() == ScanTier.FAST) {
+            if (!scan.skippedWork().get() && hasEncodedSpans(scan.state(), content, findings, region))
+                scan.skippedWork().set(true);
+            return;
+        }
+        if (depth == MAX_DECODE_DEPTH || scan.deadline().isExpired())
+            return;
 
-        while (b64Matcher.find()) {
-            String decoded = tryDecode(b64Matcher.group());
+        List<Layer> pending = parallel ? new ArrayList<>() : null;
+        TreeMap<Integer, Integer> claimed = new TreeMap<>();
+
+        for (Decoder decoder : scan.state().decoders()) {
+            String encoding = origin == null ? decoder.name() : origin.encoding() + " > " + decoder.name();
+
+            decoder.decode(content, new Decoder.Sink() {
+                private BlobKey key;
+
+                /**
+                 * Spans are looked up by the hash of their encoded bytes, so a
+                 * repeated blob is neither decoded nor charged to the budget again.
+                 */
+                @Override
+                public Decoder.Action offer(int start, int end) {
+                    if (!region.owns(start) || !region.contains(start, end) || overlaps(claimed, start, end))
+                        return Decoder.Action.SKIP;
+
+                    long[] hash = content.hash128(start, end);
+                    key = new BlobKey(encoding, hash[0], hash[1], end - start);
+                    if (scan.rejected().contains(key))
+                        return Decoder.Action.SKIP;
+
+                    ForkJoinTask<List<Finding>> layer = scan.layers().get(key);
+                    if (layer == null)
+                        return scan.deadline().expired(encoding) ? Decoder.Action.STOP : Decoder.Action.DECODE;
+
+                    claimed.put(start, end);
+                    Origin layerOrigin = origin(start, end);
+                    if (pending == null)
+                        addLayerFindings(layer.join(), layerOrigin, findings);
+                    else
+                        pending.add(new Layer(layer, layerOrigin));
+                    return Decoder.Action.SKIP;
+                }
 
-            if (decoded != null && isPrintable(decoded)) {
-                List<Marker> nextMarkers = contextMarkers;
+                @Override
+                public void reject(int start, int end) {
+                    scan.rejected().add(key);
+                }
 
-                if (depth == 0) {
-                    int bodyOffset = baseReq.response().bodyOffset();
-                    nextMarkers = List.of(Marker.marker(
-                            bodyOffset + b64Matcher.start(),
-                            bodyOffset + b64Matcher.end()));
+                @Override
+                public boolean accept(int start, int end, ByteText decoded) {
+                    if (!scan.budget().tryAcquire(decoded.length()))
+                        return false;
+                    decodeStats.recordLayer(decoder.name(), decoded.length());
+                    claimed.put(start, end);
+
+                    Origin layerOrigin = origin(start, end);
+                    ForkJoinTask<List<Finding>> layer;
+                    if (pending == null) {
+                        layer = ForkJoinTask.adapt(() -> {
+                            List<Finding> out = new ArrayList<>();
+                            scanContent(scan, decoded, out, depth + 1, layerOrigin, Region.whole());
+                            return out;
+                        });
+                        layer.invoke();
+                        scan.layers().put(key, layer);
+                        addLayerFindings(layer.join(), layerOrigin, findings);
+                    } else {
+                        ByteText text = decoded.copy();
+                        layer = scan.layers().computeIfAbsent(key,
+                                k -> fork(out -> scanContent(scan, text, out, depth + 1, layerOrigin, Region.whole())));
+                        pending.add(new Layer(layer, layerOrigin));
+                    }
+                    return true;
                 }
 
-                scanContent(decoded, issues, depth + 1, baseReq, nextMarkers);
+                private Origin origin(int start, int end) {
+                    return depth == 0
+                            ? new Origin(region.offset() + start, region.offset() + end, encoding)
+                            : new Origin(origin.markerStart(), origin.markerEnd(), encoding);
+                }
+            });
+
+            if (scan.budget().isExhausted() || scan.deadline().isExpired())
+                break;
+        }
+
+        if (pending != null) {
+            for (Layer layer : pending) {
+                addLayerFindings(layer.task().join(), layer.origin(), findings);
             }
         }
     }
 
-    private void scanLayer(String body, List<AuditIssue> issues, HttpRequestResponse baseReq, int depth,
-            List<Marker> contextMarkers) {
+    private static boolean overlaps(TreeMap<Integer, Integer> claimed, int start, int end) {
+        Map.Entry<Integer, Integer> previous = claimed.floorEntry(end - 1);
+        return previous != null && previous.getValue() > start;
+    }
+
+    /**
+     * Findings of a decoded layer are shared by every occurrence of the same
+     * blob in the response; their markers always cover the outermost blob, so
+     * they are re-pointed at the occurrence being reported.
+     */
+    private static void addLayerFindings(List<Finding> layerFindings, Origin origin, List<Finding> findings) {
+        for (Finding f : layerFindings) {
+            if (f.markerStart() == origin.markerStart() && f.markerEnd() == origin.markerEnd())
+                findings.add(f);
+            else
+                findings.add(new Finding(f.rule(), f.depth(), f.encoding(), f.secret(), f.fullMatch(), f.part(),
+                        origin.markerStart(), origin.markerEnd(), 0, 0));
+        }
+    }
 
-        ScanState state = this.scanState;
-        String requestPath = baseReq.request().path();
+    /**
+     * Runs a piece of scan work on the shared pool. Each task collects its own
+     * findings; callers join the tasks in submission order so the merged result
+     * is identical to the serial one.
+     */
+    private ForkJoinTask<List<Finding>> fork(Consumer<List<Finding>> work) {
+        return scanPool().submit(() -> {
+            List<Finding> out = new ArrayList<>();
+            work.accept(out);
+            return out;
+        });
+    }
+
+    /**
+     * The pool is only created by the first parallel scan, so its threads do
+     * not exist while parallel scanning is off or bodies stay small.
+     */
+    private ForkJoinPool scanPool() {
+        ForkJoinPool pool = scanPool;
+        if (pool == null) {
+            synchronized (poolLock) {
+                if (scanPool == null)
+                    scanPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+                pool = scanPool;
+            }
+        }
+        return pool;
+    }
 
-        Set<String> foundKeywords = state.keywordTrie.parseText(body).stream()
-                .map(emit -> emit.getKeyword().toLowerCase())
-                .collect(Collectors.toSet());
+    private static void joinInto(List<ForkJoinTask<List<Finding>>> tasks, List<Finding> findings) {
+        for (ForkJoinTask<List<Finding>> task : tasks) {
+            findings.addAll(task.join());
+        }
+    }
+
+    /**
+     * Whether a decoder finds a span in {@code content} that could hide a
+     * secret, i.e. whether the decoding a fast tier scan skips could lead to a
+     * finding. Spans are only offered, never decoded, so this costs no more
+     * than the decoders' span search. Short spans, spans with the low entropy
+     * of plain text and spans inside a fast tier finding do not count.
+     */
+    private static boolean hasEncodedSpans(ScanState state, ByteText content, List<Finding> findings,
+            Region region) {
+        boolean[] found = new boolean[1];
+        for (Decoder decoder : state.decoders()) {
+            decoder.decode(content, new Decoder.Sink() {
+                @Override
+                public Decoder.Action offer(int start, int end) {
+                    if (end - start < MIN_PROBED_SPAN || !region.owns(start) || !region.contains(start, end)
+                            || isCovered(findings, region.offset() + start, region.offset() + end)
+                            || Entropy.shannonEntropy(content.subSequence(start,
+                                    Math.min(end, start + ENTROPY_SAMPLE)).toString()) < MIN_PROBED_ENTROPY)
+                        return Decoder.Action.SKIP;
+                    found[0] = true;
+                    return Decoder.Action.STOP;
+                }
+
+                @Override
+                public boolean accept(int start, int end, ByteText decoded) {
+                    return true;
+                }
+            });
+            if (found[0])
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean isCovered(List<Finding> findings, int start, int end) {
+        for (Finding f : findings) {
+            if (f.depth() == 0 && f.markerStart() <= start && end <= f.markerEnd())
+                return true;
+        }
+        return false;
+    }
 
-        List<String> disabledRules = settings.getDisabledRules();
-        boolean debugMode = settings.isDebugEnabled();
+    private void scanLayer(ResponseScan scan, ByteText body, List<Finding> findings, int depth, Origin origin,
+            Region region, boolean parallel) {
+        ScanState state = scan.state();
+        PathDecision paths = scan.paths();
+
+        int[] segments = region.bounds() == null ? new int[] { 0, body.length() } : region.bounds();
+        RuleSetMatcher.Hits[] hits = new RuleSetMatcher.Hits[segments.length / 2];
+        BitSet candidates = new BitSet();
+        for (int t = 0; t < hits.length; t++) {
+            hits[t] = state.ruleSetMatcher().match(body, segments[2 * t], segments[2 * t + 1]);
+            candidates.or(hits[t].candidates());
+        }
 
-        java.util.function.Consumer<String> debugLogger = msg -> {
-            if (debugMode)
-                this.logging.logToOutput(msg);
-        };
+        PluginSettings.Snapshot config = state.settings();
+        boolean fragmentMode = config.detection().fragmentScan();
+        int fragmentWindow = config.detection().fragmentWindow();
 
         List<GitleaksRule> currentRules = state.rules();
+        List<ForkJoinTask<List<Finding>>> ruleTasks = parallel ? new ArrayList<>() : null;
 
-        for (GitleaksRule rule : currentRules) {
-            if (disabledRules.contains(rule.getId()))
+        for (int i = 0; i < currentRules.size(); i++) {
+            int ruleIndex = i;
+            GitleaksRule rule = currentRules.get(i);
+            if (rule.getRegex() == null || !candidates.get(i) || !paths.isActive(i) || !state.enabledRules().get(i))
+                continue;
+            if (scan.tier() == ScanTier.FAST && !state.fastRules().get(i)) {
+                scan.skippedWork().set(true);
+                continue;
+            }
+            if (scan.deadline().expired(rule.getId()))
+                break;
+
+            int radius = rule.getMaxMatchLength() == RegexAnalyzer.UNBOUNDED
+                    ? fragmentWindow
+                    : rule.getMaxMatchLength() + FRAGMENT_MARGIN;
+            int[] windows = region.clip(
+                    ruleWindows(hits, segments, i, fragmentMode && !state.fullScanRules().get(i) ? radius : -1));
+            if (windows.length == 0)
                 continue;
 
-            if (rule.getPathRegex() != null) {
-                if (!rule.getPathRegex().matcher(requestPath).find()) {
-                    continue;
-                }
+            RuleProfiler.Counters stats = state.counters()[i];
+            stats.candidates.increment();
+
+            List<Piece> pieces = ruleTasks == null ? List.of(Piece.of(windows)) : split(windows, radius);
+            for (Piece piece : pieces) {
+                Consumer<List<Finding>> work = out -> {
+                    if (scan.deadline().expired(rule.getId()))
+                        return;
+                    long startTime = System.nanoTime();
+
+                    scanRule(body, piece, rule, stats, out, depth, origin, region, paths.globalChecks(),
+                            paths.ruleChecks(ruleIndex), config, scan.deadline());
+
+                    stats.nanos.add(System.nanoTime() - startTime);
+                };
+
+                if (ruleTasks == null)
+                    work.accept(findings);
+                else
+                    ruleTasks.add(fork(work));
             }
+        }
 
-            if (rule.getRegex() == null) {
-                if (depth == 0 && rule.getPathRegex() != null) {
-                    handleFileOnlyRule(rule, requestPath, baseReq, issues, state.allowlists());
-                }
+        if (ruleTasks != null)
+            joinInto(ruleTasks, findings);
+    }
+
+    /**
+     * Joins the windows of a rule over the segments it is a candidate in:
+     * the windows around its anchor hits when {@code radius} is not negative,
+     * else the whole segment. Candidates are decided per segment, so a
+     * keyword in a header never makes a rule scan the body.
+     */
+    private static int[] ruleWindows(RuleSetMatcher.Hits[] hits, int[] segments, int ruleIndex, int radius) {
+        int[] windows = new int[0];
+        for (int t = 0; t < hits.length; t++) {
+            if (!hits[t].candidates().get(ruleIndex))
                 continue;
-            }
+            int[] own = radius < 0 ? null : hits[t].windows(ruleIndex, radius);
+            if (own == null)
+                own = new int[] { segments[2 * t], segments[2 * t + 1] };
+            int n = windows.length;
+            windows = Arrays.copyOf(windows, n + own.length);
+            System.arraycopy(own, 0, windows, n, own.length);
+        }
+        return windows;
+    }
 
-            if (!rule.getKeywords().isEmpty() && !foundKeywords.isEmpty()) {
-                if (rule.getKeywords().stream().noneMatch(foundKeywords::contains)) {
-                    continue;
+    /**
+     * Cuts a rule's windows into pieces of about {@link #PARALLEL_PIECE_SIZE}
+     * bytes so one expensive rule does not serialise a parallel scan. Each piece
+     * reads {@code lead} bytes on both sides of its own range: before it so the
+     * regex resynchronises, after it so a match starting inside the range is
+     * not cut at its end. Longer matches reach the edge and are recovered by
+     * the window growth in {@link #scanRule}.
+     */
+    private static List<Piece> split(int[] windows, int lead) {
+        List<Integer> cuts = new ArrayList<>();
+        int size = 0;
+        for (int w = 0; w < windows.length; w += 2) {
+            int pos = windows[w];
+            while (pos < windows[w + 1]) {
+                int take = Math.min(windows[w + 1] - pos, PARALLEL_PIECE_SIZE - size);
+                pos += take;
+                size += take;
+                if (size == PARALLEL_PIECE_SIZE) {
+                    cuts.add(pos);
+                    size = 0;
                 }
             }
+        }
+        if (size == 0 && !cuts.isEmpty())
+            cuts.remove(cuts.size() - 1);
+        if (cuts.isEmpty())
+            return List.of(Piece.of(windows));
+
+        List<Piece> pieces = new ArrayList<>(cuts.size() + 1);
+        for (int k = 0; k <= cuts.size(); k++) {
+            int ownStart = k == 0 ? 0 : cuts.get(k - 1);
+            int ownEnd = k == cuts.size() ? Integer.MAX_VALUE : cuts.get(k);
+            int scanFrom = Math.max(0, ownStart - lead);
+            int scanTo = ownEnd == Integer.MAX_VALUE ? ownEnd : ownEnd + lead;
+
+            int[] clipped = new int[windows.length];
+            int n = 0;
+            for (int w = 0; w < windows.length; w += 2) {
+                int start = Math.max(windows[w], scanFrom);
+                int end = Math.min(windows[w + 1], scanTo);
+                if (start < end) {
+                    clipped[n++] = start;
+                    clipped[n++] = end;
+                }
+            }
+            pieces.add(new Piece(Arrays.copyOf(clipped, n), ownStart, ownEnd));
+        }
+        return pieces;
+    }
 
-            scanRule(body, rule, issues, baseReq, depth, contextMarkers, state.allowlists(), requestPath, debugLogger);
+    private void scanFileRules(ScanState state, PathDecision paths, String requestPath, HttpRequestResponse baseReq,
+            List<AuditIssue> issues) {
+        for (int i = 0; i < state.rules().size(); i++) {
+            GitleaksRule rule = state.rules().get(i);
+            if (rule.getRegex() != null || rule.getPathRegex() == null || !state.enabledRules().get(i))
+                continue;
+
+            if (paths.isActive(i)) {
+                handleFileOnlyRule(rule, paths, requestPath, baseReq, issues, state.settings().reporting().debug());
+            }
         }
     }
 
-    private void handleFileOnlyRule(GitleaksRule rule, String requestPath, HttpRequestResponse baseReq,
-            List<AuditIssue> issues, List<GitleaksAllowlist> allowlists) {
+    private void handleFileOnlyRule(GitleaksRule rule, PathDecision paths, String requestPath,
+            HttpRequestResponse baseReq, List<AuditIssue> issues, boolean debug) {
 
-        if (isAllowed(allowlists, requestPath, requestPath, "", requestPath, "Global")) {
+        if (paths.isAllowed() || isAllowed(paths.globalChecks(), requestPath, requestPath, () -> "", "Global", debug)) {
             return;
         }
 
@@ -207,21 +1238,76 @@ public class GitleaksScanCheck implements PassiveScanCheck {
                 baseReq.withResponseMarkers(Collections.emptyList())));
     }
 
-    private void scanRule(String body, GitleaksRule rule, List<AuditIssue> issues, HttpRequestResponse baseReq,
-            int depth, List<Marker> contextMarkers, List<GitleaksAllowlist> globalAllowlists, String requestPath,
-            Consumer<String> debugLogger) {
+    private void scanRule(ByteText body, Piece piece, GitleaksRule rule, RuleProfiler.Counters stats,
+            List<Finding> findings, int depth, Origin origin, Region region, List<GitleaksAllowlist> globalAllowlists,
+            List<GitleaksAllowlist> ruleAllowlists, PluginSettings.Snapshot config, ScanDeadline deadline) {
+
+        int[] windows = piece.windows();
+        int length = body.length();
+        int lastEnd = 0;
+        int finds = 0;
+
+        for (int w = 0; w < windows.length; w += 2) {
+            int start = windows[w];
+            int end = windows[w + 1];
+            int from = Math.max(start, lastEnd);
+            int low = region.segmentStart(start);
+            int high = region.segmentEnd(start, length);
+            Matcher matcher = null;
+
+            while (from <= end) {
+                if (matcher == null) {
+                    matcher = rule.getRegex().matcher(body.subSequence(start, end));
+                    stats.bytesScanned.add(end - from);
+                }
+                if (!matcher.find(from - start))
+                    break;
+                if (++finds % DEADLINE_CHECK_INTERVAL == 0 && deadline.expired(rule.getId()))
+                    return;
+
+                int matchStart = start + matcher.start();
+                int matchEnd = start + matcher.end();
+
+                // A match touching an artificial window edge may be truncated or only
+                // exist because context is missing, so widen the window and retry,
+                // but never past the segment the window lies in.
+                boolean cutLeft = matchStart == start && start > low;
+                boolean cutRight = matchEnd == end && end < high;
+                if (cutLeft || cutRight) {
+                    int grow = Math.max(FRAGMENT_MARGIN, end - start);
+                    if (cutLeft) {
+                        start = Math.max(low, start - grow);
+                        from = Math.max(start, lastEnd);
+                    }
+                    if (cutRight) {
+                        end = Math.min(high, end + grow);
+                        while (w + 2 < windows.length && windows[w + 2] <= end && windows[w + 2] < high) {
+                            end = Math.max(end, windows[w + 3]);
+                            w += 2;
+                        }
+                    }
+                    matcher = null;
+                    continue;
+                }
+
+                if (piece.owns(matchStart) && region.accept(rule.getId(), matchStart, matchEnd)) {
+                    stats.matches.increment();
+                    handleMatch(body, matcher, start, rule, stats, findings, depth, origin, region,
+                            globalAllowlists, ruleAllowlists, config);
+                }
 
-        Matcher matcher = rule.getRegex().matcher(body);
-        while (matcher.find()) {
-            handleMatch(body, matcher, rule, issues, baseReq, depth, contextMarkers, globalAllowlists, requestPath,
-                    debugLogger);
+                lastEnd = matchEnd;
+                from = matchEnd > matchStart ? matchEnd : matchEnd + 1;
+            }
         }
     }
 
-    private void handleMatch(String body, Matcher matcher, GitleaksRule rule, List<AuditIssue> issues,
-            HttpRequestResponse baseReq, int depth, List<Marker> contextMarkers,
-            List<GitleaksAllowlist> globalAllowlists, String requestPath, Consumer<String> debugLogger) {
+    private void handleMatch(ByteText body, Matcher matcher, int offset, GitleaksRule rule,
+            RuleProfiler.Counters stats, List<Finding> findings, int depth, Origin origin, Region region,
+            List<GitleaksAllowlist> globalAllowlists, List<GitleaksAllowlist> ruleAllowlists,
+            PluginSettings.Snapshot config) {
 
+        boolean debug = config.reporting().debug();
         String fullMatch = matcher.group(0);
         String secretCandidate = fullMatch;
 
@@ -230,61 +1316,84 @@ public class GitleaksScanCheck implements PassiveScanCheck {
         }
 
         if (rule.getMinEntropy() > 0 && Entropy.shannonEntropy(secretCandidate) < rule.getMinEntropy()) {
-            if (settings.isDebugEnabled()) {
+            if (debug) {
                 logging.logToOutput("Ignored low entropy match for rule " + rule.getId() + ": " + secretCandidate);
             }
+            stats.entropyRejects.increment();
             return;
         }
 
-        String lineContext = extractLine(body, matcher.start(), matcher.end());
+        LineContext lineContext = new LineContext(body, offset + matcher.start(), offset + matcher.end(),
+                config.detection().lineContext());
 
-        if (isAllowed(globalAllowlists, secretCandidate, fullMatch, lineContext, requestPath, "Global")) {
+        if (isAllowed(globalAllowlists, secretCandidate, fullMatch, lineContext, "Global", debug)) {
+            stats.allowlistRejects.increment();
             return;
         }
 
-        if (rule.isAllowed(secretCandidate, fullMatch, lineContext, requestPath, debugLogger)) {
-            if (settings.isDebugEnabled()) {
+        if (allowedByAny(ruleAllowlists, secretCandidate, fullMatch, lineContext, null)) {
+            if (debug) {
                 logging.logToOutput("[Rule: " + rule.getId() + "] Blocked by Rule Allowlist: " + secretCandidate);
             }
+            stats.allowlistRejects.increment();
             return;
         }
 
-        if (!settings.getIgnoreGitleaksAllow() && lineContext.contains("gitleaks:allow")) {
-            if (settings.isDebugEnabled()) {
+        if (!config.detection().ignoreGitleaksAllow() && lineContext.get().contains("gitleaks:allow")) {
+            if (debug) {
                 logging.logToOutput("Ignored due to in-line gitleaks:allow comment: " + secretCandidate);
             }
+            stats.allowlistRejects.increment();
             return;
         }
 
-        issues.add(createAuditIssue(rule, secretCandidate, fullMatch, matcher, baseReq, depth, contextMarkers));
+        int markerStart;
+        int markerEnd;
+        if (depth == 0) {
+            int groupIndex = (rule.getSecretGroup() > 0 && rule.getSecretGroup() <= matcher.groupCount())
+                    ? rule.getSecretGroup()
+                    : 0;
+
+            markerStart = region.offset() + offset + matcher.start(groupIndex);
+            markerEnd = region.offset() + offset + matcher.end(groupIndex);
+        } else {
+            markerStart = origin.markerStart();
+            markerEnd = origin.markerEnd();
+        }
+
+        findings.add(new Finding(rule, depth, origin == null ? null : origin.encoding(), secretCandidate, fullMatch,
+                MessagePart.RESPONSE_BODY, markerStart, markerEnd, 0, 0));
+        stats.findings.increment();
     }
 
-    private AuditIssue createAuditIssue(GitleaksRule rule, String secret, String fullMatch, Matcher matcher,
-            HttpRequestResponse baseReq, int depth, List<Marker> contextMarkers) {
+    private AuditIssue createAuditIssue(Finding finding, String fingerprint, HttpRequestResponse baseReq,
+            int redactionLevel) {
+        GitleaksRule rule = finding.rule();
+        int depth = finding.depth();
 
-        String redacted = applyRedaction(fullMatch, settings.getRedactionLevel());
+        String redacted = applyRedaction(finding.fullMatch(), redactionLevel);
         String displayMatch = escapeHtml(redacted);
 
-        String description = rule.getDescription() + "<br><br><b>Match:</b><br><pre>" + displayMatch + "</pre>";
+        String location = finding.part() == MessagePart.RESPONSE_BODY ? "" : " (" + finding.part().label() + ")";
+        String description = rule.getDescription() + "<br><br><b>Match" + location + ":</b><br><pre>" + displayMatch
+                + "</pre>";
 
         if (depth > 0) {
-            description = rule.getDescription() + "<br><br><b>Match found in Base64 decoded layer (Depth "
-                    + depth + "):</b><br><pre>" + displayMatch + "</pre>";
+            description = rule.getDescription() + "<br><br><b>Match found in " + escapeHtml(finding.encoding())
+                    + " decoded layer (Depth " + depth + ")" + location + ":</b><br><pre>" + displayMatch + "</pre>";
         }
 
-        List<Marker> markers;
-        if (depth == 0) {
-            int groupIndex = (rule.getSecretGroup() > 0 && rule.getSecretGroup() <= matcher.groupCount())
-                    ? rule.getSecretGroup()
-                    : 0;
+        description += IssueUtils.formatFingerprint(fingerprint);
+        if (finding.line() > 0)
+            description += IssueUtils.formatLocation(finding.part().label(), finding.line(), finding.column());
 
-            int bodyOffset = baseReq.response().bodyOffset();
-            markers = List.of(Marker.marker(
-                    bodyOffset + matcher.start(groupIndex),
-                    bodyOffset + matcher.end(groupIndex)));
-        } else {
-            markers = contextMarkers;
-        }
+        int offset = finding.part() == MessagePart.RESPONSE_BODY ? baseReq.response().bodyOffset() : 0;
+        List<Marker> markers = List.of(Marker.marker(
+                offset + finding.markerStart(),
+                offset + finding.markerEnd()));
+        HttpRequestResponse marked = finding.part().isRequest()
+                ? baseReq.withRequestMarkers(markers)
+                : baseReq.withResponseMarkers(markers);
 
         AuditIssue issue = AuditIssue.auditIssue(
                 "Secret leakage: " + rule.getId(),
@@ -296,18 +1405,25 @@ public class GitleaksScanCheck implements PassiveScanCheck {
                 rule.getDescription(),
                 ISSUE_BACKGROUND,
                 AuditIssueSeverity.HIGH,
-                baseReq.withResponseMarkers(markers));
+                marked);
 
         return issue;
     }
 
-    private boolean isAllowed(List<GitleaksAllowlist> allowlists, String secret, String fullMatch, String line,
-            String filePath, String contextName) {
-        if (allowlists == null || allowlists.isEmpty())
-            return false;
+    private static boolean allowedByAny(List<GitleaksAllowlist> allowlists, String secret, String fullMatch,
+            Supplier<? extends CharSequence> line, Consumer<String> logger) {
+        for (GitleaksAllowlist allowlist : allowlists) {
+            if (allowlist.isContentAllowed(secret, fullMatch, line, logger))
+                return true;
+        }
+        return false;
+    }
+
+    private boolean isAllowed(List<GitleaksAllowlist> allowlists, String secret, String fullMatch,
+            Supplier<? extends CharSequence> line, String contextName, boolean debug) {
         for (GitleaksAllowlist allowlist : allowlists) {
-            if (allowlist.isAllowed(secret, fullMatch, line, filePath)) {
-                if (settings.isDebugEnabled()) {
+            if (allowlist.isContentAllowed(secret, fullMatch, line, null)) {
+                if (debug) {
                     logging.logToOutput(String.format("[%s Allowlist] IGNORED secret '%s' due to allowlist: %s",
                             contextName, secret, allowlist.toString()));
                 }
@@ -345,55 +1461,35 @@ public class GitleaksScanCheck implements PassiveScanCheck {
                 .replace("\\\\n", "\n");
     }
 
-    private String tryDecode(String s) {
-        try {
-            byte[] bytes = (s.contains("-") || s.contains("_"))
-                    ? java.util.Base64.getUrlDecoder().decode(s)
-                    : java.util.Base64.getDecoder().decode(s);
-            return new String(bytes);
-        } catch (IllegalArgumentException e) {
-            return null;
+    /**
+     * The line around a match, located on first use through the line index of
+     * the body and cut to {@code radius} characters on each side, so a match in
+     * a minified single-line body does not drag the whole body through the line
+     * allowlists and the inline {@code gitleaks:allow} check.
+     */
+    private static final class LineContext implements Supplier<ByteText> {
+        private final ByteText body;
+        private final int start;
+        private final int end;
+        private final int radius;
+        private ByteText line;
+
+        LineContext(ByteText body, int start, int end, int radius) {
+            this.body = body;
+            this.start = start;
+            this.end = end;
+            this.radius = radius;
         }
-    }
-
-    private boolean isPrintable(String s) {
-        if (s == null || s.isEmpty())
-            return false;
-
-        int controlChars = 0;
-        int len = s.length();
-
-        for (int i = 0; i < len; i++) {
-            char c = s.charAt(i);
-            if ((c < 32 && c != '\n' && c != '\r' && c != '\t') || c > 126) {
-                controlChars++;
-            }
-        }
-
-        return (double) controlChars / len < 0.3;
-    }
-
-    private String extractLine(String body, int start, int end) {
-        int lineStart = body.lastIndexOf('\n', start);
-        if (lineStart == -1)
-            lineStart = 0;
-        else
-            lineStart++;
-
-        int lineEnd = body.indexOf('\n', end);
-        if (lineEnd == -1)
-            lineEnd = body.length();
-
-        return body.substring(lineStart, lineEnd);
-    }
 
-    private Trie buildTrie(List<GitleaksRule> rules) {
-        Trie.TrieBuilder builder = Trie.builder().ignoreCase();
-        for (GitleaksRule rule : rules) {
-            for (String kw : rule.getKeywords()) {
-                builder.addKeyword(kw);
+        @Override
+        public ByteText get() {
+            if (line == null) {
+                LineIndex lines = body.lineIndex();
+                int lineStart = Math.max(lines.lineStart(start), start - radius);
+                int lineEnd = (int) Math.min(lines.lineEnd(end), (long) end + radius);
+                line = body.subSequence(lineStart, lineEnd);
             }
+            return line;
         }
-        return builder.build();
     }
 }
\ No newline at end of file
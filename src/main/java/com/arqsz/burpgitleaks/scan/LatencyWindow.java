@@ -0,0 +1,42 @@
+package com.arqsz.burpgitleaks.scan;
+
+import java.util.Arrays;
+
+/**
+ * The most recent latency samples, in milliseconds, kept in a ring buffer so
+ * the percentiles follow the current load instead of the whole session.
+ */
+public class LatencyWindow {
+
+    private static final int SIZE = 1024;
+
+    private final long[] samples = new long[SIZE];
+    private int count;
+    private int next;
+
+    public record Percentiles(long p50, long p95, long max) {
+    }
+
+    public synchronized void record(long millis) {
+        samples[next] = millis;
+        next = (next + 1) % SIZE;
+        count = Math.min(count + 1, SIZE);
+    }
+
+    public synchronized Percentiles percentiles() {
+        if (count == 0)
+            return new Percentiles(0, 0, 0);
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Percentiles(sorted[rank(50)], sorted[rank(95)], sorted[count - 1]);
+    }
+
+    private int rank(int percent) {
+        return Math.max(0, (int) Math.ceil(percent / 100.0 * count) - 1);
+    }
+
+    public synchronized void reset() {
+        count = 0;
+        next = 0;
+    }
+}
\ No newline at end of file
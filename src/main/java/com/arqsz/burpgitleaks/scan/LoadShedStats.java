@@ -0,0 +1,46 @@
+package com.arqsz.burpgitleaks.scan;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadShedStats {
+
+    private final LongAdder fastScans = new LongAdder();
+    private final LongAdder deepScans = new LongAdder();
+    private final LongAdder lateIssues = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public record Snapshot(long fastScans, long deepScans, long lateIssues, long dropped, int pending) {
+    }
+
+    void recordFastScan() {
+        fastScans.increment();
+    }
+
+    void recordDeferred() {
+        pending.incrementAndGet();
+    }
+
+    void recordDeepScan(int issues) {
+        pending.decrementAndGet();
+        deepScans.increment();
+        lateIssues.add(issues);
+    }
+
+    void recordDropped() {
+        pending.decrementAndGet();
+        dropped.increment();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(fastScans.sum(), deepScans.sum(), lateIssues.sum(), dropped.sum(), pending.get());
+    }
+
+    public void reset() {
+        fastScans.reset();
+        deepScans.reset();
+        lateIssues.reset();
+        dropped.reset();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.arqsz.burpgitleaks.scan;
+
+public enum MessagePart {
+    REQUEST_LINE("request line", true),
+    REQUEST_HEADERS("request headers", true),
+    REQUEST_BODY("request body", true),
+    RESPONSE_HEADERS("response headers", false),
+    RESPONSE_BODY("response body", false);
+
+    private final String label;
+    private final boolean request;
+
+    MessagePart(String label, boolean request) {
+        this.label = label;
+        this.request = request;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public boolean isRequest() {
+        return request;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.arqsz.burpgitleaks.scan;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import com.arqsz.burpgitleaks.config.GitleaksAllowlist;
+import com.arqsz.burpgitleaks.config.GitleaksRule;
+
+/**
+ * Everything the scan needs to know about the request path, resolved once per
+ * response: which rules apply to it, whether a global allowlist already allows
+ * every finding, and which allowlists still have to look at each match.
+ * {@link #signature()} identifies the decision for the result cache.
+ */
+final class PathDecision {
+
+    private final boolean allowed;
+    private final List<GitleaksAllowlist> globalChecks;
+    private final BitSet activeRules;
+    private final List<List<GitleaksAllowlist>> ruleChecks;
+    private final BitSet signature;
+
+    private PathDecision(boolean allowed, List<GitleaksAllowlist> globalChecks, BitSet activeRules,
+            List<List<GitleaksAllowlist>> ruleChecks, BitSet signature) {
+        this.allowed = allowed;
+        this.globalChecks = globalChecks;
+        this.activeRules = activeRules;
+        this.ruleChecks = ruleChecks;
+        this.signature = signature;
+    }
+
+    static PathDecision resolve(List<GitleaksRule> rules, List<GitleaksAllowlist> globalAllowlists, String path) {
+        BitSet signature = new BitSet();
+        int bit = 0;
+
+        boolean allowed = false;
+        List<GitleaksAllowlist> globalChecks = new ArrayList<>();
+        for (GitleaksAllowlist allowlist : globalAllowlists) {
+            GitleaksAllowlist.PathVerdict verdict = allowlist.verdictFor(path);
+            signature.set(bit + verdict.ordinal());
+            bit += GitleaksAllowlist.PathVerdict.values().length;
+
+            if (verdict == GitleaksAllowlist.PathVerdict.ALLOWED)
+                allowed = true;
+            else if (verdict == GitleaksAllowlist.PathVerdict.CONTENT)
+                globalChecks.add(allowlist);
+        }
+
+        BitSet activeRules = new BitSet(rules.size());
+        List<List<GitleaksAllowlist>> ruleChecks = new ArrayList<>(rules.size());
+        for (int i = 0; i < rules.size(); i++) {
+            GitleaksRule rule = rules.get(i);
+            boolean active = rule.getPathRegex() == null || rule.getPathRegex().matcher(path).find();
+            List<GitleaksAllowlist> checks = Collections.emptyList();
+
+            if (active && rule.getRegex() != null) {
+                checks = new ArrayList<>();
+                List<GitleaksAllowlist> allowlists = rule.getAllowlists();
+                for (int j = 0; j < allowlists.size() && active; j++) {
+                    GitleaksAllowlist.PathVerdict verdict = allowlists.get(j).verdictFor(path);
+                    if (verdict == GitleaksAllowlist.PathVerdict.ALLOWED) {
+                        active = false;
+                    } else if (verdict == GitleaksAllowlist.PathVerdict.CONTENT) {
+                        checks.add(allowlists.get(j));
+                        signature.set(bit + 1 + j);
+                    }
+                }
+            }
+
+            if (active)
+                activeRules.set(i);
+            signature.set(bit, active);
+            bit += rule.getAllowlists().size() + 1;
+            ruleChecks.add(checks);
+        }
+
+        return new PathDecision(allowed, globalChecks, activeRules, ruleChecks, signature);
+    }
+
+    /**
+     * True when no finding can be reported from the response body, either
+     * because a global allowlist covers the path or because no content rule
+     * applies to it.
+     */
+    boolean skipsContent(List<GitleaksRule> rules) {
+        if (allowed)
+            return true;
+        for (int i = activeRules.nextSetBit(0); i >= 0; i = activeRules.nextSetBit(i + 1)) {
+            if (rules.get(i).getRegex() != null)
+                return false;
+        }
+        return true;
+    }
+
+    boolean isAllowed() {
+        return allowed;
+    }
+
+    boolean isActive(int ruleIndex) {
+        return activeRules.get(ruleIndex);
+    }
+
+    List<GitleaksAllowlist> globalChecks() {
+        return globalChecks;
+    }
+
+    List<GitleaksAllowlist> ruleChecks(int ruleIndex) {
+        return ruleChecks.get(ruleIndex);
+    }
+
+    BitSet signature() {
+        return signature;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.arqsz.burpgitleaks.scan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-rule scan counters, keyed by rule id so they survive configuration
+ * reloads. Updated concurrently by every scanner thread.
+ */
+public class RuleProfiler {
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public static class Counters {
+        final LongAdder candidates = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAdder bytesScanned = new LongAdder();
+        final LongAdder matches = new LongAdder();
+        final LongAdder entropyRejects = new LongAdder();
+        final LongAdder allowlistRejects = new LongAdder();
+        final LongAdder findings = new LongAdder();
+
+        private void reset() {
+            candidates.reset();
+            nanos.reset();
+            bytesScanned.reset();
+            matches.reset();
+            entropyRejects.reset();
+            allowlistRejects.reset();
+            findings.reset();
+        }
+    }
+
+    public record Snapshot(String ruleId, long candidates, long nanos, long bytesScanned, long matches,
+            long entropyRejects, long allowlistRejects, long findings) {
+    }
+
+    public Counters forRule(String ruleId) {
+        return counters.computeIfAbsent(ruleId, id -> new Counters());
+    }
+
+    public List<Snapshot> snapshot() {
+        List<Snapshot> result = new ArrayList<>(counters.size());
+        counters.forEach((id, c) -> result.add(new Snapshot(id, c.candidates.sum(), c.nanos.sum(),
+                c.bytesScanned.sum(), c.matches.sum(), c.entropyRejects.sum(), c.allowlistRejects.sum(),
+                c.findings.sum())));
+        return result;
+    }
+
+    public void reset() {
+        counters.values().forEach(Counters::reset);
+    }
+}
\ No newline at end of file
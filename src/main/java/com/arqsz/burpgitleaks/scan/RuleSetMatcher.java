@@ -0,0 +1,285 @@
+package com.arqsz.burpgitleaks.scan;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+
+import com.arqsz.burpgitleaks.config.GitleaksRule;
+import com.arqsz.burpgitleaks.utils.ByteText;
+
+/**
+ * Literal prefilter for a rule set: one linear pass over the content finds
+ * every occurrence of the literals ("anchors") the rules' matches must
+ * contain, which tells which rules can possibly match and where.
+ *
+ * This is not a combined regex automaton. re2j has no multi-pattern
+ * (RE2::Set style) API and an alternation of all rule regexes costs as much
+ * as running them one by one, so each candidate rule still runs its own
+ * regex, in windows around its anchor hits, to confirm and extract a match.
+ * Rules without any anchor always run theirs. Which anchors a rule needs is
+ * kept by its {@link AnchorIndex}.
+ *
+ * The anchors are compiled into a dense Aho-Corasick DFA over byte classes,
+ * folding case like the rest of the scan (ISO-8859-1, one character per
+ * byte), so the pass costs one table lookup per byte. Anchors with
+ * characters outside ISO-8859-1 can never occur in such content and are
+ * left out.
+ */
+public class RuleSetMatcher {
+
+    private static final int MAX_HITS_PER_ANCHOR = 4096;
+
+    private final AnchorIndex index;
+    private final List<AnchorIndex.Anchor> anchorList;
+    private final int[] byteClasses = new int[256];
+    private int classCount;
+    // Row offsets (state * classCount) of the next state, complemented when
+    // the next state reports anchors.
+    private int[] transitions;
+    private int[][] outputs;
+
+    public RuleSetMatcher(List<GitleaksRule> rules) {
+        this.index = new AnchorIndex(rules);
+        this.anchorList = index.anchors();
+        buildAutomaton();
+    }
+
+    public Hits match(CharSequence content) {
+        return match(content, 0, content.length());
+    }
+
+    /**
+     * Matches {@code content} between {@code from} and {@code to} only, as if
+     * the range were the whole content; hit positions and windows stay
+     * relative to the start of {@code content}.
+     */
+    public Hits match(CharSequence content, int from, int to) {
+        Hits hits = new Hits(from, to);
+
+        if (anchorList.isEmpty())
+            return hits;
+
+        int[] next = transitions;
+        int[] classes = byteClasses;
+        int state = 0;
+        if (content instanceof ByteText bytes) {
+            for (int i = from; i < to; i++) {
+                state = next[state + classes[bytes.byteAt(i)]];
+                if (state < 0) {
+                    state = ~state;
+                    report(hits, state, i + 1);
+                }
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                char c = content.charAt(i);
+                state = next[state + (c < 256 ? classes[c] : 0)];
+                if (state < 0) {
+                    state = ~state;
+                    report(hits, state, i + 1);
+                }
+            }
+        }
+
+        BitSet constrained = index.constrainedRules();
+        if (!constrained.isEmpty()) {
+            BitSet unmet = (BitSet) constrained.clone();
+            unmet.andNot(hits.satisfied);
+            hits.candidates.andNot(unmet);
+        }
+        return hits;
+    }
+
+    private void report(Hits hits, int state, int end) {
+        for (int id : outputs[state / classCount]) {
+            AnchorIndex.Anchor anchor = anchorList.get(id);
+            if (!anchor.rules().isEmpty()) {
+                hits.candidates.or(anchor.rules());
+                hits.record(id, end - anchor.literal().length(), end);
+            }
+            hits.satisfied.or(anchor.requiredBy());
+        }
+    }
+
+    /**
+     * Builds the goto trie of the anchors, then turns it into a complete
+     * transition table in breadth-first order, where each missing edge
+     * follows the failure link of its state.
+     */
+    private void buildAutomaton() {
+        int[] classOf = new int[256];
+        classCount = 1;
+        for (AnchorIndex.Anchor anchor : anchorList) {
+            for (char c : anchor.literal().toCharArray()) {
+                if (c < 256 && classOf[c] == 0)
+                    classOf[c] = classCount++;
+            }
+        }
+        for (int b = 0; b < 256; b++) {
+            byteClasses[b] = classOf[Character.toLowerCase((char) b) & 0xFF];
+        }
+
+        List<int[]> trie = new ArrayList<>();
+        List<int[]> emits = new ArrayList<>();
+        trie.add(newRow());
+        emits.add(new int[0]);
+        for (AnchorIndex.Anchor anchor : anchorList) {
+            String literal = anchor.literal();
+            if (literal.isEmpty() || literal.chars().anyMatch(c -> c >= 256))
+                continue;
+            int state = 0;
+            for (char c : literal.toCharArray()) {
+                int cls = classOf[c];
+                if (trie.get(state)[cls] < 0) {
+                    trie.get(state)[cls] = trie.size();
+                    trie.add(newRow());
+                    emits.add(new int[0]);
+                }
+                state = trie.get(state)[cls];
+            }
+            emits.set(state, append(emits.get(state), anchor.id()));
+        }
+
+        int states = trie.size();
+        int[][] delta = new int[states][];
+        int[] fail = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            int[] row = new int[classCount];
+            for (int cls = 0; cls < classCount; cls++) {
+                int child = trie.get(s)[cls];
+                if (child < 0) {
+                    row[cls] = s == 0 ? 0 : delta[fail[s]][cls];
+                    continue;
+                }
+                row[cls] = child;
+                fail[child] = s == 0 ? 0 : delta[fail[s]][cls];
+                emits.set(child, concat(emits.get(child), emits.get(fail[child])));
+                queue.add(child);
+            }
+            delta[s] = row;
+        }
+
+        transitions = new int[states * classCount];
+        outputs = new int[states][];
+        for (int s = 0; s < states; s++) {
+            outputs[s] = emits.get(s);
+            for (int cls = 0; cls < classCount; cls++) {
+                int target = delta[s][cls];
+                int offset = target * classCount;
+                transitions[s * classCount + cls] = emits.get(target).length > 0 ? ~offset : offset;
+            }
+        }
+    }
+
+    private int[] newRow() {
+        int[] row = new int[classCount];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int[] append(int[] values, int value) {
+        int[] result = Arrays.copyOf(values, values.length + 1);
+        result[values.length] = value;
+        return result;
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        if (second.length == 0)
+            return first;
+        int[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    /**
+     * Result of a single pass: the candidate rules plus the positions of every
+     * anchor hit, from which per-rule scan windows are derived.
+     */
+    public class Hits {
+        private final int from;
+        private final int to;
+        private final BitSet candidates;
+        private final BitSet satisfied = new BitSet();
+        private final int[][] positions;
+        private final int[] sizes;
+
+        private Hits(int from, int to) {
+            this.from = from;
+            this.to = to;
+            this.candidates = (BitSet) index.unanchoredRules().clone();
+            this.positions = new int[anchorList.size()][];
+            this.sizes = new int[anchorList.size()];
+        }
+
+        public BitSet candidates() {
+            return candidates;
+        }
+
+        /**
+         * Returns the merged windows {@code [start0, end0, start1, end1, ...]}
+         * covering every region within {@code radius} characters of an anchor hit
+         * of the given rule, or {@code null} when the rule has to scan the whole
+         * matched range.
+         */
+        public int[] windows(int ruleIndex, int radius) {
+            int[] ids = index.anchorsOf(ruleIndex);
+            if (ids.length == 0)
+                return null;
+
+            int total = 0;
+            for (int id : ids) {
+                if (sizes[id] > MAX_HITS_PER_ANCHOR * 2)
+                    return null;
+                total += sizes[id] / 2;
+            }
+
+            long[] spans = new long[total];
+            int n = 0;
+            for (int id : ids) {
+                for (int i = 0; i < sizes[id]; i += 2) {
+                    spans[n++] = ((long) positions[id][i] << 32) | positions[id][i + 1];
+                }
+            }
+            Arrays.sort(spans);
+
+            int[] windows = new int[total * 2];
+            int count = 0;
+            // Spans are packed as start << 32 | end, so they sort by start.
+            for (long span : spans) {
+                int start = (int) Math.max(from, (span >>> 32) - radius);
+                int end = (int) Math.min(to, (span & 0xFFFFFFFFL) + radius);
+                if (count > 0 && start <= windows[count - 1]) {
+                    windows[count - 1] = Math.max(windows[count - 1], end);
+                } else {
+                    windows[count++] = start;
+                    windows[count++] = end;
+                }
+            }
+            return Arrays.copyOf(windows, count);
+        }
+
+        private void record(int anchorId, int start, int end) {
+            int size = sizes[anchorId];
+            if (size > MAX_HITS_PER_ANCHOR * 2)
+                return;
+
+            int[] list = positions[anchorId];
+            if (list == null) {
+                list = new int[8];
+                positions[anchorId] = list;
+            } else if (size == list.length) {
+                list = Arrays.copyOf(list, size * 2);
+                positions[anchorId] = list;
+            }
+            list[size] = start;
+            list[size + 1] = end;
+            sizes[anchorId] = size + 2;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.arqsz.burpgitleaks.scan;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class ScanBudgetStats {
+
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+    private final LongAdder finished = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public record Snapshot(long timedOut, long deferred, long finished, long dropped) {
+    }
+
+    void recordTimeout() {
+        timedOut.increment();
+    }
+
+    void recordDeferred() {
+        deferred.increment();
+    }
+
+    void recordFinished() {
+        finished.increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(timedOut.sum(), deferred.sum(), finished.sum(), dropped.sum());
+    }
+
+    public void reset() {
+        timedOut.reset();
+        deferred.reset();
+        finished.reset();
+        dropped.reset();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.arqsz.burpgitleaks.scan;
+
+/**
+ * Per-response scan deadline, checked cooperatively between rules, between
+ * decoded layers and every few matches. The first check past the deadline
+ * records what was running at the time; every later check fails fast.
+ */
+final class ScanDeadline {
+
+    static final ScanDeadline NONE = new ScanDeadline(0, 0);
+
+    private final long start;
+    private final long budgetNanos;
+    private volatile String expiredIn;
+    private volatile long elapsedNanos;
+
+    private ScanDeadline(long start, long budgetNanos) {
+        this.start = start;
+        this.budgetNanos = budgetNanos;
+    }
+
+    static ScanDeadline start(int budgetMillis) {
+        return budgetMillis <= 0 ? NONE : new ScanDeadline(System.nanoTime(), budgetMillis * 1_000_000L);
+    }
+
+    boolean expired(String activity) {
+        if (budgetNanos == 0)
+            return false;
+        if (expiredIn != null)
+            return true;
+
+        long elapsed = System.nanoTime() - start;
+        if (elapsed < budgetNanos)
+            return false;
+        synchronized (this) {
+            if (expiredIn == null) {
+                elapsedNanos = elapsed;
+                expiredIn = activity;
+            }
+        }
+        return true;
+    }
+
+    boolean isExpired() {
+        return expiredIn != null;
+    }
+
+    String expiredIn() {
+        return expiredIn;
+    }
+
+    long elapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,170 @@
+package com.arqsz.burpgitleaks.scan;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.arqsz.burpgitleaks.config.PluginSettings;
+import com.arqsz.burpgitleaks.config.PluginSettings.QueueOverflow;
+
+import burp.api.montoya.MontoyaApi;
+import burp.api.montoya.core.ByteArray;
+import burp.api.montoya.http.HttpService;
+import burp.api.montoya.http.handler.HttpResponseReceived;
+import burp.api.montoya.http.message.requests.HttpRequest;
+
+/**
+ * Cheap checks run on Burp's callback thread before a response is queued,
+ * so traffic that cannot yield a finding never pins memory in the queue.
+ *
+ * Body checks are skipped while request or response headers are scanned,
+ * since those parts may hold a secret whatever the body is. Scope decisions
+ * are cached by host and path, as Burp scope rules can match on the path;
+ * the cache is dropped whenever the scope changes.
+ */
+public class ScanGate {
+
+    private static final int SNIFF_BYTES = 512;
+    private static final int MAX_CACHED_SCOPES = 4096;
+
+    public enum Reason {
+        OUT_OF_SCOPE("out of scope"),
+        EMPTY("empty"),
+        TOO_LARGE("too large"),
+        MIME_TYPE("media"),
+        BINARY("binary");
+
+        private final String label;
+
+        Reason(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    public record Stats(long passed, Map<Reason, Long> rejected, long nanos) {
+    }
+
+    private final MontoyaApi api;
+    private final PluginSettings settings;
+    private final Map<String, Boolean> scopeCache = new ConcurrentHashMap<>();
+    private final LongAdder passed = new LongAdder();
+    private final Map<Reason, LongAdder> rejected = new EnumMap<>(Reason.class);
+    private final LongAdder nanos = new LongAdder();
+
+    public ScanGate(MontoyaApi api, PluginSettings settings) {
+        this.api = api;
+        this.settings = settings;
+        for (Reason reason : Reason.values()) {
+            rejected.put(reason, new LongAdder());
+        }
+        api.scope().registerScopeChangeHandler(change -> scopeCache.clear());
+    }
+
+    /**
+     * Returns why {@code response} should not be scanned, or null if it
+     * should be.
+     */
+    public Reason check(HttpResponseReceived response) {
+        long start = System.nanoTime();
+        Reason reason = evaluate(response, settings.snapshot());
+        nanos.add(System.nanoTime() - start);
+
+        if (reason == null)
+            passed.increment();
+        else
+            rejected.get(reason).increment();
+        return reason;
+    }
+
+    private Reason evaluate(HttpResponseReceived response, PluginSettings.Snapshot config) {
+        boolean bodyOnly = !config.coverage().scansMessageParts();
+        if (bodyOnly) {
+            if (response.body().length() == 0)
+                return Reason.EMPTY;
+            PluginSettings.Queue queue = config.queue();
+            if (queue.overflow() != QueueOverflow.TRUNCATE
+                    && ScanQueue.sizeOf(response.initiatingRequest(), response) > queue.budgetMb() * 1024L * 1024)
+                return Reason.TOO_LARGE;
+            if (isIgnoredMimeType(response))
+                return Reason.MIME_TYPE;
+        }
+
+        if (config.coverage().inScopeOnly() && !isInScope(response.initiatingRequest()))
+            return Reason.OUT_OF_SCOPE;
+
+        if (bodyOnly && looksBinary(response.body()))
+            return Reason.BINARY;
+        return null;
+    }
+
+    /**
+     * Trusts a stated text type as is. Only a stated media type is confirmed
+     * by sniffing the body, so a script served as an image still reaches the
+     * scanner, which filters on the inferred type.
+     */
+    private static boolean isIgnoredMimeType(HttpResponseReceived response) {
+        return GitleaksScanCheck.IGNORED_MIME_TYPES.contains(response.statedMimeType())
+                && GitleaksScanCheck.IGNORED_MIME_TYPES.contains(response.inferredMimeType());
+    }
+
+    public boolean isInScope(HttpRequest request) {
+        HttpService service = request.httpService();
+        String key = (service.secure() ? "https://" : "http://") + service.host() + ":" + service.port()
+                + request.pathWithoutQuery();
+        Boolean inScope = scopeCache.get(key);
+        if (inScope == null) {
+            inScope = api.scope().isInScope(request.url());
+            if (scopeCache.size() >= MAX_CACHED_SCOPES)
+                scopeCache.clear();
+            scopeCache.put(key, inScope);
+        }
+        return inScope;
+    }
+
+    /**
+     * Samples the start of the body: more than one byte in ten being NUL or
+     * a control character other than whitespace marks it binary. UTF-8 and
+     * Latin-1 text passes, with or without a BOM. UTF-16 is rejected, BOM or
+     * not, as the scanner matches rules against the raw bytes and would not
+     * find anything in it.
+     */
+    static boolean looksBinary(ByteArray body) {
+        if (hasUtf16ByteOrderMark(body))
+            return true;
+
+        int sample = Math.min(body.length(), SNIFF_BYTES);
+        int control = 0;
+        for (int i = 0; i < sample; i++) {
+            int b = body.getByte(i) & 0xFF;
+            if (b < 0x20 && b != '\t' && b != '\n' && b != '\r' && b != '\f' && b != 0x1B)
+                control++;
+        }
+        return control * 10 > sample;
+    }
+
+    private static boolean hasUtf16ByteOrderMark(ByteArray body) {
+        if (body.length() < 2)
+            return false;
+        int first = body.getByte(0) & 0xFF;
+        int second = body.getByte(1) & 0xFF;
+        return (first == 0xFE && second == 0xFF) || (first == 0xFF && second == 0xFE);
+    }
+
+    public Stats stats() {
+        Map<Reason, Long> counts = new EnumMap<>(Reason.class);
+        rejected.forEach((reason, count) -> counts.put(reason, count.sum()));
+        return new Stats(passed.sum(), counts, nanos.sum());
+    }
+
+    public void resetStats() {
+        passed.reset();
+        rejected.values().forEach(LongAdder::reset);
+        nanos.reset();
+    }
+}
\ No newline at end of file
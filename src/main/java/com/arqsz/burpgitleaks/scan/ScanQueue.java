@@ -0,0 +1,530 @@
+package com.arqsz.burpgitleaks.scan;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import com.arqsz.burpgitleaks.config.PluginSettings;
+import com.arqsz.burpgitleaks.config.PluginSettings.QueueOverflow;
+
+import burp.api.montoya.http.message.HttpRequestResponse;
+import burp.api.montoya.http.message.requests.HttpRequest;
+import burp.api.montoya.http.message.responses.HttpResponse;
+import burp.api.montoya.logging.Logging;
+
+/**
+ * Bounded priority queue of messages waiting to be scanned, drained by a
+ * resizable set of worker threads.
+ *
+ * Both the number of queued messages and the bytes they pin are capped. When
+ * a new message would exceed either cap the {@link QueueOverflow} policy
+ * decides what gives way, so heavy proxying or a crawl cannot grow the heap
+ * without limit. Offering never blocks the caller; {@link #put} waits for
+ * room instead, for batches that must not evict their own messages.
+ *
+ * Each message is due at its arrival time plus a delay for its lane, for
+ * being out of scope and for its size, and the message due first is scanned
+ * first. The delays double as aging: a message can only be overtaken by
+ * messages arriving less than {@link #MAX_DELAY_MILLIS} after it, so no lane
+ * starves. The deep lane holds the full scans owed to messages that were only
+ * scanned with the fast rule tier or ran out of time. Until it is due, a deep
+ * scan only runs when nothing else is queued, no other deep scan is running
+ * and the CPU is mostly idle; the lane's long delay caps how long it waits.
+ *
+ * The caps apply to every lane, but a new message only evicts messages of its
+ * own lane or a lower one, starting with the lowest, so Proxy traffic never
+ * pushes out a Repeater response or a manual rescan, and pending deep scans
+ * are the first to go.
+ *
+ * When the queue gets deeper or messages wait longer than the configured
+ * thresholds, the queue starts shedding load: {@link #isShedding()} tells the
+ * scan to fall back to the fast rule tier until both drop to half their
+ * threshold. Deep scans are left out of both figures, as they are meant to
+ * wait.
+ */
+public class ScanQueue {
+
+    static final int TRUNCATED_BODY_SIZE = 64 * 1024;
+
+    private static final long OUT_OF_SCOPE_DELAY_MILLIS = 3000;
+    private static final long DELAY_MILLIS_PER_MB = 1000;
+    private static final long MAX_SIZE_DELAY_MILLIS = 10_000;
+    static final long MAX_DELAY_MILLIS = Lane.DEEP.delayMillis + OUT_OF_SCOPE_DELAY_MILLIS + MAX_SIZE_DELAY_MILLIS;
+    /** Heap charged for a deferred job, whose message is kept outside the heap. */
+    static final long DEFERRED_JOB_BYTES = 512;
+    private static final double IDLE_CPU_LOAD = 0.5;
+    private static final long IDLE_POLL_MILLIS = 500;
+
+    /** Scan lanes, from highest to lowest priority. */
+    public enum Lane {
+        REPEATER("Repeater", 0),
+        MANUAL("Force Rescan", 250),
+        PROXY("Proxy", 2000),
+        DEEP("Deep scan", 60_000);
+
+        private final String label;
+        private final long delayMillis;
+
+        Lane(String label, long delayMillis) {
+            this.label = label;
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private record Job(HttpRequestResponse message, Consumer<HttpRequestResponse> scan, Runnable onDrop, Lane lane,
+            long bytes, long enqueued, long due, long sequence) {
+    }
+
+    public record LaneStats(int depth, LatencyWindow.Percentiles waiting) {
+    }
+
+    public record Stats(int depth, long queuedBytes, int workers, long accepted, long completed, long dropped,
+            long truncated, LatencyWindow.Percentiles latency, Map<Lane, LaneStats> lanes, boolean shedding,
+            long shedEpisodes) {
+    }
+
+    private final Logging logging;
+    private final BooleanSupplier cpuIdle;
+    private final PriorityQueue<Job> jobs = new PriorityQueue<>(
+            Comparator.comparingLong(Job::due).thenComparingLong(Job::sequence));
+    private final Set<Thread> threads = new HashSet<>();
+    private final Map<Lane, Integer> laneDepths = new EnumMap<>(Lane.class);
+    private long queuedBytes;
+    private long nextSequence;
+    private int targetWorkers;
+    private int capacity;
+    private long budgetBytes;
+    private QueueOverflow overflow;
+    private int nextWorkerId;
+    private boolean shutdown;
+    private boolean loadShedding;
+    private int shedDepth;
+    private long shedWaitMs;
+    private long configuredVersion = -1;
+    private int blockedPuts;
+    private int runningDeep;
+    private volatile boolean shedding;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder truncated = new LongAdder();
+    private final LongAdder shedEpisodes = new LongAdder();
+    private final LatencyWindow latency = new LatencyWindow();
+    private final Map<Lane, LatencyWindow> waits = new EnumMap<>(Lane.class);
+
+    public ScanQueue(Logging logging, PluginSettings settings) {
+        this(logging, settings, ScanQueue::isCpuIdle);
+    }
+
+    ScanQueue(Logging logging, PluginSettings settings, BooleanSupplier cpuIdle) {
+        this.logging = logging;
+        this.cpuIdle = cpuIdle;
+        for (Lane lane : Lane.values()) {
+            laneDepths.put(lane, 0);
+            waits.put(lane, new LatencyWindow());
+        }
+        configure(settings.snapshot());
+        settings.addChangeListener(this::configure);
+    }
+
+    /**
+     * Settings listeners run outside the settings lock, so two quick changes
+     * can arrive out of order; a snapshot older than the applied one is
+     * dropped.
+     */
+    private synchronized void configure(PluginSettings.Snapshot snapshot) {
+        if (snapshot.version() <= configuredVersion)
+            return;
+        configuredVersion = snapshot.version();
+        PluginSettings.Queue config = snapshot.queue();
+        capacity = Math.max(1, config.capacity());
+        budgetBytes = Math.max(1, config.budgetMb()) * 1024L * 1024;
+        overflow = config.overflow();
+        targetWorkers = Math.max(1, config.scanWorkers());
+        loadShedding = config.loadShedding();
+        shedDepth = Math.max(1, config.shedQueueDepth());
+        shedWaitMs = Math.max(1, config.shedWaitMs());
+        if (!loadShedding)
+            updateShedding(0, 0);
+        if (!threads.isEmpty())
+            startWorkers();
+        notifyAll();
+    }
+
+    /**
+     * Queues {@code message} for {@code scan}, possibly evicting queued
+     * messages or truncating this one. Returns false if the message was
+     * dropped instead.
+     */
+    public boolean offer(HttpRequestResponse message, Lane lane, boolean inScope,
+            Consumer<HttpRequestResponse> scan) {
+        return offer(message, lane, inScope, scan, () -> {
+        });
+    }
+
+    /**
+     * Like {@link #offer(HttpRequestResponse, Lane, boolean, Consumer)}, but
+     * runs {@code onDrop} instead of {@code scan} if the queued message is
+     * later evicted or discarded at shutdown, so callers waiting for the scan
+     * are not left hanging.
+     */
+    public boolean offer(HttpRequestResponse message, Lane lane, boolean inScope,
+            Consumer<HttpRequestResponse> scan, Runnable onDrop) {
+        long bytes = sizeOf(message);
+        List<Job> evicted = new ArrayList<>();
+        try {
+            return enqueue(message, lane, inScope, scan, onDrop, bytes, evicted);
+        } finally {
+            evicted.forEach(this::discard);
+        }
+    }
+
+    /**
+     * Queues deferred work in the deep lane, typically the full scan of a
+     * message kept outside the heap, so only {@link #DEFERRED_JOB_BYTES} count
+     * against the memory budget. {@code onDrop} runs instead of {@code task} if
+     * the job is evicted or discarded at shutdown. Returns false if the job
+     * was dropped instead.
+     */
+    public boolean defer(Runnable task, Runnable onDrop) {
+        List<Job> evicted = new ArrayList<>();
+        try {
+            return enqueue(null, Lane.DEEP, true, message -> task.run(), onDrop, DEFERRED_JOB_BYTES, evicted);
+        } finally {
+            evicted.forEach(this::discard);
+        }
+    }
+
+    /**
+     * Queues {@code message} like {@link #offer}, but waits for room rather
+     * than evict messages of its own lane or a higher one, so a batch larger
+     * than the queue holds back instead of pushing out its own earlier
+     * messages. Lower lanes are still evicted. Returns false if the message
+     * is dropped anyway, being over the whole budget, or the queue shuts down.
+     */
+    public boolean put(HttpRequestResponse message, Lane lane, boolean inScope,
+            Consumer<HttpRequestResponse> scan, Runnable onDrop) throws InterruptedException {
+        long bytes = sizeOf(message);
+        List<Job> evicted = new ArrayList<>();
+        try {
+            synchronized (this) {
+                blockedPuts++;
+                try {
+                    while (!shutdown && bytes <= budgetBytes && !fitsEvictingBelow(lane, bytes)) {
+                        wait();
+                    }
+                } finally {
+                    blockedPuts--;
+                }
+                return enqueue(message, lane, inScope, scan, onDrop, bytes, evicted);
+            }
+        } finally {
+            evicted.forEach(this::discard);
+        }
+    }
+
+    private synchronized boolean enqueue(HttpRequestResponse message, Lane lane, boolean inScope,
+            Consumer<HttpRequestResponse> scan, Runnable onDrop, long bytes, List<Job> evicted) {
+        if (shutdown)
+            return false;
+
+        if (message != null && overflow == QueueOverflow.TRUNCATE && !fits(bytes)) {
+            HttpRequestResponse shorter = truncate(message);
+            if (shorter != message) {
+                message = shorter;
+                bytes = sizeOf(shorter);
+                truncated.increment();
+            }
+        }
+
+        if (bytes > budgetBytes) {
+            dropped.increment();
+            return false;
+        }
+
+        while (!fits(bytes)) {
+            Job victim = evict(lane, bytes);
+            dropped.increment();
+            if (victim == null)
+                return false;
+            evicted.add(victim);
+        }
+
+        long now = System.nanoTime();
+        long delay = lane.delayMillis + (inScope ? 0 : OUT_OF_SCOPE_DELAY_MILLIS)
+                + Math.min(MAX_SIZE_DELAY_MILLIS, bytes * DELAY_MILLIS_PER_MB / (1024 * 1024));
+        jobs.add(new Job(message, scan, onDrop, lane, bytes, now, now + TimeUnit.MILLISECONDS.toNanos(delay),
+                nextSequence++));
+        laneDepths.merge(lane, 1, Integer::sum);
+        queuedBytes += bytes;
+        accepted.increment();
+        startWorkers();
+        signal();
+        return true;
+    }
+
+    /** Wakes a worker, or everyone while a {@link #put} waits on the same monitor. */
+    private void signal() {
+        if (blockedPuts > 0)
+            notifyAll();
+        else
+            notify();
+    }
+
+    /**
+     * Whether Proxy traffic should currently be scanned with the fast tier.
+     */
+    public boolean isShedding() {
+        return shedding;
+    }
+
+    private void updateShedding(int depth, long waitMs) {
+        if (!shedding && loadShedding && (depth >= shedDepth || waitMs >= shedWaitMs)) {
+            shedding = true;
+            shedEpisodes.increment();
+            logging.logToOutput(String.format("Scan queue overloaded (%d queued, last scan waited %d ms): "
+                    + "scanning Proxy traffic with the fast rule tier", depth, waitMs));
+        } else if (shedding && (!loadShedding || (depth <= shedDepth / 2 && waitMs <= shedWaitMs / 2))) {
+            shedding = false;
+            logging.logToOutput(String.format("Scan queue load dropped (%d queued, %d ms wait): "
+                    + "resuming full scans", depth, waitMs));
+        }
+    }
+
+    private boolean fits(long bytes) {
+        return jobs.size() < capacity && queuedBytes + bytes <= budgetBytes;
+    }
+
+    /** Whether evicting messages of lanes below {@code lane} alone makes room for {@code bytes}. */
+    private boolean fitsEvictingBelow(Lane lane, long bytes) {
+        int count = jobs.size();
+        long queued = queuedBytes;
+        for (Job job : jobs) {
+            if (job.lane().ordinal() > lane.ordinal()) {
+                count--;
+                queued -= job.bytes();
+            }
+        }
+        return count < capacity && queued + bytes <= budgetBytes;
+    }
+
+    /**
+     * Removes one queued message to make room for a new one of {@code bytes}
+     * in {@code lane}. The victim comes from the lowest lane holding messages,
+     * never from a lane above {@code lane}, and is picked within that lane by
+     * the overflow policy. Returns the removed message, or null if the new
+     * message should be dropped instead.
+     */
+    private Job evict(Lane lane, long bytes) {
+        Job victim = null;
+        for (Job job : jobs) {
+            if (job.lane().ordinal() < lane.ordinal())
+                continue;
+            boolean better;
+            if (victim == null || job.lane() != victim.lane())
+                better = victim == null || job.lane().ordinal() > victim.lane().ordinal();
+            else if (overflow == QueueOverflow.DROP_LARGEST)
+                better = job.bytes() > victim.bytes();
+            else
+                better = job.sequence() < victim.sequence();
+            if (better)
+                victim = job;
+        }
+        if (victim == null || (overflow == QueueOverflow.DROP_LARGEST && victim.lane() == lane
+                && victim.bytes() < bytes))
+            return null;
+
+        jobs.remove(victim);
+        laneDepths.merge(victim.lane(), -1, Integer::sum);
+        queuedBytes -= victim.bytes();
+        return victim;
+    }
+
+    /** Tells the owner of a message that left the queue unscanned. Called without the lock held. */
+    private void discard(Job job) {
+        try {
+            job.onDrop().run();
+        } catch (Exception e) {
+            logging.logToError("Error discarding queued secret scan: " + e.getMessage());
+        }
+    }
+
+    private static HttpRequestResponse truncate(HttpRequestResponse message) {
+        HttpResponse response = message.response();
+        if (response == null || response.body().length() <= TRUNCATED_BODY_SIZE)
+            return message;
+        HttpResponse shorter = response.withBody(response.body().subArray(0, TRUNCATED_BODY_SIZE));
+        return HttpRequestResponse.httpRequestResponse(message.request(), shorter);
+    }
+
+    private static long sizeOf(HttpRequestResponse message) {
+        return sizeOf(message.request(), message.response());
+    }
+
+    /**
+     * Bytes a message is charged against the budget; {@link ScanGate} uses
+     * the same measure to reject messages the queue would drop.
+     */
+    static long sizeOf(HttpRequest request, HttpResponse response) {
+        long size = request.toByteArray().length();
+        if (response != null)
+            size += response.toByteArray().length();
+        return size;
+    }
+
+    private void startWorkers() {
+        while (threads.size() < targetWorkers) {
+            Thread thread = new Thread(this::work, "gitleaks-scan-worker-" + (++nextWorkerId));
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    private void work() {
+        while (true) {
+            Job job = null;
+            long waited;
+            synchronized (this) {
+                try {
+                    while (!shutdown && threads.size() <= targetWorkers && (job = next()) == null) {
+                        updateShedding(0, 0);
+                        if (jobs.isEmpty())
+                            wait();
+                        else
+                            wait(deepPollMillis());
+                    }
+                } catch (InterruptedException e) {
+                    threads.remove(Thread.currentThread());
+                    return;
+                }
+                if (shutdown || threads.size() > targetWorkers) {
+                    threads.remove(Thread.currentThread());
+                    return;
+                }
+                if (job == jobs.peek())
+                    jobs.poll();
+                else
+                    jobs.remove(job);
+                laneDepths.merge(job.lane(), -1, Integer::sum);
+                queuedBytes -= job.bytes();
+                if (job.lane() == Lane.DEEP)
+                    runningDeep++;
+                if (blockedPuts > 0)
+                    notifyAll();
+                waited = (System.nanoTime() - job.enqueued()) / 1_000_000;
+                updateShedding(jobs.size() - laneDepths.get(Lane.DEEP), job.lane() == Lane.DEEP ? 0 : waited);
+            }
+            waits.get(job.lane()).record(waited);
+
+            try {
+                job.scan().accept(job.message());
+            } catch (Exception e) {
+                logging.logToError("Error running secret scan: " + e.getMessage());
+            }
+            completed.increment();
+            if (job.lane() == Lane.DEEP) {
+                synchronized (this) {
+                    runningDeep--;
+                }
+            } else {
+                latency.record((System.nanoTime() - job.enqueued()) / 1_000_000);
+            }
+        }
+    }
+
+    /**
+     * Picks the job to run next: the one due first, unless that is a deep
+     * scan not due yet. Other queued work then goes first, and the deep scan
+     * only runs if no other deep scan is running and the CPU is idle. Returns
+     * null if nothing should run now.
+     */
+    private Job next() {
+        Job head = jobs.peek();
+        if (head == null || head.lane() != Lane.DEEP || System.nanoTime() - head.due() >= 0)
+            return head;
+        if (jobs.size() > laneDepths.get(Lane.DEEP)) {
+            Job first = null;
+            for (Job job : jobs) {
+                if (job.lane() != Lane.DEEP && (first == null || jobs.comparator().compare(job, first) < 0))
+                    first = job;
+            }
+            return first;
+        }
+        return runningDeep == 0 && cpuIdle.getAsBoolean() ? head : null;
+    }
+
+    /** How long a worker waits before checking again whether the first deep scan may run. */
+    private long deepPollMillis() {
+        long untilDue = TimeUnit.NANOSECONDS.toMillis(jobs.peek().due() - System.nanoTime());
+        return Math.max(1, Math.min(IDLE_POLL_MILLIS, untilDue));
+    }
+
+    /**
+     * Whether the machine has spare CPU: below half the system load, or half
+     * the cores busy on average where the load is not available. Counts as
+     * idle when neither can be measured, leaving the deep lane's delay as the
+     * only bound.
+     */
+    private static boolean isCpuIdle() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean platform) {
+            double load = platform.getCpuLoad();
+            return load < 0 || load < IDLE_CPU_LOAD;
+        }
+        double average = os.getSystemLoadAverage();
+        return average < 0 || average < os.getAvailableProcessors() * IDLE_CPU_LOAD;
+    }
+
+    public synchronized Stats stats() {
+        Map<Lane, LaneStats> lanes = new EnumMap<>(Lane.class);
+        for (Lane lane : Lane.values()) {
+            lanes.put(lane, new LaneStats(laneDepths.get(lane), waits.get(lane).percentiles()));
+        }
+        return new Stats(jobs.size(), queuedBytes, threads.size(), accepted.sum(), completed.sum(), dropped.sum(),
+                truncated.sum(), latency.percentiles(), lanes, shedding, shedEpisodes.sum());
+    }
+
+    public void resetStats() {
+        accepted.reset();
+        completed.reset();
+        dropped.reset();
+        truncated.reset();
+        shedEpisodes.reset();
+        latency.reset();
+        waits.values().forEach(LatencyWindow::reset);
+    }
+
+    public void shutdown() {
+        List<Job> discarded;
+        synchronized (this) {
+            shutdown = true;
+            discarded = new ArrayList<>(jobs);
+            jobs.clear();
+            laneDepths.replaceAll((lane, depth) -> 0);
+            queuedBytes = 0;
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+            notifyAll();
+        }
+        discarded.forEach(this::discard);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.arqsz.burpgitleaks.scan;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.arqsz.burpgitleaks.config.GitleaksRule;
+
+/**
+ * LRU cache of raw scan results, keyed by a hash of the scanned body.
+ *
+ * Everything that can change the result of a scan besides the body is part of
+ * the key: the rule set version, and the signature of the path decision for the
+ * request path (so two URLs that trigger the same path rules and allowlists
+ * share an entry). Settings are tracked through a fingerprint; whenever it
+ * changes the cache is cleared. Scans still running on an older settings
+ * snapshot than the last one seen are kept out of the cache, so they cannot
+ * flip the fingerprint back.
+ */
+public class ScanResultCache {
+
+    private static final long ENTRY_OVERHEAD = 128;
+    private static final long FINDING_OVERHEAD = 128;
+    private static final int MAX_PROBES = 4096;
+
+    public record Key(long hashHigh, long hashLow, int length, long version, BitSet pathSignature) {
+    }
+
+    /**
+     * A match that survived all filters. Marker offsets are relative to the start
+     * of the body for {@code RESPONSE_BODY} findings and to the start of the
+     * request or response for the other parts; for matches in decoded layers
+     * they cover the encoded span and {@code encoding} names the decoders that
+     * led to the layer. {@code line} and {@code column} locate the marker start
+     * within its part (1-based, 0 until resolved).
+     */
+    public record Finding(GitleaksRule rule, int depth, String encoding, String secret, String fullMatch,
+            MessagePart part, int markerStart, int markerEnd, int line, int column) {
+
+        public Finding at(int line, int column) {
+            return new Finding(rule, depth, encoding, secret, fullMatch, part, markerStart, markerEnd, line, column);
+        }
+    }
+
+    public record Stats(long hits, long misses, long evictions, int entries, long bytes) {
+    }
+
+    private record Entry(List<Finding> findings, long size) {
+    }
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Set<Key> probes = new HashSet<>();
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long bytes;
+    private long maxBytes;
+    private Object fingerprint;
+    private long settingsVersion = -1;
+
+    /**
+     * Applies the settings of a scan about to use the cache. Returns false,
+     * leaving the cache untouched, if they are older than the last applied
+     * settings; the caller must then scan without the cache.
+     */
+    public synchronized boolean configure(long version, long maxBytes, Object settingsFingerprint) {
+        if (version < settingsVersion)
+            return false;
+        settingsVersion = version;
+        if (!Objects.equals(fingerprint, settingsFingerprint)) {
+            clear();
+            fingerprint = settingsFingerprint;
+        }
+        this.maxBytes = maxBytes;
+        evict();
+        return true;
+    }
+
+    public synchronized List<Finding> get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.findings();
+    }
+
+    /**
+     * Whether a streamed body with the given probe key may have an entry.
+     * A false answer counts as a miss.
+     */
+    public synchronized boolean hasProbe(Key probe) {
+        if (probes.contains(probe))
+            return true;
+        misses++;
+        return false;
+    }
+
+    public synchronized void addProbe(Key probe) {
+        if (probes.size() >= MAX_PROBES)
+            probes.clear();
+        probes.add(probe);
+    }
+
+    public synchronized void put(Key key, List<Finding> findings) {
+        long size = ENTRY_OVERHEAD;
+        for (Finding finding : findings) {
+            size += FINDING_OVERHEAD + finding.secret().length() + finding.fullMatch().length();
+        }
+        if (size > maxBytes)
+            return;
+
+        Entry previous = entries.put(key, new Entry(List.copyOf(findings), size));
+        if (previous != null)
+            bytes -= previous.size();
+        bytes += size;
+        evict();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        probes.clear();
+        bytes = 0;
+    }
+
+    public synchronized void resetStats() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, entries.size(), bytes);
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            bytes -= it.next().getValue().size();
+            it.remove();
+            evictions++;
+        }
+    }
+}
\ No newline at end of file
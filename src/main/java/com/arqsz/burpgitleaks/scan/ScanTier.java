@@ -0,0 +1,13 @@
+package com.arqsz.burpgitleaks.scan;
+
+/**
+ * How thoroughly a message is scanned. The fast tier only runs rules that
+ * match a provider-specific literal prefix (e.g. {@code ghp_}, {@code AKIA})
+ * and skips the decoders. It is used for the first phase of two-phase
+ * scanning and to keep up with traffic under overload; the full scan follows
+ * later in the background.
+ */
+public enum ScanTier {
+    FULL,
+    FAST
+}
\ No newline at end of file
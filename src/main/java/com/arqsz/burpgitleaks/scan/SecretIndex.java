@@ -0,0 +1,134 @@
+package com.arqsz.burpgitleaks.scan;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.arqsz.burpgitleaks.config.PluginSettings.IssueGrouping;
+import com.arqsz.burpgitleaks.utils.Murmur3;
+
+/**
+ * Remembers where each secret has already been reported, so a key served in a
+ * shared header or bundle produces one issue instead of one per URL.
+ *
+ * Entries are keyed by a fingerprint of (rule id, secret) and the scope of the
+ * configured grouping. The first sighting in a scope is reported; later ones
+ * only count and add their URL to a short occurrence list. Fingerprints are
+ * seeded per session, so the ones written into issue details cannot be used
+ * to confirm a guessed secret offline.
+ */
+public class SecretIndex {
+
+    public static final int MAX_URLS = 20;
+    static final int MAX_ENTRIES = 100_000;
+
+    public record Occurrences(long sightings, List<String> urls) {
+    }
+
+    private record Key(String fingerprint, String scope) {
+    }
+
+    private static final class Entry {
+        private String[] urls = new String[4];
+        private int size;
+        private long sightings;
+
+        Entry(String url) {
+            urls[size++] = url;
+            sightings = 1;
+        }
+
+        synchronized void add(String url) {
+            sightings++;
+            if (size == MAX_URLS)
+                return;
+            for (int i = 0; i < size; i++) {
+                if (urls[i].equals(url))
+                    return;
+            }
+            if (size == urls.length)
+                urls = Arrays.copyOf(urls, Math.min(MAX_URLS, size * 2));
+            urls[size++] = url;
+        }
+
+        synchronized Occurrences snapshot() {
+            return new Occurrences(sightings, List.of(Arrays.copyOf(urls, size)));
+        }
+    }
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final long seed = ThreadLocalRandom.current().nextLong();
+    private volatile IssueGrouping grouping = IssueGrouping.URL;
+
+    public void setGrouping(IssueGrouping grouping) {
+        if (this.grouping != grouping) {
+            this.grouping = grouping;
+            entries.clear();
+        }
+    }
+
+    public String fingerprint(String ruleId, String secret) {
+        byte[] bytes = (ruleId + '\0' + secret).getBytes(StandardCharsets.UTF_8);
+        long[] hash = new Murmur3(seed).update(bytes, 0, bytes.length).digest();
+        return String.format("%016x", hash[0]);
+    }
+
+    /**
+     * Records a sighting and returns whether it is the first one in its scope,
+     * i.e. whether it should be reported. Always true when grouping by URL,
+     * which leaves duplicate handling to Burp's issue consolidation.
+     */
+    public boolean record(String fingerprint, String url) {
+        IssueGrouping current = grouping;
+        if (current == IssueGrouping.URL)
+            return true;
+
+        Key key = new Key(fingerprint, scopeOf(current, url));
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() >= MAX_ENTRIES)
+                return true;
+            entry = entries.putIfAbsent(key, new Entry(url));
+            if (entry == null)
+                return true;
+        }
+        entry.add(url);
+        return false;
+    }
+
+    public Occurrences occurrences(String fingerprint, String url) {
+        IssueGrouping current = grouping;
+        if (fingerprint == null || current == IssueGrouping.URL)
+            return null;
+        Entry entry = entries.get(new Key(fingerprint, scopeOf(current, url)));
+        return entry == null ? null : entry.snapshot();
+    }
+
+    public void forget(String fingerprint, String url) {
+        IssueGrouping current = grouping;
+        if (fingerprint != null && current != IssueGrouping.URL)
+            entries.remove(new Key(fingerprint, scopeOf(current, url)));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static String scopeOf(IssueGrouping grouping, String url) {
+        if (grouping == IssueGrouping.SECRET || url == null)
+            return "";
+
+        int start = url.indexOf("://");
+        start = start < 0 ? 0 : start + 3;
+        int end = start;
+        while (end < url.length() && "/?#".indexOf(url.charAt(end)) < 0)
+            end++;
+        return url.substring(start, end);
+    }
+}
\ No newline at end of file
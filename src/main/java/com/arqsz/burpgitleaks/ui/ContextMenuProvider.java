@@ -4,6 +4,8 @@ import java.awt.Component;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -12,6 +14,8 @@ import javax.swing.SwingUtilities;
 
 import com.arqsz.burpgitleaks.config.PluginSettings;
 import com.arqsz.burpgitleaks.scan.GitleaksScanCheck;
+import com.arqsz.burpgitleaks.scan.ScanGate;
+import com.arqsz.burpgitleaks.scan.ScanQueue;
 import com.arqsz.burpgitleaks.utils.IssueUtils;
 import com.arqsz.burpgitleaks.verification.TemplateManager;
 
@@ -29,15 +33,19 @@ public class ContextMenuProvider implements ContextMenuItemsProvider {
 
     private final MontoyaApi api;
     private final GitleaksScanCheck scanCheck;
+    private final ScanQueue scanQueue;
+    private final ScanGate scanGate;
     private final ExecutorService executor;
     private final PluginSettings settings;
     private final VerificationMenuFactory menuFactory;
     private final IssuesTab issuesTab;
 
-    public ContextMenuProvider(MontoyaApi api, GitleaksScanCheck scanCheck,
+    public ContextMenuProvider(MontoyaApi api, GitleaksScanCheck scanCheck, ScanQueue scanQueue, ScanGate scanGate,
             PluginSettings settings, TemplateManager templateManager, IssuesTab issuesTab) {
         this.api = api;
         this.scanCheck = scanCheck;
+        this.scanQueue = scanQueue;
+        this.scanGate = scanGate;
         this.settings = settings;
         this.issuesTab = issuesTab;
         this.executor = Executors.newSingleThreadExecutor();
@@ -85,20 +93,58 @@ public class ContextMenuProvider implements ContextMenuItemsProvider {
         executor.shutdownNow();
     }
 
+    /**
+     * Queues the batch on this provider's single thread, waiting for room
+     * whenever the queue is full, so a large selection is fed in as the
+     * workers drain it rather than evicting its own earlier items.
+     */
     private void performManualScan(List<HttpRequestResponse> items) {
-        int issuesFound = 0;
-        int duplicatesIgnored = 0;
-
         if (settings.isDebugEnabled()) {
             api.logging().logToOutput("Starting manual secret scan on " + items.size() + " items...");
         }
 
+        List<CompletableFuture<AuditResult>> results = new ArrayList<>();
         for (HttpRequestResponse item : items) {
+            CompletableFuture<AuditResult> future = new CompletableFuture<>();
+            boolean queued;
+            try {
+                queued = scanQueue.put(item, ScanQueue.Lane.MANUAL, scanGate.isInScope(item.request()), message -> {
+                    try {
+                        future.complete(scanCheck.doCheck(message, false));
+                    } catch (Exception e) {
+                        future.completeExceptionally(e);
+                    }
+                }, () -> future.complete(null));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            results.add(queued ? future : CompletableFuture.completedFuture(null));
+        }
+
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .whenCompleteAsync((done, error) -> reportResults(results), executor);
+    }
+
+    /**
+     * Adds the issues of a finished batch and reports the batch once. A null
+     * result stands for a message the scan queue had no room for.
+     */
+    private void reportResults(List<CompletableFuture<AuditResult>> results) {
+        int issuesFound = 0;
+        int duplicatesIgnored = 0;
+        int skipped = 0;
+
+        for (CompletableFuture<AuditResult> future : results) {
             AuditResult result;
             try {
-                result = scanCheck.doCheck(item);
-            } catch (Exception e) {
-                api.logging().logToError("Error during manual secret scan: " + e.getMessage());
+                result = future.join();
+            } catch (CompletionException e) {
+                api.logging().logToError("Error during manual secret scan: " + e.getCause().getMessage());
+                continue;
+            }
+            if (result == null) {
+                skipped++;
                 continue;
             }
 
@@ -125,11 +171,11 @@ public class ContextMenuProvider implements ContextMenuItemsProvider {
             }
         }
 
-        handleScanCompletion(issuesFound, duplicatesIgnored);
+        handleScanCompletion(issuesFound, duplicatesIgnored, skipped);
     }
 
-    private void handleScanCompletion(int issuesFound, int duplicatesIgnored) {
-        String msg = buildResultToastMessage(issuesFound, duplicatesIgnored);
+    private void handleScanCompletion(int issuesFound, int duplicatesIgnored, int skipped) {
+        String msg = buildResultToastMessage(issuesFound, duplicatesIgnored, skipped);
 
         if (settings.isDebugEnabled()) {
             api.logging().logToOutput(msg);
@@ -145,7 +191,16 @@ public class ContextMenuProvider implements ContextMenuItemsProvider {
         });
     }
 
-    private String buildResultToastMessage(int issuesFound, int duplicatesIgnored) {
+    private String buildResultToastMessage(int issuesFound, int duplicatesIgnored, int skipped) {
+        String summary = buildSummary(issuesFound, duplicatesIgnored);
+        if (skipped > 0) {
+            summary += String.format(" Skipped %d item%s: the scan queue had no room.", skipped,
+                    skipped == 1 ? "" : "s");
+        }
+        return summary;
+    }
+
+    private String buildSummary(int issuesFound, int duplicatesIgnored) {
         if (issuesFound > 0) {
             String suffix = (duplicatesIgnored > 0)
                     ? String.format(" (ignored %d potential duplicate%s).", duplicatesIgnored,
@@ -174,6 +229,7 @@ public class ContextMenuProvider implements ContextMenuItemsProvider {
         return existingIssues.stream()
                 .anyMatch(existing -> existing.baseUrl().toString().equals(newIssue.baseUrl().toString()) &&
                         existing.name().equals(newIssue.name()) &&
-                        existing.detail().equals(newIssue.detail()));
+                        IssueUtils.withoutMetadata(existing.detail())
+                                .equals(IssueUtils.withoutMetadata(newIssue.detail())));
     }
 }
\ No newline at end of file
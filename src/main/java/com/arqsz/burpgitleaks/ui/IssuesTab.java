@@ -41,7 +41,9 @@ import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableRowSorter;
 
+import com.arqsz.burpgitleaks.scan.SecretIndex;
 import com.arqsz.burpgitleaks.utils.IssueUtils;
+import com.arqsz.burpgitleaks.utils.LineIndex;
 import com.arqsz.burpgitleaks.verification.TemplateManager;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
@@ -65,6 +67,7 @@ public class IssuesTab extends JPanel {
     private final JEditorPane advisoryPane;
 
     private final VerificationMenuFactory menuFactory;
+    private volatile SecretIndex secretIndex;
 
     private final Set<String> threadSafeSignatures = ConcurrentHashMap.newKeySet();
     private final java.util.concurrent.ExecutorService persistenceExecutor = java.util.concurrent.Executors
@@ -99,6 +102,8 @@ public class IssuesTab extends JPanel {
         JButton clearBtn = new JButton("Clear Issues");
         clearBtn.addActionListener(e -> {
             threadSafeSignatures.clear();
+            if (secretIndex != null)
+                secretIndex.clear();
             model.clear();
             resetViewers();
             updateTabTitle(0);
@@ -265,6 +270,10 @@ public class IssuesTab extends JPanel {
         loadIssuesFromProject();
     }
 
+    public void setSecretIndex(SecretIndex secretIndex) {
+        this.secretIndex = secretIndex;
+    }
+
     private void loadIssuesFromProject() {
         String json = api.persistence().extensionData().getString(STORAGE_KEY);
         if (json == null || json.isEmpty())
@@ -365,7 +374,8 @@ public class IssuesTab extends JPanel {
     }
 
     private String generateSignature(AuditIssue i) {
-        String detailPart = (i.detail() != null) ? String.valueOf(i.detail().hashCode()) : "0";
+        String detail = IssueUtils.withoutMetadata(i.detail());
+        String detailPart = (detail != null) ? String.valueOf(detail.hashCode()) : "0";
         return i.name() + "|" + i.baseUrl() + "|" + detailPart;
     }
 
@@ -385,6 +395,8 @@ public class IssuesTab extends JPanel {
             AuditIssue issue = model.getIssue(rowIndex);
             String sig = generateSignature(issue);
             threadSafeSignatures.remove(sig);
+            if (secretIndex != null)
+                secretIndex.forget(IssueUtils.extractFingerprint(issue), issue.baseUrl());
 
             model.removeRow(rowIndex);
             api.siteMap().issues().remove(issue);
@@ -514,6 +526,21 @@ public class IssuesTab extends JPanel {
             sb.append("<div style='margin-bottom: 15px;'>").append(issue.detail()).append("</div>");
         }
 
+        SecretIndex index = secretIndex;
+        SecretIndex.Occurrences seen = index == null ? null
+                : index.occurrences(IssueUtils.extractFingerprint(issue), issue.baseUrl());
+        if (seen != null && seen.sightings() > 1) {
+            sb.append("<h3 style='border-bottom: 1px solid #ccc; padding-bottom: 5px;'>Occurrences</h3>");
+            sb.append("<div style='margin-bottom: 15px;'>Reported once, seen ").append(seen.sightings())
+                    .append(" times at:<ul>");
+            for (String url : seen.urls()) {
+                sb.append("<li>").append(url.replace("&", "&amp;").replace("<", "&lt;")).append("</li>");
+            }
+            if (seen.urls().size() == SecretIndex.MAX_URLS)
+                sb.append("<li>...</li>");
+            sb.append("</ul></div>");
+        }
+
         if (issue.remediation() != null && !issue.remediation().isBlank()) {
             sb.append("<h3 style='border-bottom: 1px solid #ccc; padding-bottom: 5px;'>Remediation</h3>");
             sb.append("<div style='margin-bottom: 15px;'>").append(issue.remediation()).append("</div>");
@@ -524,6 +551,10 @@ public class IssuesTab extends JPanel {
     }
 
     private String calculateLocation(AuditIssue issue) {
+        String stored = IssueUtils.extractLocation(issue);
+        if (stored != null)
+            return stored;
+
         if (issue.requestResponses().isEmpty())
             return "Unknown";
 
@@ -555,17 +586,9 @@ public class IssuesTab extends JPanel {
         if (offset < 0 || offset > content.length())
             return prefix + " Offset: " + offset;
 
-        int lineNumber = 1;
-        int lastNewlineIndex = -1;
-
-        for (int i = 0; i < offset; i++) {
-            if (content.charAt(i) == '\n') {
-                lineNumber++;
-                lastNewlineIndex = i;
-            }
-        }
-
-        int columnNumber = offset - lastNewlineIndex;
+        LineIndex lines = LineIndex.of(content);
+        int lineNumber = lines.line(offset);
+        int columnNumber = lines.column(offset);
 
         return String.format("%s Line %d, Column %d (Character Offset %d)", prefix, lineNumber, columnNumber, offset);
     }
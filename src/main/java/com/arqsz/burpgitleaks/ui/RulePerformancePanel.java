@@ -0,0 +1,178 @@
+package com.arqsz.burpgitleaks.ui;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JFileChooser;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableRowSorter;
+
+import com.arqsz.burpgitleaks.scan.RuleProfiler;
+
+public class RulePerformancePanel extends JPanel {
+
+    private final RuleProfiler profiler;
+    private final PerformanceTableModel model = new PerformanceTableModel();
+    private final Timer refreshTimer;
+
+    public RulePerformancePanel(RuleProfiler profiler) {
+        super(new BorderLayout(5, 10));
+        this.profiler = profiler;
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        add(new JLabel("Cumulative scan cost per rule since the last reset. Time includes regex evaluation "
+                + "and match filtering."), BorderLayout.NORTH);
+
+        JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        table.setRowHeight(24);
+
+        TableRowSorter<PerformanceTableModel> sorter = new TableRowSorter<>(model);
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(2, SortOrder.DESCENDING)));
+        table.setRowSorter(sorter);
+        table.getColumnModel().getColumn(0).setPreferredWidth(220);
+
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JButton refreshBtn = new JButton("Refresh");
+        refreshBtn.addActionListener(e -> refresh());
+        JButton resetBtn = new JButton("Reset");
+        resetBtn.addActionListener(e -> {
+            profiler.reset();
+            refresh();
+        });
+        JButton exportBtn = new JButton("Export CSV");
+        exportBtn.addActionListener(e -> exportCsv());
+        bottomPanel.add(refreshBtn);
+        bottomPanel.add(resetBtn);
+        bottomPanel.add(exportBtn);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        refreshTimer = new Timer(2000, e -> {
+            if (isShowing())
+                refresh();
+        });
+        refreshTimer.start();
+        refresh();
+    }
+
+    public void shutdown() {
+        refreshTimer.stop();
+    }
+
+    private void refresh() {
+        model.setRows(profiler.snapshot());
+    }
+
+    private void exportCsv() {
+        JFileChooser fc = new JFileChooser();
+        fc.setSelectedFile(new File("gitleaks-rule-performance.csv"));
+        if (fc.showSaveDialog(this) != JFileChooser.APPROVE_OPTION)
+            return;
+
+        StringBuilder csv = new StringBuilder();
+        for (int col = 0; col < model.getColumnCount(); col++) {
+            if (col > 0)
+                csv.append(',');
+            csv.append(csvField(model.getColumnName(col)));
+        }
+        csv.append('\n');
+
+        for (int row = 0; row < model.getRowCount(); row++) {
+            for (int col = 0; col < model.getColumnCount(); col++) {
+                if (col > 0)
+                    csv.append(',');
+                csv.append(csvField(String.valueOf(model.getValueAt(row, col))));
+            }
+            csv.append('\n');
+        }
+
+        try {
+            Files.writeString(fc.getSelectedFile().toPath(), csv, StandardCharsets.UTF_8);
+            Toast.success(this, "Exported " + model.getRowCount() + " rules.");
+        } catch (Exception ex) {
+            Toast.error(this, "Export failed: " + ex.getMessage());
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n"))
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        return value;
+    }
+
+    private static class PerformanceTableModel extends AbstractTableModel {
+        private final String[] cols = { "Rule ID", "Candidates", "Time (ms)", "Avg (µs)", "Bytes Scanned",
+                "Matches", "Entropy Rejects", "Allowlist Rejects", "Findings" };
+        private List<RuleProfiler.Snapshot> rows = new ArrayList<>();
+
+        void setRows(List<RuleProfiler.Snapshot> rows) {
+            this.rows = rows;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return cols.length;
+        }
+
+        @Override
+        public String getColumnName(int col) {
+            return cols[col];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int col) {
+            if (col == 0)
+                return String.class;
+            return (col == 2 || col == 3) ? Double.class : Long.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int col) {
+            RuleProfiler.Snapshot s = rows.get(row);
+            switch (col) {
+                case 0:
+                    return s.ruleId();
+                case 1:
+                    return s.candidates();
+                case 2:
+                    return Math.round(s.nanos() / 10_000.0) / 100.0;
+                case 3:
+                    return s.candidates() == 0 ? 0.0 : Math.round(s.nanos() / 10.0 / s.candidates()) / 100.0;
+                case 4:
+                    return s.bytesScanned();
+                case 5:
+                    return s.matches();
+                case 6:
+                    return s.entropyRejects();
+                case 7:
+                    return s.allowlistRejects();
+                case 8:
+                    return s.findings();
+                default:
+                    return null;
+            }
+        }
+    }
+}
\ No newline at end of file
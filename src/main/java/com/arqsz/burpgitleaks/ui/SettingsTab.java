@@ -24,6 +24,7 @@ import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
 import javax.swing.JFileChooser;
 import javax.swing.JLabel;
 import javax.swing.JMenuItem;
@@ -38,6 +39,7 @@ import javax.swing.RowFilter;
 import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableCellRenderer;
@@ -47,7 +49,16 @@ import com.arqsz.burpgitleaks.config.GitleaksRule;
 import com.arqsz.burpgitleaks.config.PluginSettings;
 import com.arqsz.burpgitleaks.config.RuleLoader;
 import com.arqsz.burpgitleaks.config.RuleLoader.GitleaksConfiguration;
+import com.arqsz.burpgitleaks.decoding.DecodeBudget;
+import com.arqsz.burpgitleaks.decoding.DecodeStats;
+import com.arqsz.burpgitleaks.decoding.Decoder;
+import com.arqsz.burpgitleaks.decoding.Decoders;
 import com.arqsz.burpgitleaks.scan.GitleaksScanCheck;
+import com.arqsz.burpgitleaks.scan.LoadShedStats;
+import com.arqsz.burpgitleaks.scan.ScanBudgetStats;
+import com.arqsz.burpgitleaks.scan.ScanGate;
+import com.arqsz.burpgitleaks.scan.ScanQueue;
+import com.arqsz.burpgitleaks.scan.ScanResultCache;
 import com.arqsz.burpgitleaks.verification.TemplateManager;
 
 import burp.api.montoya.MontoyaApi;
@@ -56,6 +67,10 @@ public class SettingsTab extends JPanel {
 
     private final MontoyaApi api;
     private final GitleaksScanCheck scanCheck;
+    private final ScanQueue scanQueue;
+    private final ScanGate scanGate;
+    private Timer statsTimer;
+    private RulePerformancePanel performancePanel;
     private final PluginSettings settings;
     private final ExecutorService executor;
     private final TemplateManager templateManager;
@@ -76,16 +91,19 @@ public class SettingsTab extends JPanel {
     };
     private final Consumer<Boolean> onIssuesTabVisibilityChange;
 
-    public SettingsTab(MontoyaApi api, GitleaksScanCheck scanCheck, PluginSettings settings,
-            List<GitleaksRule> initialRules, TemplateManager templateManager,
+    public SettingsTab(MontoyaApi api, GitleaksScanCheck scanCheck, ScanQueue scanQueue, ScanGate scanGate,
+            PluginSettings settings, List<GitleaksRule> initialRules, TemplateManager templateManager,
             Consumer<Boolean> onIssuesTabVisibilityChange) {
         this.api = api;
         this.scanCheck = scanCheck;
+        this.scanQueue = scanQueue;
+        this.scanGate = scanGate;
         this.settings = settings;
         this.templateManager = templateManager;
         this.currentRules = initialRules;
         this.onIssuesTabVisibilityChange = onIssuesTabVisibilityChange;
-        this.rulesModel = new RulesTableModel(initialRules, settings.getDisabledRules(), templateManager);
+        this.rulesModel = new RulesTableModel(initialRules, settings.getDisabledRules(),
+                settings.getFullScanRules(), templateManager);
         this.executor = Executors.newSingleThreadExecutor();
 
         setLayout(new BorderLayout());
@@ -93,6 +111,8 @@ public class SettingsTab extends JPanel {
         JTabbedPane tabs = new JTabbedPane();
         tabs.addTab("Configuration", createConfigPanel());
         tabs.addTab("Rules Manager", createRulesPanel());
+        performancePanel = new RulePerformancePanel(scanCheck.getProfiler());
+        tabs.addTab("Rule Performance", performancePanel);
         tabs.addTab("Scanning Options", createOptionsPanel());
 
         tabs.addChangeListener(e -> {
@@ -111,6 +131,10 @@ public class SettingsTab extends JPanel {
 
     public void shutdown() {
         executor.shutdownNow();
+        if (statsTimer != null)
+            statsTimer.stop();
+        if (performancePanel != null)
+            performancePanel.shutdown();
     }
 
     private JPanel createConfigPanel() {
@@ -274,7 +298,7 @@ public class SettingsTab extends JPanel {
 
                 if (row >= 0 && col >= 0) {
                     int modelCol = convertColumnIndexToModel(col);
-                    if (modelCol == 1) {
+                    if (modelCol == 1 || modelCol == 5) {
                         int modelRow = convertRowIndexToModel(row);
                         Object value = getModel().getValueAt(modelRow, modelCol);
                         return value != null ? value.toString() : null;
@@ -291,7 +315,7 @@ public class SettingsTab extends JPanel {
         JPopupMenu popup = new JPopupMenu();
         addCopyMenuItem(popup, table, "Copy Source", 1);
         addCopyMenuItem(popup, table, "Copy Rule ID", 2);
-        addCopyMenuItem(popup, table, "Copy Description", 3);
+        addCopyMenuItem(popup, table, "Copy Description", 6);
 
         table.setComponentPopupMenu(popup);
 
@@ -325,7 +349,9 @@ public class SettingsTab extends JPanel {
         table.getColumnModel().getColumn(1).setMaxWidth(350);
         table.getColumnModel().getColumn(2).setPreferredWidth(200);
         table.getColumnModel().getColumn(3).setMaxWidth(80);
-        table.getColumnModel().getColumn(4).setPreferredWidth(400);
+        table.getColumnModel().getColumn(4).setMaxWidth(80);
+        table.getColumnModel().getColumn(5).setPreferredWidth(150);
+        table.getColumnModel().getColumn(6).setPreferredWidth(400);
 
         p.add(new JScrollPane(table), BorderLayout.CENTER);
 
@@ -334,6 +360,7 @@ public class SettingsTab extends JPanel {
         applyBtn.setFont(applyBtn.getFont().deriveFont(Font.BOLD, 12f));
         applyBtn.addActionListener(e -> {
             settings.setDisabledRules(rulesModel.getDisabledIds());
+            settings.setFullScanRules(rulesModel.getFullScanIds());
             updateStatusLabel();
             Toast.success(this, "Rules updated. Engine reloaded.");
         });
@@ -359,6 +386,96 @@ public class SettingsTab extends JPanel {
         popup.add(item);
     }
 
+    private String formatCacheStats(ScanResultCache.Stats stats) {
+        long lookups = stats.hits() + stats.misses();
+        double hitRate = lookups == 0 ? 0 : 100.0 * stats.hits() / lookups;
+        return String.format("%d hits / %d misses (%.1f%%), %d evictions, %d entries (%.1f MB)",
+                stats.hits(), stats.misses(), hitRate, stats.evictions(), stats.entries(),
+                stats.bytes() / (1024.0 * 1024.0));
+    }
+
+    private String formatDecodeStats(DecodeStats.Snapshot stats) {
+        long layers = stats.layers().values().stream().mapToLong(Long::longValue).sum();
+        return String.format("%d layers (%.1f MB) decoded; budget reached: size %d, layers %d, time %d",
+                layers, stats.bytes() / (1024.0 * 1024.0), stats.exhausted().get(DecodeBudget.Limit.BYTES),
+                stats.exhausted().get(DecodeBudget.Limit.LAYERS), stats.exhausted().get(DecodeBudget.Limit.TIME));
+    }
+
+    private String formatBudgetStats(ScanBudgetStats.Snapshot stats) {
+        return String.format("%d scans timed out; %d finished later, %d pending, %d dropped (queue full)",
+                stats.timedOut(), stats.finished(), Math.max(0, stats.deferred() - stats.finished() - stats.dropped()),
+                stats.dropped());
+    }
+
+    private String formatQueueStats(ScanQueue.Stats stats) {
+        return String.format("%d queued (%.1f MB), %d workers; %d scanned, %d dropped, %d truncated; "
+                + "latency p50 %d ms, p95 %d ms, max %d ms", stats.depth(), stats.queuedBytes() / (1024.0 * 1024.0),
+                stats.workers(), stats.completed(), stats.dropped(), stats.truncated(), stats.latency().p50(),
+                stats.latency().p95(), stats.latency().max());
+    }
+
+    private String formatLaneStats(ScanQueue.Stats stats) {
+        StringBuilder sb = new StringBuilder();
+        stats.lanes().forEach((lane, laneStats) -> {
+            if (sb.length() > 0)
+                sb.append("; ");
+            sb.append(String.format("%s %d queued, wait p50 %d ms, p95 %d ms", lane, laneStats.depth(),
+                    laneStats.waiting().p50(), laneStats.waiting().p95()));
+        });
+        return sb.toString();
+    }
+
+    private String formatShedStats(ScanQueue.Stats stats) {
+        return String.format("%s, overloaded %d times", stats.shedding() ? "SHEDDING LOAD (fast rules only)" : "Normal",
+                stats.shedEpisodes());
+    }
+
+    private String formatDeepStats(LoadShedStats.Snapshot stats) {
+        return String.format("%d fast scans; %d finished in full (%d new issues), %d pending, %d dropped",
+                stats.fastScans(), stats.deepScans(), stats.lateIssues(), stats.pending(), stats.dropped());
+    }
+
+    private String formatGateStats(ScanGate.Stats stats) {
+        long rejected = stats.rejected().values().stream().mapToLong(Long::longValue).sum();
+        long checked = stats.passed() + rejected;
+        StringBuilder sb = new StringBuilder(String.format("%d passed, %d rejected", stats.passed(), rejected));
+        stats.rejected().forEach((reason, count) -> {
+            if (count > 0)
+                sb.append(", ").append(count).append(' ').append(reason);
+        });
+        sb.append(String.format("; %.1f \u00b5s per response", checked == 0 ? 0 : stats.nanos() / 1000.0 / checked));
+        return sb.toString();
+    }
+
+    private void addSpinnerRow(JPanel form, GridBagConstraints c, String label, JSpinner spinner, String unit) {
+        c.gridy++;
+        c.gridwidth = 1;
+        c.weightx = 0;
+        form.add(new JLabel(label), c);
+
+        c.gridx = 1;
+        c.weightx = 1.0;
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        panel.add(spinner);
+        panel.add(Box.createHorizontalStrut(10));
+        panel.add(new JLabel(unit));
+        form.add(panel, c);
+
+        c.gridx = 0;
+        c.gridwidth = 2;
+        c.weightx = 0;
+    }
+
+    private void addPartCheckBox(JPanel panel, String label, boolean selected, Consumer<Boolean> setter) {
+        JCheckBox cb = new JCheckBox(label);
+        cb.setToolTipText("Scan the " + label.toLowerCase() + " too. All enabled parts are scanned together in one "
+                + "extra pass, separately from the response body.");
+        cb.setSelected(selected);
+        cb.addActionListener(e -> setter.accept(cb.isSelected()));
+        panel.add(cb);
+        panel.add(Box.createHorizontalStrut(10));
+    }
+
     private JPanel createOptionsPanel() {
         JPanel form = new JPanel(new GridBagLayout());
         form.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
@@ -391,6 +508,18 @@ public class SettingsTab extends JPanel {
         allowCb.addActionListener(e -> settings.setIgnoreGitleaksAllow(allowCb.isSelected()));
         form.add(allowCb, c);
 
+        c.gridy++;
+        JCheckBox caseCb = new JCheckBox("Match all rule patterns case-insensitively (compatibility)");
+        caseCb.setToolTipText("By default patterns are matched as written, like gitleaks: rules opt in with (?i). "
+                + "If checked, every rule, path and allowlist pattern ignores case, as in earlier versions. "
+                + "Slower, and may report more false positives.");
+        caseCb.setSelected(settings.isCaseInsensitiveRules());
+        caseCb.addActionListener(e -> {
+            settings.setCaseInsensitiveRules(caseCb.isSelected());
+            reloadEngine();
+        });
+        form.add(caseCb, c);
+
         c.gridy++;
         JCheckBox debugCb = new JCheckBox("Enable debug logging");
         debugCb.setToolTipText("Log verbose details about allowed/ignored secrets to the Burp extension output.");
@@ -398,6 +527,429 @@ public class SettingsTab extends JPanel {
         debugCb.addActionListener(e -> settings.setDebugEnabled(debugCb.isSelected()));
         form.add(debugCb, c);
 
+        c.gridy++;
+        c.gridwidth = 2;
+        JCheckBox fragmentCb = new JCheckBox("Scan only around keyword hits (fragment mode)");
+        fragmentCb.setToolTipText(
+                "If checked, rule regexes run only in windows around their keywords instead of the whole response. "
+                        + "Rules marked 'Full Scan' in the Rules Manager always scan the whole response.");
+        fragmentCb.setSelected(settings.isFragmentScanEnabled());
+        fragmentCb.addActionListener(e -> settings.setFragmentScanEnabled(fragmentCb.isSelected()));
+        form.add(fragmentCb, c);
+
+        JSpinner windowSpinner = new JSpinner(
+                new SpinnerNumberModel(settings.getFragmentWindow(), 256, 1024 * 1024, 1024));
+        windowSpinner.setToolTipText(
+                "Characters scanned on each side of a keyword for rules whose matches have no fixed maximum length.");
+        windowSpinner.addChangeListener(e -> settings.setFragmentWindow((Integer) windowSpinner.getValue()));
+        addSpinnerRow(form, c, "Fragment Window:", windowSpinner,
+                "characters around each keyword (unbounded rules)");
+
+        JSpinner lineSpinner = new JSpinner(new SpinnerNumberModel(settings.getLineContext(), 80, 1024 * 1024, 256));
+        lineSpinner.setToolTipText("How much of the line around a match is searched for 'gitleaks:allow' and by "
+                + "allowlists that target the line. Keeps minified single-line files cheap.");
+        lineSpinner.addChangeListener(e -> settings.setLineContext((Integer) lineSpinner.getValue()));
+        addSpinnerRow(form, c, "Line Context:", lineSpinner, "characters on each side of a match");
+
+        c.gridy++;
+        c.gridwidth = 1;
+        form.add(new JLabel("Also Scan:"), c);
+
+        c.gridx = 1;
+        JPanel partsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        addPartCheckBox(partsPanel, "Request line", settings.isScanRequestLineEnabled(),
+                settings::setScanRequestLineEnabled);
+        addPartCheckBox(partsPanel, "Request headers", settings.isScanRequestHeadersEnabled(),
+                settings::setScanRequestHeadersEnabled);
+        addPartCheckBox(partsPanel, "Request body", settings.isScanRequestBodyEnabled(),
+                settings::setScanRequestBodyEnabled);
+        addPartCheckBox(partsPanel, "Response headers", settings.isScanResponseHeadersEnabled(),
+                settings::setScanResponseHeadersEnabled);
+        form.add(partsPanel, c);
+
+        c.gridx = 0;
+        c.gridwidth = 2;
+
+        c.gridy++;
+        form.add(Box.createVerticalStrut(10), c);
+        c.gridy++;
+        form.add(createHeader("Large Responses"), c);
+
+        JSpinner maxSizeSpinner = new JSpinner(new SpinnerNumberModel(settings.getMaxScanSizeMb(), 1, 1024, 1));
+        maxSizeSpinner.setToolTipText("Responses up to this size are scanned in one piece.");
+        maxSizeSpinner.addChangeListener(e -> settings.setMaxScanSizeMb((Integer) maxSizeSpinner.getValue()));
+        addSpinnerRow(form, c, "Single-Pass Limit:", maxSizeSpinner, "MB (larger bodies are scanned in chunks)");
+
+        JSpinner chunkSpinner = new JSpinner(new SpinnerNumberModel(settings.getChunkSizeKb(), 64, 64 * 1024, 256));
+        chunkSpinner.setToolTipText(
+                "Size of each chunk of an oversize body. Chunks overlap by the longest possible rule match.");
+        chunkSpinner.addChangeListener(e -> settings.setChunkSizeKb((Integer) chunkSpinner.getValue()));
+        addSpinnerRow(form, c, "Chunk Size:", chunkSpinner, "KB");
+
+        JSpinner capSpinner = new JSpinner(new SpinnerNumberModel(settings.getStreamCapMb(), 1, 2047, 10));
+        capSpinner.setToolTipText("Bytes beyond this cap are not scanned.");
+        capSpinner.addChangeListener(e -> settings.setStreamCapMb((Integer) capSpinner.getValue()));
+        addSpinnerRow(form, c, "Streaming Cap:", capSpinner, "MB scanned at most per response");
+
+        c.gridy++;
+        JCheckBox parallelCb = new JCheckBox("Evaluate rules in parallel for large bodies");
+        parallelCb.setToolTipText(
+                "Splits the candidate rules and decoded layers of a single large response across CPU cores.");
+        parallelCb.setSelected(settings.isParallelScanEnabled());
+        parallelCb.addActionListener(e -> settings.setParallelScanEnabled(parallelCb.isSelected()));
+        form.add(parallelCb, c);
+
+        JSpinner parallelSpinner = new JSpinner(
+                new SpinnerNumberModel(settings.getParallelThresholdKb(), 16, 1024 * 1024, 64));
+        parallelSpinner.setToolTipText("Smaller bodies are scanned on the calling thread only.");
+        parallelSpinner.addChangeListener(e -> settings.setParallelThresholdKb((Integer) parallelSpinner.getValue()));
+        addSpinnerRow(form, c, "Parallel Threshold:", parallelSpinner, "KB");
+
+        JSpinner scanBudgetSpinner = new JSpinner(
+                new SpinnerNumberModel(settings.getScanBudgetMs(), 0, 600_000, 1000));
+        scanBudgetSpinner.setToolTipText(
+                "A response still being scanned after this long reports the issues found so far.");
+        scanBudgetSpinner.addChangeListener(e -> settings.setScanBudgetMs((Integer) scanBudgetSpinner.getValue()));
+        addSpinnerRow(form, c, "Scan Budget:", scanBudgetSpinner, "ms per response (0 = unlimited)");
+
+        c.gridy++;
+        JCheckBox finishLaterCb = new JCheckBox("Finish timed-out scans later in the background");
+        finishLaterCb.setToolTipText(
+                "Rescans a timed-out response without a budget in the deep lane of the scan queue "
+                        + "and reports the rest.");
+        finishLaterCb.setSelected(settings.isFinishLaterEnabled());
+        finishLaterCb.addActionListener(e -> settings.setFinishLaterEnabled(finishLaterCb.isSelected()));
+        form.add(finishLaterCb, c);
+
+        c.gridy++;
+        c.gridwidth = 1;
+        form.add(new JLabel("Budget Statistics:"), c);
+
+        c.gridx = 1;
+        JLabel budgetStatsLabel = new JLabel();
+        JButton resetBudgetStatsBtn = new JButton("Reset Counters");
+        JPanel budgetStatsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        budgetStatsPanel.add(budgetStatsLabel);
+        budgetStatsPanel.add(Box.createHorizontalStrut(10));
+        budgetStatsPanel.add(resetBudgetStatsBtn);
+        form.add(budgetStatsPanel, c);
+
+        c.gridx = 0;
+        c.gridwidth = 2;
+
+        Runnable refreshBudgetStats = () -> budgetStatsLabel
+                .setText(formatBudgetStats(scanCheck.getBudgetStats().snapshot()));
+        resetBudgetStatsBtn.addActionListener(e -> {
+            scanCheck.getBudgetStats().reset();
+            refreshBudgetStats.run();
+        });
+        refreshBudgetStats.run();
+
+        c.gridy++;
+        JCheckBox twoPhaseCb = new JCheckBox("Two-phase scanning (deep scan in the background later)");
+        twoPhaseCb.setToolTipText("Reports rules matching a provider-specific prefix immediately; decoding, "
+                + "generic and keyword rules run later in the lowest-priority lane of the scan queue.");
+        twoPhaseCb.setSelected(settings.isTwoPhaseScanEnabled());
+        twoPhaseCb.addActionListener(e -> settings.setTwoPhaseScanEnabled(twoPhaseCb.isSelected()));
+        form.add(twoPhaseCb, c);
+
+        c.gridy++;
+        c.gridwidth = 1;
+        form.add(new JLabel("Deep Scans:"), c);
+
+        c.gridx = 1;
+        JLabel deepStatsLabel = new JLabel();
+        deepStatsLabel.setToolTipText("Responses scanned with the fast rules only, by two-phase scanning "
+                + "or under load, and their deferred full scans.");
+        JButton resetDeepStatsBtn = new JButton("Reset Counters");
+        JPanel deepStatsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        deepStatsPanel.add(deepStatsLabel);
+        deepStatsPanel.add(Box.createHorizontalStrut(10));
+        deepStatsPanel.add(resetDeepStatsBtn);
+        form.add(deepStatsPanel, c);
+
+        c.gridx = 0;
+        c.gridwidth = 2;
+
+        Runnable refreshDeepStats = () -> deepStatsLabel
+                .setText(formatDeepStats(scanCheck.getShedStats().snapshot()));
+        resetDeepStatsBtn.addActionListener(e -> {
+            scanCheck.getShedStats().reset();
+            refreshDeepStats.run();
+        });
+        refreshDeepStats.run();
+
+        c.gridy++;
+        form.add(Box.createVerticalStrut(10), c);
+        c.gridy++;
+        form.add(createHeader("Decoding"), c);
+
+        c.gridy++;
+        c.gridwidth = 1;
+        form.add(new JLabel("Decoders:"), c);
+
+        c.gridx = 1;
+        JPanel decodersPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        for (Decoder decoder : Decoders.ALL) {
+            JCheckBox decoderCb = new JCheckBox(decoder.name());
+            decoderCb.setSelected(!settings.getDisabledDecoders().contains(decoder.name()));
+            decoderCb.addActionListener(e -> {
+                List<String> disabled = settings.getDisabledDecoders();
+                disabled.remove(decoder.name());
+                if (!decoderCb.isSelected())
+                    disabled.add(decoder.name());
+                settings.setDisabledDecoders(disabled);
+            });
+            decodersPanel.add(decoderCb);
+            decodersPanel.add(Box.createHorizontalStrut(10));
+        }
+        form.add(decodersPanel, c);
+
+        c.gridx = 0;
+        c.gridwidth = 2;
+
+        JSpinner decodeBytesSpinner = new JSpinner(
+                new SpinnerNumberModel(settings.getDecodeBudgetKb(), 64, 1024 * 1024, 1024));
+        decodeBytesSpinner.setToolTipText("Total size of all decoded layers of one response.");
+        decodeBytesSpinner.addChangeListener(
+                e -> settings.setDecodeBudgetKb((Integer) decodeBytesSpinner.getValue()));
+        addSpinnerRow(form, c, "Decoded Size Budget:", decodeBytesSpinner, "KB per response");
+
+        JSpinner decodeLayersSpinner = new JSpinner(
+                new SpinnerNumberModel(settings.getDecodeBudgetLayers(), 10, 1_000_000, 100));
+        decodeLayersSpinner.setToolTipText("Number of decoded layers scanned for one response.");
+        decodeLayersSpinner.addChangeListener(
+                e -> settings.setDecodeBudgetLayers((Integer) decodeLayersSpinner.getValue()));
+        addSpinnerRow(form, c, "Layer Budget:", decodeLayersSpinner, "layers per response");
+
+        JSpinner decodeTimeSpinner = new JSpinner(
+                new SpinnerNumberModel(settings.getDecodeBudgetMs(), 100, 600_000, 500));
+        decodeTimeSpinner.setToolTipText("No new layer is decoded once a response has been scanned for this long.");
+        decodeTimeSpinner.addChangeListener(e -> settings.setDecodeBudgetMs((Integer) decodeTimeSpinner.getValue()));
+        addSpinnerRow(form, c, "Time Budget:", decodeTimeSpinner, "ms per response");
+
+        c.gridy++;
+        c.gridwidth = 1;
+        form.add(new JLabel("Decoding Statistics:"), c);
+
+        c.gridx = 1;
+        JLabel decodeStatsLabel = new JLabel();
+        JButton resetDecodeStatsBtn = new JButton("Reset Counters");
+        JPanel decodeStatsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        decodeStatsPanel.add(decodeStatsLabel);
+        decodeStatsPanel.add(Box.createHorizontalStrut(10));
+        decodeStatsPanel.add(resetDecodeStatsBtn);
+        form.add(decodeStatsPanel, c);
+
+        c.gridx = 0;
+        c.gridwidth = 2;
+
+        Runnable refreshDecodeStats = () -> decodeStatsLabel
+                .setText(formatDecodeStats(scanCheck.getDecodeStats().snapshot()));
+        resetDecodeStatsBtn.addActionListener(e -> {
+            scanCheck.getDecodeStats().reset();
+            refreshDecodeStats.run();
+        });
+        refreshDecodeStats.run();
+
+        c.gridy++;
+        form.add(Box.createVerticalStrut(10), c);
+        c.gridy++;
+        form.add(createHeader("Result Cache"), c);
+
+        c.gridy++;
+        JCheckBox cacheCb = new JCheckBox("Reuse results for identical response bodies");
+        cacheCb.setToolTipText(
+                "Responses with the same body (e.g. vendor bundles served under different URLs) are scanned once; "
+                        + "later copies reuse the cached matches. Cleared when rules or detection settings change.");
+        cacheCb.setSelected(settings.isResultCacheEnabled());
+        cacheCb.addActionListener(e -> settings.setResultCacheEnabled(cacheCb.isSelected()));
+        form.add(cacheCb, c);
+
+        JSpinner cacheSizeSpinner = new JSpinner(
+                new SpinnerNumberModel(settings.getResultCacheSizeMb(), 1, 1024, 8));
+        cacheSizeSpinner.addChangeListener(e -> settings.setResultCacheSizeMb((Integer) cacheSizeSpinner.getValue()));
+        addSpinnerRow(form, c, "Cache Budget:", cacheSizeSpinner, "MB");
+
+        c.gridy++;
+        c.gridwidth = 1;
+        form.add(new JLabel("Cache Statistics:"), c);
+
+        c.gridx = 1;
+        JLabel cacheStatsLabel = new JLabel();
+        JButton clearCacheBtn = new JButton("Clear Cache");
+        JButton resetStatsBtn = new JButton("Reset Counters");
+
+        JPanel statsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        statsPanel.add(cacheStatsLabel);
+        statsPanel.add(Box.createHorizontalStrut(10));
+        statsPanel.add(clearCacheBtn);
+        statsPanel.add(Box.createHorizontalStrut(5));
+        statsPanel.add(resetStatsBtn);
+        form.add(statsPanel, c);
+
+        c.gridx = 0;
+        c.gridwidth = 2;
+
+        Runnable refreshStats = () -> cacheStatsLabel.setText(formatCacheStats(scanCheck.getResultCache().stats()));
+        clearCacheBtn.addActionListener(e -> {
+            scanCheck.getResultCache().clear();
+            refreshStats.run();
+        });
+        resetStatsBtn.addActionListener(e -> {
+            scanCheck.getResultCache().resetStats();
+            refreshStats.run();
+        });
+        refreshStats.run();
+
+        c.gridy++;
+        form.add(Box.createVerticalStrut(10), c);
+        c.gridy++;
+        form.add(createHeader("Scan Queue (Community Edition)"), c);
+
+        JSpinner workersSpinner = new JSpinner(new SpinnerNumberModel(settings.getScanWorkers(), 1, 64, 1));
+        workersSpinner.setToolTipText("Threads scanning Proxy and Repeater traffic in the background.");
+        workersSpinner.addChangeListener(e -> settings.setScanWorkers((Integer) workersSpinner.getValue()));
+        addSpinnerRow(form, c, "Scan Workers:", workersSpinner, "threads");
+
+        JSpinner queueCapacitySpinner = new JSpinner(
+                new SpinnerNumberModel(settings.getQueueCapacity(), 1, 100_000, 50));
+        queueCapacitySpinner.addChangeListener(
+                e -> settings.setQueueCapacity((Integer) queueCapacitySpinner.getValue()));
+        addSpinnerRow(form, c, "Queue Capacity:", queueCapacitySpinner, "responses waiting to be scanned");
+
+        JSpinner queueBudgetSpinner = new JSpinner(new SpinnerNumberModel(settings.getQueueBudgetMb(), 1, 4096, 16));
+        queueBudgetSpinner.setToolTipText("Total size of the requests and responses held by the queue.");
+        queueBudgetSpinner.addChangeListener(e -> settings.setQueueBudgetMb((Integer) queueBudgetSpinner.getValue()));
+        addSpinnerRow(form, c, "Queue Memory Budget:", queueBudgetSpinner, "MB");
+
+        c.gridy++;
+        c.gridwidth = 1;
+        form.add(new JLabel("When Full:"), c);
+
+        c.gridx = 1;
+        JComboBox<PluginSettings.QueueOverflow> overflowCombo = new JComboBox<>(
+                PluginSettings.QueueOverflow.values());
+        overflowCombo.setSelectedItem(settings.getQueueOverflow());
+        overflowCombo.setToolTipText("Truncating keeps the first 64 KB of the response body.");
+        overflowCombo.addActionListener(
+                e -> settings.setQueueOverflow((PluginSettings.QueueOverflow) overflowCombo.getSelectedItem()));
+        JPanel overflowPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        overflowPanel.add(overflowCombo);
+        form.add(overflowPanel, c);
+
+        c.gridx = 0;
+        c.gridwidth = 2;
+
+        c.gridy++;
+        JCheckBox loadSheddingCb = new JCheckBox("Fall back to fast rules when overloaded");
+        loadSheddingCb.setToolTipText("Above the thresholds below, Proxy traffic is only scanned with rules matching "
+                + "a provider-specific prefix, without decoding. Skipped work is finished later in the deep scan "
+                + "lane.");
+        loadSheddingCb.setSelected(settings.isLoadSheddingEnabled());
+        loadSheddingCb.addActionListener(e -> settings.setLoadSheddingEnabled(loadSheddingCb.isSelected()));
+        form.add(loadSheddingCb, c);
+
+        JSpinner shedDepthSpinner = new JSpinner(new SpinnerNumberModel(settings.getShedQueueDepth(), 1, 100_000, 10));
+        shedDepthSpinner.addChangeListener(e -> settings.setShedQueueDepth((Integer) shedDepthSpinner.getValue()));
+        addSpinnerRow(form, c, "Shed Above Depth:", shedDepthSpinner, "responses waiting to be scanned");
+
+        JSpinner shedWaitSpinner = new JSpinner(new SpinnerNumberModel(settings.getShedWaitMs(), 100, 600_000, 1000));
+        shedWaitSpinner.addChangeListener(e -> settings.setShedWaitMs((Integer) shedWaitSpinner.getValue()));
+        addSpinnerRow(form, c, "Shed Above Wait:", shedWaitSpinner, "ms in the queue");
+
+        c.gridy++;
+        c.gridwidth = 1;
+        form.add(new JLabel("Queue Statistics:"), c);
+
+        c.gridx = 1;
+        JLabel queueStatsLabel = new JLabel();
+        JButton resetQueueStatsBtn = new JButton("Reset Counters");
+        JPanel queueStatsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        queueStatsPanel.add(queueStatsLabel);
+        queueStatsPanel.add(Box.createHorizontalStrut(10));
+        queueStatsPanel.add(resetQueueStatsBtn);
+        form.add(queueStatsPanel, c);
+
+        c.gridx = 0;
+        c.gridwidth = 2;
+
+        c.gridy++;
+        c.gridwidth = 1;
+        form.add(new JLabel("Lane Statistics:"), c);
+
+        c.gridx = 1;
+        JLabel laneStatsLabel = new JLabel();
+        laneStatsLabel.setToolTipText("Queued messages and time waited before scanning, per lane. "
+                + "Repeater is scanned before Force Rescan, which is scanned before Proxy.");
+        form.add(laneStatsLabel, c);
+
+        c.gridx = 0;
+        c.gridwidth = 2;
+
+        c.gridy++;
+        c.gridwidth = 1;
+        form.add(new JLabel("Load Shedding:"), c);
+
+        c.gridx = 1;
+        JLabel shedStatsLabel = new JLabel();
+        form.add(shedStatsLabel, c);
+
+        c.gridx = 0;
+        c.gridwidth = 2;
+
+        Runnable refreshQueueStats = () -> {
+            ScanQueue.Stats stats = scanQueue.stats();
+            queueStatsLabel.setText(formatQueueStats(stats));
+            laneStatsLabel.setText(formatLaneStats(stats));
+            shedStatsLabel.setText(formatShedStats(stats));
+        };
+        resetQueueStatsBtn.addActionListener(e -> {
+            scanQueue.resetStats();
+            refreshQueueStats.run();
+        });
+        refreshQueueStats.run();
+
+        c.gridy++;
+        c.gridwidth = 1;
+        form.add(new JLabel("Gate Statistics:"), c);
+
+        c.gridx = 1;
+        JLabel gateStatsLabel = new JLabel();
+        gateStatsLabel.setToolTipText("Responses rejected on the proxy thread before they are queued.");
+        JButton resetGateStatsBtn = new JButton("Reset Counters");
+        JPanel gateStatsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        gateStatsPanel.add(gateStatsLabel);
+        gateStatsPanel.add(Box.createHorizontalStrut(10));
+        gateStatsPanel.add(resetGateStatsBtn);
+        form.add(gateStatsPanel, c);
+
+        c.gridx = 0;
+        c.gridwidth = 2;
+
+        Runnable refreshGateStats = () -> gateStatsLabel.setText(formatGateStats(scanGate.stats()));
+        resetGateStatsBtn.addActionListener(e -> {
+            scanGate.resetStats();
+            refreshGateStats.run();
+        });
+        refreshGateStats.run();
+
+        statsTimer = new Timer(1000, e -> {
+            if (statsPanel.isShowing())
+                refreshStats.run();
+            if (decodeStatsPanel.isShowing())
+                refreshDecodeStats.run();
+            if (budgetStatsPanel.isShowing())
+                refreshBudgetStats.run();
+            if (queueStatsPanel.isShowing())
+                refreshQueueStats.run();
+            if (deepStatsPanel.isShowing())
+                refreshDeepStats.run();
+            if (gateStatsPanel.isShowing())
+                refreshGateStats.run();
+        });
+        statsTimer.start();
+
         c.gridy++;
         form.add(Box.createVerticalStrut(10), c);
         c.gridy++;
@@ -433,6 +985,26 @@ public class SettingsTab extends JPanel {
         spinnerPanel.add(new JLabel("% (0 = Reveal All, 100 = Hide All)"));
         form.add(spinnerPanel, c);
 
+        c.gridx = 0;
+        c.gridy++;
+        c.weightx = 0;
+        form.add(new JLabel("Report Each Secret:"), c);
+
+        c.gridx = 1;
+        c.weightx = 1.0;
+        JComboBox<PluginSettings.IssueGrouping> groupingCombo = new JComboBox<>(PluginSettings.IssueGrouping.values());
+        groupingCombo.setSelectedItem(settings.getIssueGrouping());
+        groupingCombo.setToolTipText("Later sightings of a reported secret are listed in the Issues tab "
+                + "instead of raising new issues.");
+        groupingCombo.addActionListener(
+                e -> settings.setIssueGrouping((PluginSettings.IssueGrouping) groupingCombo.getSelectedItem()));
+
+        JPanel groupingPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        groupingPanel.add(groupingCombo);
+        groupingPanel.add(Box.createHorizontalStrut(10));
+        groupingPanel.add(new JLabel("(a shared key no longer raises one issue per page)"));
+        form.add(groupingPanel, c);
+
         c.gridx = 0;
         c.gridy++;
         c.weighty = 1.0;
@@ -483,7 +1055,7 @@ public class SettingsTab extends JPanel {
         executor.submit(() -> {
             try {
                 GitleaksConfiguration newConfig = RuleLoader.loadConfiguration(customPath, api.logging(),
-                        settings.isDebugEnabled());
+                        settings.isDebugEnabled(), settings.isCaseInsensitiveRules());
 
                 SwingUtilities.invokeLater(() -> {
                     applyRules(newConfig);
@@ -506,7 +1078,7 @@ public class SettingsTab extends JPanel {
 
                     try {
                         GitleaksConfiguration fallbackConfig = RuleLoader.loadConfiguration(null, api.logging(),
-                                settings.isDebugEnabled());
+                                settings.isDebugEnabled(), settings.isCaseInsensitiveRules());
                         applyRules(fallbackConfig);
                         updateStatusLabel();
 
@@ -523,7 +1095,7 @@ public class SettingsTab extends JPanel {
     private void applyRules(GitleaksConfiguration config) {
         this.currentRules = config.rules();
         scanCheck.updateConfig(config);
-        rulesModel.setRules(config.rules(), settings.getDisabledRules());
+        rulesModel.setRules(config.rules(), settings.getDisabledRules(), settings.getFullScanRules());
     }
 
     private void updateStatusLabel() {
@@ -569,25 +1141,39 @@ public class SettingsTab extends JPanel {
     }
 
     private static class RulesTableModel extends AbstractTableModel {
-        private final String[] cols = { "Enabled", "Source", "Rule ID", "Verifiable", "Description" };
+        private final String[] cols = { "Enabled", "Source", "Rule ID", "Verifiable", "Full Scan", "Derived Literals",
+                "Description" };
         private List<GitleaksRule> rules;
         private List<Boolean> enabledState;
+        private List<Boolean> fullScanState;
         private final TemplateManager templateManager;
 
-        public RulesTableModel(List<GitleaksRule> rules, List<String> disabledIds, TemplateManager templateManager) {
+        public RulesTableModel(List<GitleaksRule> rules, List<String> disabledIds, List<String> fullScanIds,
+                TemplateManager templateManager) {
             this.templateManager = templateManager;
-            setRules(rules, disabledIds);
+            setRules(rules, disabledIds, fullScanIds);
         }
 
-        public void setRules(List<GitleaksRule> rules, List<String> disabledIds) {
+        public void setRules(List<GitleaksRule> rules, List<String> disabledIds, List<String> fullScanIds) {
             this.rules = rules;
             this.enabledState = new ArrayList<>();
+            this.fullScanState = new ArrayList<>();
             for (GitleaksRule r : rules) {
                 this.enabledState.add(!disabledIds.contains(r.getId()));
+                this.fullScanState.add(fullScanIds.contains(r.getId()));
             }
             fireTableDataChanged();
         }
 
+        public List<String> getFullScanIds() {
+            List<String> fullScan = new ArrayList<>();
+            for (int i = 0; i < rules.size(); i++) {
+                if (fullScanState.get(i))
+                    fullScan.add(rules.get(i).getId());
+            }
+            return fullScan;
+        }
+
         public List<String> getDisabledIds() {
             List<String> disabled = new ArrayList<>();
             for (int i = 0; i < rules.size(); i++) {
@@ -614,12 +1200,12 @@ public class SettingsTab extends JPanel {
 
         @Override
         public Class<?> getColumnClass(int col) {
-            return (col == 0 || col == 3) ? Boolean.class : String.class;
+            return (col == 0 || col == 3 || col == 4) ? Boolean.class : String.class;
         }
 
         @Override
         public boolean isCellEditable(int row, int col) {
-            return col == 0;
+            return col == 0 || col == 4;
         }
 
         @Override
@@ -635,6 +1221,10 @@ public class SettingsTab extends JPanel {
                 case 3:
                     return templateManager.hasTemplate(rule.getId());
                 case 4:
+                    return fullScanState.get(row);
+                case 5:
+                    return String.join(", ", rule.getRequiredLiterals());
+                case 6:
                     return rule.getDescription();
                 default:
                     return null;
@@ -645,6 +1235,8 @@ public class SettingsTab extends JPanel {
         public void setValueAt(Object val, int row, int col) {
             if (col == 0)
                 enabledState.set(row, Boolean.TRUE.equals(val));
+            else if (col == 4)
+                fullScanState.set(row, Boolean.TRUE.equals(val));
             fireTableCellUpdated(row, col);
         }
     }
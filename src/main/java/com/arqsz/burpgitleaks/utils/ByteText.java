@@ -0,0 +1,125 @@
+package com.arqsz.burpgitleaks.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Read-only {@link CharSequence} view over a byte array, decoding every byte
+ * as one ISO-8859-1 character.
+ *
+ * Character offsets are therefore byte offsets, which is what Burp markers
+ * expect, and no copy of the content is made until a {@link String} is
+ * explicitly requested for a (small) sub-range such as a matched secret.
+ */
+public final class ByteText implements CharSequence {
+
+    private final byte[] data;
+    private final int offset;
+    private final int length;
+    private volatile LineIndex lineIndex;
+
+    public ByteText(byte[] data) {
+        this(data, 0, data.length);
+    }
+
+    public ByteText(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length)
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", size " + data.length);
+        this.data = data;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException(index);
+        return (char) (data[offset + index] & 0xFF);
+    }
+
+    public int byteAt(int index) {
+        return data[offset + index] & 0xFF;
+    }
+
+    @Override
+    public ByteText subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end)
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        if (start == 0 && end == length)
+            return this;
+        return new ByteText(data, offset + start, end - start);
+    }
+
+    public ByteBuffer buffer(int start, int end) {
+        return ByteBuffer.wrap(data, offset + start, end - start);
+    }
+
+    public int indexOf(int ch, int fromIndex) {
+        for (int i = Math.max(fromIndex, 0); i < length; i++) {
+            if ((data[offset + i] & 0xFF) == ch)
+                return i;
+        }
+        return -1;
+    }
+
+    public int lastIndexOf(int ch, int fromIndex) {
+        for (int i = Math.min(fromIndex, length - 1); i >= 0; i--) {
+            if ((data[offset + i] & 0xFF) == ch)
+                return i;
+        }
+        return -1;
+    }
+
+    public boolean contains(String s) {
+        int last = length - s.length();
+        outer: for (int i = 0; i <= last; i++) {
+            for (int j = 0; j < s.length(); j++) {
+                if ((data[offset + i + j] & 0xFF) != s.charAt(j))
+                    continue outer;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Newline index of this text, built on first use and shared by every
+     * caller holding this view.
+     */
+    public LineIndex lineIndex() {
+        LineIndex index = lineIndex;
+        if (index == null) {
+            index = LineIndex.of(this);
+            lineIndex = index;
+        }
+        return index;
+    }
+
+    public ByteText copy() {
+        return new ByteText(Arrays.copyOfRange(data, offset, offset + length));
+    }
+
+    public long[] hash128(int start, int end) {
+        return new Murmur3(0).update(data, offset + start, end - start).digest();
+    }
+
+    public String substring(int start, int end) {
+        return new String(data, offset + start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+        return substring(0, length);
+    }
+}
\ No newline at end of file
@@ -7,6 +7,8 @@ import burp.api.montoya.scanner.audit.issues.AuditIssue;
 
 public class IssueUtils {
     private static final Pattern SECRET_PATTERN = Pattern.compile("<pre>(.*?)</pre>");
+    private static final Pattern LOCATION_PATTERN = Pattern.compile("<br><b>Location:</b> ([^<]*)");
+    private static final Pattern FINGERPRINT_PATTERN = Pattern.compile("<br><b>Fingerprint:</b> ([0-9a-f]+)");
     private static final String ISSUE_PREFIX = "Secret leakage: ";
 
     public static String extractRuleId(AuditIssue issue) {
@@ -49,4 +51,38 @@ public class IssueUtils {
 
         return null;
     }
+
+    public static String formatFingerprint(String fingerprint) {
+        return "<br><b>Fingerprint:</b> " + fingerprint;
+    }
+
+    public static String extractFingerprint(AuditIssue issue) {
+        if (issue.detail() == null)
+            return null;
+        Matcher m = FINGERPRINT_PATTERN.matcher(issue.detail());
+        return m.find() ? m.group(1) : null;
+    }
+
+    public static String formatLocation(String part, int line, int column) {
+        return "<br><b>Location:</b> " + Character.toUpperCase(part.charAt(0)) + part.substring(1)
+                + " line " + line + ", column " + column;
+    }
+
+    public static String extractLocation(AuditIssue issue) {
+        if (issue.detail() == null)
+            return null;
+        Matcher m = LOCATION_PATTERN.matcher(issue.detail());
+        return m.find() ? m.group(1) : null;
+    }
+
+    /**
+     * The detail without the location and fingerprint lines, for comparing
+     * issues: neither survives a restart or a change in the response layout.
+     */
+    public static String withoutMetadata(String detail) {
+        if (detail == null)
+            return null;
+        String stripped = LOCATION_PATTERN.matcher(detail).replaceAll("");
+        return FINGERPRINT_PATTERN.matcher(stripped).replaceAll("");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.arqsz.burpgitleaks.utils;
+
+import java.util.Arrays;
+
+/**
+ * Sorted offsets of the newlines in a text, answering offset to line/column
+ * and line bound queries with a binary search instead of a scan from the
+ * start of the text. Lines and columns are 1-based.
+ */
+public final class LineIndex {
+
+    private final int[] newlines;
+    private final int count;
+    private final int length;
+
+    private LineIndex(int[] newlines, int count, int length) {
+        this.newlines = newlines;
+        this.count = count;
+        this.length = length;
+    }
+
+    public static LineIndex of(CharSequence text) {
+        Builder builder = new Builder();
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n')
+                builder.newline(i);
+        }
+        return builder.build(text.length());
+    }
+
+    public static LineIndex of(ByteText text) {
+        return new Builder().add(text, 0, text.length(), 0).build(text.length());
+    }
+
+    public int line(int offset) {
+        return newlinesBefore(offset) + 1;
+    }
+
+    public int column(int offset) {
+        return offset - lineStart(offset) + 1;
+    }
+
+    public int lineStart(int offset) {
+        int before = newlinesBefore(offset);
+        return before == 0 ? 0 : newlines[before - 1] + 1;
+    }
+
+    public int lineEnd(int offset) {
+        int before = newlinesBefore(offset);
+        return before == count ? length : newlines[before];
+    }
+
+    private int newlinesBefore(int offset) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (newlines[mid] < offset)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Collects newlines from consecutive, non-overlapping ranges, so a body
+     * scanned in chunks can be indexed without holding all of it at once.
+     */
+    public static final class Builder {
+        private int[] newlines = new int[64];
+        private int count;
+
+        public Builder add(ByteText text, int from, int to, int offset) {
+            for (int i = from; i < to; i++) {
+                if (text.byteAt(i) == '\n')
+                    newline(offset + i);
+            }
+            return this;
+        }
+
+        private void newline(int offset) {
+            if (count == newlines.length)
+                newlines = Arrays.copyOf(newlines, count * 2);
+            newlines[count++] = offset;
+        }
+
+        public LineIndex build(int length) {
+            return new LineIndex(newlines, count, length);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.arqsz.burpgitleaks.utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Incremental MurmurHash3 (x64, 128-bit variant) by Austin Appleby, placed
+ * in the public domain. Not a cryptographic hash: it is only used to
+ * recognise content that was already scanned.
+ */
+public final class Murmur3 {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    private final byte[] tail = new byte[16];
+    private int tailLength;
+    private long length;
+    private long h1;
+    private long h2;
+
+    public Murmur3(long seed) {
+        this.h1 = seed;
+        this.h2 = seed;
+    }
+
+    public static long[] hash128(byte[] data) {
+        return new Murmur3(0).update(data, 0, data.length).digest();
+    }
+
+    public Murmur3 update(byte[] data, int offset, int len) {
+        length += len;
+
+        if (tailLength > 0) {
+            int n = Math.min(16 - tailLength, len);
+            System.arraycopy(data, offset, tail, tailLength, n);
+            tailLength += n;
+            offset += n;
+            len -= n;
+            if (tailLength < 16)
+                return this;
+            mix((long) LONG_LE.get(tail, 0), (long) LONG_LE.get(tail, 8));
+            tailLength = 0;
+        }
+
+        while (len >= 16) {
+            mix((long) LONG_LE.get(data, offset), (long) LONG_LE.get(data, offset + 8));
+            offset += 16;
+            len -= 16;
+        }
+
+        System.arraycopy(data, offset, tail, 0, len);
+        tailLength = len;
+        return this;
+    }
+
+    public long[] digest() {
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = tailLength - 1; i >= 8; i--) {
+            k2 ^= (tail[i] & 0xFFL) << ((i - 8) * 8);
+        }
+        for (int i = Math.min(tailLength, 8) - 1; i >= 0; i--) {
+            k1 ^= (tail[i] & 0xFFL) << (i * 8);
+        }
+
+        long a = h1;
+        long b = h2;
+        if (tailLength > 8) {
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            b ^= k2;
+        }
+        if (tailLength > 0) {
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            a ^= k1;
+        }
+
+        a ^= length;
+        b ^= length;
+        a += b;
+        b += a;
+        a = fmix(a);
+        b = fmix(b);
+        a += b;
+        b += a;
+        return new long[] { a, b };
+    }
+
+    private void mix(long k1, long k2) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        k1 *= C2;
+        h1 ^= k1;
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        k2 *= C1;
+        h2 ^= k2;
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.arqsz.burpgitleaks.bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmark corpus. The small responses are checked in under
+ * {@code src/test/resources/corpus}; the large ones are generated from the
+ * checked-in webpack module with a fixed seed, so every run scans the same
+ * bytes without committing megabytes of fixtures.
+ */
+public final class Corpus {
+
+    public record Entry(String name, byte[] body) {
+    }
+
+    private static final String ALNUM = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final String[] FEATURES = { "projects", "billing", "invoices", "members", "audit", "webhooks",
+            "tokens", "deployments", "alerts", "reports", "teams", "settings", "usage", "domains", "secrets" };
+
+    private Corpus() {
+    }
+
+    public static List<Entry> load() {
+        List<Entry> entries = new ArrayList<>();
+        entries.add(new Entry("small_api.json", resource("small_api.json")));
+        entries.add(new Entry("small_page.html", resource("small_page.html")));
+        entries.add(new Entry("module.js", resource("module.js")));
+        entries.add(new Entry("records.json", records(500 * 1024, 1)));
+        entries.add(new Entry("bundle.js", bundle(1400 * 1024, 2, false)));
+        entries.add(new Entry("minified.js (1 line)", bundle(4500 * 1024, 3, true)));
+        return entries;
+    }
+
+    /**
+     * Concatenated copies of the module template with varying names, ids and
+     * hashes, and a planted secret in every 40th module. Minified bundles are
+     * collapsed onto a single line.
+     */
+    static byte[] bundle(int size, long seed, boolean minified) {
+        String template = new String(resource("module.js"), StandardCharsets.ISO_8859_1);
+        Random random = new Random(seed);
+        StringBuilder out = new StringBuilder(size + template.length());
+        out.append(minified
+                ? "!function(e){var t={};"
+                : "(self[\"webpackChunkapp\"] = self[\"webpackChunkapp\"] || []).push([[179],{\n\n");
+        for (int n = 0; out.length() < size; n++) {
+            String feature = FEATURES[random.nextInt(FEATURES.length)] + n;
+            String module = template
+                    .replace("%NAME%", feature)
+                    .replace("%ID%", Character.toUpperCase(feature.charAt(0)) + feature.substring(1))
+                    .replace("%NUM%", Integer.toString(10 + random.nextInt(90)))
+                    .replace("%HEX%", hex(random, 16))
+                    .replace("%SECRET%", n % 40 == 39 ? "\nconst legacy = " + secret(random, n / 40) + ";" : "");
+            out.append(minified ? module.replaceAll("(?s)/\\*.*?\\*/", "").replaceAll("\\s*\\n\\s*", "") : module);
+        }
+        out.append(minified ? "}({});" : "\n}]);\n");
+        return out.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * A large JSON listing in the shape of a reference data endpoint, with no
+     * secrets in it.
+     */
+    static byte[] records(int size, long seed) {
+        Random random = new Random(seed);
+        StringBuilder out = new StringBuilder(size + 512).append("{\"subdivisions\":[\n");
+        for (int n = 0; out.length() < size; n++) {
+            if (n > 0)
+                out.append(",\n");
+            String country = "" + (char) ('A' + random.nextInt(26)) + (char) ('A' + random.nextInt(26));
+            out.append("  {\"code\":\"").append(country).append('-').append(random.nextInt(1000))
+                    .append("\",\"name\":\"").append(word(random)).append(' ').append(word(random))
+                    .append("\",\"type\":\"").append(random.nextBoolean() ? "province" : "region")
+                    .append("\",\"parent\":").append(random.nextInt(4) == 0 ? "null" : "\"" + country + "\"")
+                    .append(",\"lat\":").append(String.format(Locale.ROOT, "%.4f", random.nextDouble() * 180 - 90))
+                    .append(",\"lng\":").append(String.format(Locale.ROOT, "%.4f", random.nextDouble() * 360 - 180))
+                    .append(",\"population\":").append(random.nextInt(5_000_000))
+                    .append(",\"updated\":\"20").append(10 + random.nextInt(14)).append("-0")
+                    .append(1 + random.nextInt(9)).append("-1").append(random.nextInt(10)).append("\"}");
+        }
+        return out.append("\n]}\n").toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static String secret(Random random, int n) {
+        return switch (n % 4) {
+            case 0 -> "\"ghp_" + alnum(random, 36) + "\"";
+            case 1 -> "{ accessKeyId: \"AKIA" + alnum(random, 16).toUpperCase() + "\" }";
+            case 2 -> "\"xoxb-" + digits(random, 12) + "-" + digits(random, 12) + "-" + alnum(random, 24) + "\"";
+            default -> "\"sk_live_" + alnum(random, 32) + "\"";
+        };
+    }
+
+    private static String word(Random random) {
+        String vowels = "aeiou";
+        String consonants = "bcdfghklmnprstvz";
+        StringBuilder word = new StringBuilder();
+        int length = 4 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            String pool = i % 2 == 0 ? consonants : vowels;
+            char c = pool.charAt(random.nextInt(pool.length()));
+            word.append(i == 0 ? Character.toUpperCase(c) : c);
+        }
+        return word.toString();
+    }
+
+    private static String alnum(Random random, int length) {
+        StringBuilder out = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            out.append(ALNUM.charAt(random.nextInt(ALNUM.length())));
+        }
+        return out.toString();
+    }
+
+    private static String digits(Random random, int length) {
+        StringBuilder out = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            out.append((char) ('0' + random.nextInt(10)));
+        }
+        return out.toString();
+    }
+
+    private static String hex(Random random, int length) {
+        StringBuilder out = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            out.append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return out.toString();
+    }
+
+    private static byte[] resource(String name) {
+        try (InputStream in = Corpus.class.getResourceAsStream("/corpus/" + name)) {
+            if (in == null)
+                throw new IOException("Missing corpus file " + name);
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.arqsz.burpgitleaks.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.ahocorasick.trie.Emit;
+import org.ahocorasick.trie.Trie;
+
+import com.arqsz.burpgitleaks.config.GitleaksRule;
+import com.arqsz.burpgitleaks.config.PluginSettings;
+import com.arqsz.burpgitleaks.config.RuleLoader;
+import com.arqsz.burpgitleaks.config.RuleLoader.GitleaksConfiguration;
+import com.arqsz.burpgitleaks.decoding.Decoder;
+import com.arqsz.burpgitleaks.decoding.Decoders;
+import com.arqsz.burpgitleaks.scan.GitleaksScanCheck;
+import com.arqsz.burpgitleaks.scan.RuleSetMatcher;
+import com.arqsz.burpgitleaks.scan.ScanTier;
+import com.arqsz.burpgitleaks.support.Burp;
+import com.arqsz.burpgitleaks.support.MemoryPreferences;
+import com.arqsz.burpgitleaks.utils.ByteText;
+import com.google.re2j.Matcher;
+
+import burp.api.montoya.MontoyaApi;
+import burp.api.montoya.http.message.HttpRequestResponse;
+
+/**
+ * Compares the scan engine with the original per-rule loop on the
+ * {@link Corpus}, using the bundled rules. Not a test; run it with
+ *
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.arqsz.burpgitleaks.bench.ScanBenchmark [-Dexec.args="runs"]
+ * </pre>
+ *
+ * Each figure is the best of {@code runs} (default 5) after one warm-up.
+ * "baseline" is the loop the extension started with: one keyword trie parse
+ * of the body as a String, then every rule regex whose keywords hit, or all
+ * of them when no keyword hits, run over the whole body. "engine" is
+ * {@link GitleaksScanCheck#doCheck} with decoders and the result cache off,
+ * so both sides do the same job. "parallel" is the engine again with
+ * parallel scanning on for every body of 16 KB or more, to measure where the
+ * split starts to pay off on the machine at hand. The prefilter columns time
+ * the keyword pass alone.
+ */
+public final class ScanBenchmark {
+
+    private ScanBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        Burp.install();
+        MontoyaApi api = Burp.api();
+        GitleaksConfiguration config = RuleLoader.loadConfiguration(null, api.logging(), false, false);
+        PluginSettings settings = new PluginSettings(new MemoryPreferences());
+        settings.setResultCacheEnabled(false);
+        settings.setMaxScanSizeMb(10);
+        settings.setDisabledDecoders(Decoders.ALL.stream().map(Decoder::name).toList());
+        settings.setParallelThresholdKb(16);
+        GitleaksScanCheck check = new GitleaksScanCheck(api, config, settings);
+        BaselineLoop baseline = new BaselineLoop(config.rules());
+        RuleSetMatcher matcher = new RuleSetMatcher(config.rules());
+
+        System.out.printf(Locale.ROOT, "%d rules, best of %d run(s), %d CPU(s), %s %s%n%n", config.rules().size(),
+                runs, Runtime.getRuntime().availableProcessors(), System.getProperty("java.vm.name"),
+                System.getProperty("java.version"));
+        System.out.printf(Locale.ROOT, "%-22s %9s | %12s %6s %5s | %12s %6s %12s | %12s %12s%n", "file", "size",
+                "baseline ms", "regex", "hits", "engine ms", "issues", "parallel ms", "trie ms", "matcher ms");
+
+        try {
+            for (Corpus.Entry entry : Corpus.load()) {
+                byte[] body = entry.body();
+                HttpRequestResponse message = Burp.get("https://bench.example.com/" + entry.name(),
+                        "Content-Type: application/javascript", body);
+                String text = new String(body, StandardCharsets.ISO_8859_1);
+
+                int[] counts = baseline.scan(text);
+                double baselineMs = best(runs, () -> baseline.scan(text));
+                int issues = check.doCheck(message, false, ScanTier.FULL).auditIssues().size();
+                double engineMs = best(runs, () -> check.doCheck(message, false, ScanTier.FULL));
+                settings.setParallelScanEnabled(true);
+                double parallelMs = best(runs, () -> check.doCheck(message, false, ScanTier.FULL));
+                settings.setParallelScanEnabled(false);
+                double trieMs = best(runs, () -> baseline.keywords(text));
+                double matcherMs = best(runs, () -> matcher.match(new ByteText(body)));
+
+                System.out.printf(Locale.ROOT, "%-22s %9s | %12.1f %6d %5d | %12.1f %6d %12.1f | %12.2f %12.2f%n",
+                        entry.name(), size(body.length), baselineMs, counts[0], counts[1], engineMs, issues,
+                        parallelMs, trieMs, matcherMs);
+            }
+        } finally {
+            check.shutdown();
+        }
+    }
+
+    private static double best(int runs, Supplier<?> work) {
+        work.get();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            work.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+
+    private static String size(int bytes) {
+        return bytes >= 1024 * 1024
+                ? String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024))
+                : String.format(Locale.ROOT, "%d KB", (bytes + 1023) / 1024);
+    }
+
+    /**
+     * The rule loop as it was before the rule-set matcher, reduced to its
+     * regex stage: returns the number of regexes run and of raw matches.
+     */
+    static final class BaselineLoop {
+        private final List<GitleaksRule> rules;
+        private final Trie trie;
+
+        BaselineLoop(List<GitleaksRule> rules) {
+            this.rules = rules;
+            Trie.TrieBuilder builder = Trie.builder().ignoreCase();
+            for (GitleaksRule rule : rules) {
+                for (String keyword : rule.getKeywords()) {
+                    builder.addKeyword(keyword.toLowerCase(Locale.ROOT));
+                }
+            }
+            this.trie = builder.build();
+        }
+
+        Set<String> keywords(String body) {
+            Set<String> found = new HashSet<>();
+            for (Emit emit : trie.parseText(body)) {
+                found.add(emit.getKeyword().toLowerCase(Locale.ROOT));
+            }
+            return found;
+        }
+
+        int[] scan(String body) {
+            Set<String> found = keywords(body);
+            int regexes = 0;
+            int hits = 0;
+            for (GitleaksRule rule : rules) {
+                if (rule.getRegex() == null)
+                    continue;
+                if (!rule.getKeywords().isEmpty() && !found.isEmpty()
+                        && rule.getKeywords().stream().noneMatch(found::contains))
+                    continue;
+                regexes++;
+                Matcher matcher = rule.getRegex().matcher(body);
+                while (matcher.find()) {
+                    hits++;
+                }
+            }
+            return new int[] { regexes, hits };
+        }
+    }
+}
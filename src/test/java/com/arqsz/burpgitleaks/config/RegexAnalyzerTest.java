@@ -0,0 +1,45 @@
+package com.arqsz.burpgitleaks.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class RegexAnalyzerTest {
+
+    @Test
+    void boundedRepetition() {
+        assertEquals(40, RegexAnalyzer.maxMatchLength("ghp_[0-9a-zA-Z]{36}"));
+        assertEquals(18, RegexAnalyzer.maxMatchLength("(?i)xox[bp]-[0-9]{10,13}"));
+        assertEquals(6, RegexAnalyzer.maxMatchLength("x{3,5}y?"));
+    }
+
+    @Test
+    void alternationTakesLongestBranch() {
+        assertEquals(20, RegexAnalyzer.maxMatchLength("\\b((?:A3T[A-Z0-9]|AKIA|ASIA)[A-Z2-7]{16})\\b"));
+        assertEquals(6, RegexAnalyzer.maxMatchLength("(?:foo|barbar)"));
+    }
+
+    @Test
+    void unboundedRepetition() {
+        assertEquals(RegexAnalyzer.UNBOUNDED, RegexAnalyzer.maxMatchLength("[a-z]+"));
+        assertEquals(RegexAnalyzer.UNBOUNDED, RegexAnalyzer.maxMatchLength("a.*b"));
+        assertEquals(RegexAnalyzer.UNBOUNDED, RegexAnalyzer.maxMatchLength("ey[a-z]{17,}"));
+    }
+
+    @Test
+    void unknownSyntaxIsUnbounded() {
+        assertEquals(RegexAnalyzer.UNBOUNDED, RegexAnalyzer.maxMatchLength("abc(?P<name"));
+        assertEquals(RegexAnalyzer.UNBOUNDED, RegexAnalyzer.maxMatchLength(""));
+        assertEquals(RegexAnalyzer.UNBOUNDED, RegexAnalyzer.maxMatchLength(null));
+    }
+
+    @Test
+    void literalPrefix() {
+        assertEquals(4, RegexAnalyzer.literalPrefixLength("\\bghp_[0-9a-zA-Z]{36}"));
+        assertEquals(3, RegexAnalyzer.literalPrefixLength("(?i)(?:ghu|ghs)_[0-9a-zA-Z]{36}"));
+        assertEquals(3, RegexAnalyzer.literalPrefixLength("(?i)xox[bp]-[0-9]{10,13}"));
+        assertEquals(1, RegexAnalyzer.literalPrefixLength("a.*b"));
+        assertEquals(0, RegexAnalyzer.literalPrefixLength("[\\w.-]{0,50}?(?:key)"));
+        assertEquals(0, RegexAnalyzer.literalPrefixLength("x{3,5}"));
+    }
+}
@@ -0,0 +1,158 @@
+package com.arqsz.burpgitleaks.decoding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.arqsz.burpgitleaks.utils.ByteText;
+
+class DecodersTest {
+
+    private record Span(int start, int end, String decoded) {
+    }
+
+    private static List<Span> decode(Decoder decoder, String content) {
+        List<Span> spans = new ArrayList<>();
+        decoder.decode(new ByteText(content.getBytes(StandardCharsets.ISO_8859_1)), (start, end, decoded) -> {
+            spans.add(new Span(start, end, decoded.toString()));
+            return true;
+        });
+        return spans;
+    }
+
+    private static String base64(String s) {
+        return Base64.getEncoder().encodeToString(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void base64() {
+        String blob = base64("aws_secret_access_key=abcdefgh");
+        String content = "x = \"" + blob + "\";";
+        assertEquals(List.of(new Span(5, 5 + blob.length(), "aws_secret_access_key=abcdefgh")),
+                decode(new Base64Decoder(), content));
+    }
+
+    @Test
+    void base64UrlSafeAlphabet() {
+        String blob = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"k\":\"?>?>?>?>?>\"}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(List.of(new Span(0, blob.length(), "{\"k\":\"?>?>?>?>?>\"}")),
+                decode(new Base64Decoder(), blob));
+    }
+
+    @Test
+    void base64RejectsIdentifiersAndBinary() {
+        assertEquals(List.of(), decode(new Base64Decoder(), "someVeryLongCamelCaseIdentifierName"));
+        String binary = Base64.getEncoder().encodeToString(new byte[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12,
+                13, 14, 15, 16, 17, 18, 19, 20 });
+        assertEquals(List.of(), decode(new Base64Decoder(), binary));
+        assertEquals(List.of(), decode(new Base64Decoder(), "c2hvcnQ="));
+    }
+
+    @Test
+    void url() {
+        assertEquals(List.of(new Span(0, 33, "?next=token=ghp_abc&x=a b")),
+                decode(new UrlDecoder(), "?next=token%3Dghp_abc%26x%3Da%20b \"tail\""));
+    }
+
+    @Test
+    void hex() {
+        String hex = "70617373776f72643d73757065727365637265743132";
+        assertEquals(List.of(new Span(4, 4 + hex.length(), "password=supersecret12")),
+                decode(new HexDecoder(), "id: " + hex + " end"));
+        assertEquals(List.of(), decode(new HexDecoder(), "deadbeefdeadbeefdeadbeefdeadbeefz"));
+    }
+
+    @Test
+    void unicodeEscapes() {
+        assertEquals(List.of(new Span(1, 27, "API_KEY=\"x\"")),
+                decode(new UnicodeEscapeDecoder(), "\"\\u0041PI_KEY=\\u0022x\\u0022\""));
+    }
+
+    @Test
+    void htmlEntities() {
+        assertEquals(List.of(new Span(7, 45, "{\"token\":\"a&b\"}")),
+                decode(new HtmlEntityDecoder(), "<input {&quot;token&quot;:&quot;a&amp;b&#34;}>"));
+    }
+
+    @Test
+    void jwtHeaderAndPayload() {
+        String header = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"api_key\":\"xyz\"}".getBytes(StandardCharsets.UTF_8));
+        String token = header + "." + payload + ".c2lnbmF0dXJl";
+        assertEquals(List.of(new Span(7, 7 + token.length(), "{\"alg\":\"HS256\"}\n{\"api_key\":\"xyz\"}")),
+                decode(new JwtDecoder(), "Bearer " + token));
+    }
+
+    @Test
+    void gzipInBase64() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write("{\"secret\":\"inside gzip\"}".getBytes(StandardCharsets.UTF_8));
+        }
+        String blob = Base64.getEncoder().encodeToString(bytes.toByteArray());
+        assertEquals(List.of(new Span(2, 2 + blob.length(), "{\"secret\":\"inside gzip\"}")),
+                decode(new GzipBase64Decoder(), "= " + blob));
+    }
+
+    @Test
+    void sinkCanStopDecoding() {
+        String blob = base64("first blob with some text");
+        List<Span> seen = new ArrayList<>();
+        new Base64Decoder().decode(new ByteText((blob + " " + blob).getBytes(StandardCharsets.ISO_8859_1)),
+                (start, end, decoded) -> {
+                    seen.add(new Span(start, end, decoded.toString()));
+                    return false;
+                });
+        assertEquals(1, seen.size());
+    }
+
+    @Test
+    void spansAreOfferedBeforeDecoding() {
+        String blob = base64("first blob with some text");
+        String binary = Base64.getEncoder().encodeToString(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13,
+                14, 15, 16, 17, 18 });
+        String content = blob + " " + binary + " " + blob;
+        List<String> events = new ArrayList<>();
+        new Base64Decoder().decode(new ByteText(content.getBytes(StandardCharsets.ISO_8859_1)),
+                new Decoder.Sink() {
+                    @Override
+                    public Decoder.Action offer(int start, int end) {
+                        events.add("offer " + start);
+                        return start == 0 ? Decoder.Action.SKIP : Decoder.Action.DECODE;
+                    }
+
+                    @Override
+                    public void reject(int start, int end) {
+                        events.add("reject " + start);
+                    }
+
+                    @Override
+                    public boolean accept(int start, int end, ByteText decoded) {
+                        events.add("accept " + start);
+                        return true;
+                    }
+                });
+
+        int second = blob.length() + 1;
+        int third = second + binary.length() + 1;
+        assertEquals(List.of("offer 0", "offer " + second, "reject " + second, "offer " + third, "accept " + third),
+                events);
+    }
+
+    @Test
+    void enabledFiltersByName() {
+        assertEquals(Decoders.ALL.size() - 2, Decoders.enabled(List.of("Hex", "URL")).size());
+        assertEquals(Decoders.ALL, Decoders.enabled(List.of()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.arqsz.burpgitleaks.scan;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.arqsz.burpgitleaks.support.Burp;
+
+import burp.api.montoya.http.message.HttpRequestResponse;
+
+class DeepScanSpoolTest {
+
+    private final DeepScanSpool spool = new DeepScanSpool(Burp.api().logging(), 4096);
+
+    @BeforeAll
+    static void installBurp() {
+        Burp.install();
+    }
+
+    @AfterEach
+    void tearDown() {
+        spool.shutdown();
+    }
+
+    @Test
+    void messagesRoundTripThroughTheirFile() {
+        HttpRequestResponse message = Burp.get("https://example.com/a.js", "var key = 'x';");
+
+        DeepScanSpool.Entry entry = spool.write(message);
+        HttpRequestResponse read = spool.read(entry);
+
+        assertEquals("https://example.com/a.js", read.request().url());
+        assertArrayEquals(message.request().toByteArray().getBytes(), read.request().toByteArray().getBytes());
+        assertEquals("var key = 'x';", new String(read.response().body().getBytes(), StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void deleteFreesTheBudgetAndTheFile() {
+        DeepScanSpool.Entry entry = spool.write(Burp.get("https://example.com/a.js", "x"));
+        assertTrue(Files.exists(entry.file()));
+        assertEquals(entry.bytes(), spool.bytes());
+
+        spool.delete(entry);
+        spool.delete(entry);
+
+        assertFalse(Files.exists(entry.file()));
+        assertEquals(0, spool.bytes());
+    }
+
+    @Test
+    void refusesMessagesOverBudgetAndAfterShutdown() {
+        assertNull(spool.write(Burp.get("https://example.com/big", "Content-Type: text/plain", new byte[8192])));
+
+        DeepScanSpool.Entry entry = spool.write(Burp.get("https://example.com/a.js", "x"));
+        assertNotNull(entry);
+        spool.shutdown();
+
+        assertFalse(Files.exists(entry.file()));
+        assertFalse(Files.exists(entry.file().getParent()));
+        assertNull(spool.write(Burp.get("https://example.com/b.js", "x")));
+    }
+}
@@ -0,0 +1,285 @@
+package com.arqsz.burpgitleaks.scan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.arqsz.burpgitleaks.config.GitleaksRule;
+import com.arqsz.burpgitleaks.config.PluginSettings;
+import com.arqsz.burpgitleaks.config.RuleLoader.GitleaksConfiguration;
+import com.arqsz.burpgitleaks.support.Burp;
+import com.arqsz.burpgitleaks.support.MemoryPreferences;
+
+import burp.api.montoya.http.message.HttpRequestResponse;
+import burp.api.montoya.scanner.audit.issues.AuditIssue;
+
+class GitleaksScanCheckTest {
+
+    private static final int CHUNK = 1024;
+
+    private PluginSettings settings;
+    private GitleaksScanCheck check;
+
+    @BeforeAll
+    static void installBurp() {
+        Burp.install();
+    }
+
+    @BeforeEach
+    void setUp() {
+        settings = new PluginSettings(new MemoryPreferences());
+        settings.setResultCacheEnabled(false);
+        check = new GitleaksScanCheck(Burp.api(), new GitleaksConfiguration(List.of(
+                rule("github-pat", "ghp_[0-9a-zA-Z]{36}", "ghp_"),
+                rule("generic-token", "token=([a-z0-9]{24})", "token=")), List.of()), settings);
+    }
+
+    @AfterEach
+    void tearDown() {
+        check.shutdown();
+    }
+
+    @Test
+    void findsSecretWithMarkersOnResponse() {
+        String secret = token(1);
+        HttpRequestResponse message = Burp.get("https://example.com/app.js", "var x = \"" + secret + "\";");
+
+        List<AuditIssue> issues = check.doCheck(message, false, ScanTier.FULL).auditIssues();
+
+        assertEquals(1, issues.size());
+        assertEquals("Secret leakage: github-pat", issues.get(0).name());
+        int bodyOffset = message.response().bodyOffset();
+        assertEquals(List.of(bodyOffset + 9, bodyOffset + 9 + secret.length()),
+                markers(issues.get(0)).get("response"));
+    }
+
+    @Test
+    void streamedBodyReportsMatchesAcrossChunkBoundariesOnce() {
+        // Secrets straddling, starting at and ending at chunk boundaries, plus a
+        // repeated one that lies in the overlap of two consecutive chunks.
+        byte[] body = filler(1_100 * CHUNK + 123);
+        int[] starts = { 7 * CHUNK - 10, 20 * CHUNK, 33 * CHUNK - 40, 50 * CHUNK - 3, 50 * CHUNK + 60,
+                700 * CHUNK - 1, 1_099 * CHUNK + 5 };
+        for (int i = 0; i < starts.length; i++) {
+            put(body, starts[i], token(i));
+        }
+        put(body, 80 * CHUNK - 20, "token=abcdefghijklmnop01234567");
+
+        settings.setMaxScanSizeMb(10);
+        List<String> whole = describe(check.doCheck(Burp.get("https://example.com/a.js", "", body), false,
+                ScanTier.FULL).auditIssues());
+
+        settings.setMaxScanSizeMb(1);
+        settings.setChunkSizeKb(1);
+        List<String> streamed = describe(check.doCheck(Burp.get("https://example.com/a.js", "", body), false,
+                ScanTier.FULL).auditIssues());
+
+        assertEquals(starts.length + 1, whole.size(), whole::toString);
+        assertEquals(whole, streamed);
+    }
+
+    @Test
+    void repeatedMatchOnlyReportedPerOccurrence() {
+        String secret = token(3);
+        byte[] body = filler(3 * CHUNK * 1024 / 2);
+        for (int start = CHUNK - 20; start < body.length - 100; start += 900) {
+            put(body, start, secret);
+        }
+
+        settings.setMaxScanSizeMb(10);
+        List<String> whole = describe(check.doCheck(Burp.get("https://example.com/a.js", "", body), false,
+                ScanTier.FULL).auditIssues());
+
+        settings.setMaxScanSizeMb(1);
+        settings.setChunkSizeKb(1);
+        List<String> streamed = describe(check.doCheck(Burp.get("https://example.com/a.js", "", body), false,
+                ScanTier.FULL).auditIssues());
+
+        assertEquals(whole, streamed);
+    }
+
+    @Test
+    void parallelScanReportsMatchesAcrossPieceEdges() {
+        // Every 900 bytes, so some secrets straddle the edges of the parallel pieces.
+        String secret = token(5);
+        byte[] body = filler(3 * CHUNK * 1024 / 2);
+        int count = 0;
+        for (int start = CHUNK - 20; start < body.length - 100; start += 900) {
+            put(body, start, secret);
+            count++;
+        }
+        settings.setMaxScanSizeMb(10);
+
+        List<String> serial = describe(check.doCheck(Burp.get("https://example.com/a.js", "", body), false,
+                ScanTier.FULL).auditIssues());
+
+        settings.setParallelScanEnabled(true);
+        settings.setParallelThresholdKb(16);
+        List<String> parallel = describe(check.doCheck(Burp.get("https://example.com/a.js", "", body), false,
+                ScanTier.FULL).auditIssues());
+
+        assertEquals(count, serial.size());
+        assertEquals(serial, parallel);
+    }
+
+    @Test
+    void decodedLayerIsReportedOnEncodedSpan() {
+        String secret = token(4);
+        String encoded = java.util.Base64.getEncoder()
+                .encodeToString(("{\"key\":\"" + secret + "\"}").getBytes(StandardCharsets.ISO_8859_1));
+        String body = "data=" + encoded + "; more=" + encoded + ";";
+        HttpRequestResponse message = Burp.get("https://example.com/c", body);
+
+        List<AuditIssue> issues = check.doCheck(message, false, ScanTier.FULL).auditIssues();
+
+        int bodyOffset = message.response().bodyOffset();
+        List<List<Integer>> expected = List.of(
+                List.of(bodyOffset + 5, bodyOffset + 5 + encoded.length()),
+                List.of(bodyOffset + body.indexOf(encoded, 6), bodyOffset + body.indexOf(encoded, 6) + encoded.length()));
+        List<List<Integer>> actual = new ArrayList<>();
+        for (AuditIssue issue : issues) {
+            actual.add(markers(issue).get("response"));
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void messagePartsAreScannedWithHardSegmentBounds() {
+        check.updateConfig(new GitleaksConfiguration(List.of(
+                rule("spaced-key", "key\\s+([a-z0-9]{24})", "key")), List.of()));
+        settings.setScanResponseHeadersEnabled(true);
+        String value = "abcdefghijklmnopqrstuvwx";
+        String headers = value + ": 1\r\nX-Auth: key " + value;
+        // The body ends in a keyword and the headers segment starts with a value;
+        // a match across the two exists in the buffer, but not in the message.
+        HttpRequestResponse message = Burp.get("https://example.com/d", headers,
+                "the key".getBytes(StandardCharsets.ISO_8859_1));
+
+        List<AuditIssue> issues = check.doCheck(message, false, ScanTier.FULL).auditIssues();
+
+        assertEquals(1, issues.size());
+        assertEquals("Secret leakage: spaced-key", issues.get(0).name());
+        int start = ("HTTP/1.1 200 OK\r\n" + headers).indexOf("key " + value);
+        assertEquals(List.of(start, start + 4 + value.length()), markers(issues.get(0)).get("response"));
+    }
+
+    @Test
+    void keywordInHeadersDoesNotMakeTheBodyACandidate() {
+        check.updateConfig(new GitleaksConfiguration(List.of(
+                rule("keyed-hex", "[a-f0-9]{32}", "apikey")), List.of()));
+        settings.setResultCacheEnabled(true);
+        settings.setScanResponseHeadersEnabled(true);
+        byte[] body = "id=0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.ISO_8859_1);
+
+        assertEquals(0, check.doCheck(Burp.get("https://example.com/e", "X-Apikey: set", body), false,
+                ScanTier.FULL).auditIssues().size());
+        assertEquals(0, check.doCheck(Burp.get("https://example.com/e", "X-Other: set", body), false,
+                ScanTier.FULL).auditIssues().size());
+        assertEquals(1, check.getResultCache().stats().hits());
+
+        List<AuditIssue> keyed = check.doCheck(Burp.get("https://example.com/e", "X-Other: set",
+                "apikey=0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.ISO_8859_1)), false,
+                ScanTier.FULL).auditIssues();
+        assertEquals(1, keyed.size());
+    }
+
+    @Test
+    void fastTierOnlyDefersMessagesTheSkippedRulesCouldMatch() throws Exception {
+        check.updateConfig(new GitleaksConfiguration(List.of(
+                rule("github-pat", "ghp_[0-9a-zA-Z]{36}", "ghp_"),
+                rule("generic-api-key", "key=([a-z0-9]{24})", "key=")), List.of()));
+        ScanQueue queue = new ScanQueue(Burp.api().logging(), settings, () -> true);
+        List<AuditIssue> late = new CopyOnWriteArrayList<>();
+        check.setDeepScanQueue(queue);
+        check.setLateIssueHandler(late::add);
+
+        try {
+            String secret = token(1);
+            assertEquals(1, check.doCheck(Burp.get("https://example.com/a.js", "var x = \"" + secret + "\";"), false,
+                    ScanTier.FAST).auditIssues().size());
+            assertEquals(0, check.doCheck(Burp.get("https://example.com/pad.js",
+                    "var pad = \"AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA\";"), false, ScanTier.FAST).auditIssues().size());
+            assertEquals(0, check.getShedStats().snapshot().pending());
+
+            assertEquals(0, check.doCheck(Burp.get("https://example.com/b.js", "key=abcdefghijklmnopqrstuvwx"), false,
+                    ScanTier.FAST).auditIssues().size());
+            String encoded = Base64.getEncoder().encodeToString(
+                    "key=zyxwvutsrqponmlkjihgfedc".getBytes(StandardCharsets.ISO_8859_1));
+            assertEquals(0, check.doCheck(Burp.get("https://example.com/c.js", "var blob = \"" + encoded + "\";"),
+                    false, ScanTier.FAST).auditIssues().size());
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (late.size() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(2, late.size());
+            assertEquals("Secret leakage: generic-api-key", late.get(0).name());
+            LoadShedStats.Snapshot stats = check.getShedStats().snapshot();
+            assertEquals(4, stats.fastScans());
+            assertEquals(2, stats.deepScans());
+        } finally {
+            queue.shutdown();
+        }
+    }
+
+    private static GitleaksRule rule(String id, String regex, String keyword) {
+        return new GitleaksRule(id, id, "test", 0, 0, regex, null, List.of(keyword), List.of(), 0);
+    }
+
+    private static String token(int seed) {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+        StringBuilder token = new StringBuilder("ghp_");
+        long state = 0x9E3779B97F4A7C15L * (seed + 1);
+        for (int i = 0; i < 36; i++) {
+            state = state * 6364136223846793005L + 1442695040888963407L;
+            token.append(alphabet.charAt((int) ((state >>> 33) % alphabet.length())));
+        }
+        return token.toString();
+    }
+
+    private static byte[] filler(int length) {
+        byte[] words = "lorem ipsum dolor sit amet, consectetur adipiscing elit;\n"
+                .getBytes(StandardCharsets.ISO_8859_1);
+        byte[] body = new byte[length];
+        for (int i = 0; i < length; i++) {
+            body[i] = words[i % words.length];
+        }
+        return body;
+    }
+
+    private static void put(byte[] body, int at, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+        System.arraycopy(bytes, 0, body, at, bytes.length);
+        // Keep the match from running into the filler on either side.
+        body[at - 1] = ' ';
+        body[at + bytes.length] = ' ';
+    }
+
+    private static Map<String, List<Integer>> markers(AuditIssue issue) {
+        Map.Entry<String, int[]> marker = Burp.markers(issue).entrySet().iterator().next();
+        return Map.of(marker.getKey(), List.of(marker.getValue()[0], marker.getValue()[1]));
+    }
+
+    private static List<String> describe(List<AuditIssue> issues) {
+        List<String> described = new ArrayList<>();
+        for (AuditIssue issue : issues) {
+            for (Map.Entry<String, int[]> marker : Burp.markers(issue).entrySet()) {
+                described.add(issue.name() + " " + marker.getKey() + " " + Arrays.toString(marker.getValue()));
+            }
+        }
+        described.sort(null);
+        return described;
+    }
+}
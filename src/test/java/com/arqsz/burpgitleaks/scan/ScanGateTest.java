@@ -0,0 +1,127 @@
+package com.arqsz.burpgitleaks.scan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.arqsz.burpgitleaks.config.PluginSettings;
+import com.arqsz.burpgitleaks.support.Burp;
+import com.arqsz.burpgitleaks.support.MemoryPreferences;
+import com.arqsz.burpgitleaks.support.TestBytes;
+
+import burp.api.montoya.http.handler.HttpResponseReceived;
+import burp.api.montoya.http.message.MimeType;
+import burp.api.montoya.http.message.requests.HttpRequest;
+
+class ScanGateTest {
+
+    private PluginSettings settings;
+    private ScanGate gate;
+
+    @BeforeAll
+    static void installBurp() {
+        Burp.install();
+    }
+
+    @BeforeEach
+    void setUp() {
+        settings = new PluginSettings(new MemoryPreferences());
+        gate = new ScanGate(Burp.api(), settings);
+    }
+
+    @Test
+    void passesText() {
+        assertNull(gate.check(response("var key = 'x';".getBytes(StandardCharsets.UTF_8), MimeType.SCRIPT)));
+        assertNull(gate.check(response("zażółć gęślą jaźń".getBytes(StandardCharsets.UTF_8), MimeType.HTML)));
+        assertEquals(2, gate.stats().passed());
+    }
+
+    @Test
+    void rejectsEmptyMediaAndBinaryBodies() {
+        assertEquals(ScanGate.Reason.EMPTY, gate.check(response(new byte[0], MimeType.HTML)));
+        assertEquals(ScanGate.Reason.MIME_TYPE, gate.check(response(new byte[] { 1, 2, 3 }, MimeType.IMAGE_PNG)));
+        assertEquals(ScanGate.Reason.BINARY, gate.check(response(new byte[] { 'P', 'K', 3, 4, 0, 0, 1, 2 },
+                MimeType.UNRECOGNIZED)));
+        assertEquals(1, gate.stats().rejected().get(ScanGate.Reason.BINARY));
+    }
+
+    @Test
+    void confirmsStatedMediaTypesOnly() {
+        HttpResponseReceived script = response("var key = 'x';".getBytes(StandardCharsets.UTF_8), MimeType.SCRIPT);
+        HttpResponseReceived mislabelled = response("{\"token\": \"x\"}".getBytes(StandardCharsets.UTF_8),
+                MimeType.IMAGE_PNG, MimeType.JSON);
+
+        assertNull(gate.check(script));
+        assertNull(gate.check(mislabelled));
+        verify(script, never()).inferredMimeType();
+    }
+
+    @Test
+    void rejectsBodiesAboveQueueBudget() {
+        settings.setQueueBudgetMb(1);
+
+        assertEquals(ScanGate.Reason.TOO_LARGE, gate.check(response(new byte[2 * 1024 * 1024], MimeType.HTML)));
+    }
+
+    @Test
+    void budgetCountsTheRequestAndHeadersLikeTheQueue() {
+        settings.setQueueBudgetMb(1);
+        HttpResponseReceived response = response(new byte[1024 * 1024 - 16], MimeType.HTML);
+
+        assertEquals(ScanGate.Reason.TOO_LARGE, gate.check(response));
+    }
+
+    @Test
+    void bodyChecksAreSkippedWhileHeadersAreScanned() {
+        settings.setScanResponseHeadersEnabled(true);
+
+        assertNull(gate.check(response(new byte[0], MimeType.IMAGE_PNG)));
+    }
+
+    @Test
+    void binarySniffing() {
+        assertFalse(ScanGate.looksBinary(TestBytes.of("plain\ttext\r\n")));
+        assertTrue(ScanGate.looksBinary(TestBytes.of(new byte[] { 0x1F, (byte) 0x8B, 8, 0, 0, 0, 0, 0, 0, 3 })));
+        assertFalse(ScanGate.looksBinary(TestBytes.of("\uFEFFtext".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void rejectsUtf16WithOrWithoutByteOrderMark() {
+        assertTrue(ScanGate.looksBinary(TestBytes.of("\uFEFFvar key = 'x';".getBytes(StandardCharsets.UTF_16BE))));
+        assertTrue(ScanGate.looksBinary(TestBytes.of("\uFEFFvar key = 'x';".getBytes(StandardCharsets.UTF_16LE))));
+        assertTrue(ScanGate.looksBinary(TestBytes.of("var key = 'x';".getBytes(StandardCharsets.UTF_16LE))));
+    }
+
+    private static HttpResponseReceived response(byte[] body, MimeType mimeType) {
+        return response(body, mimeType, mimeType);
+    }
+
+    private static HttpResponseReceived response(byte[] body, MimeType stated, MimeType inferred) {
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.toByteArray()).thenReturn(TestBytes.of("GET / HTTP/1.1\r\nHost: example.com\r\n\r\n"));
+        byte[] headers = "HTTP/1.1 200 OK\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] raw = new byte[headers.length + body.length];
+        System.arraycopy(headers, 0, raw, 0, headers.length);
+        System.arraycopy(body, 0, raw, headers.length, body.length);
+
+        HttpResponseReceived response = mock(HttpResponseReceived.class);
+        when(response.initiatingRequest()).thenReturn(request);
+        when(response.toByteArray()).thenReturn(TestBytes.of(raw));
+        when(response.body()).thenReturn(TestBytes.of(body));
+        when(response.inferredMimeType()).thenReturn(inferred);
+        when(response.statedMimeType()).thenReturn(stated);
+        when(response.mimeType()).thenReturn(stated);
+        return response;
+    }
+}
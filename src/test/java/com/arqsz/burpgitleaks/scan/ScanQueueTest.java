@@ -0,0 +1,245 @@
+package com.arqsz.burpgitleaks.scan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.arqsz.burpgitleaks.config.PluginSettings;
+import com.arqsz.burpgitleaks.config.PluginSettings.QueueOverflow;
+import com.arqsz.burpgitleaks.support.Burp;
+import com.arqsz.burpgitleaks.support.MemoryPreferences;
+
+import burp.api.montoya.http.message.HttpRequestResponse;
+
+class ScanQueueTest {
+
+    private PluginSettings settings;
+    private ScanQueue queue;
+    private final List<String> scanned = new CopyOnWriteArrayList<>();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean idle = true;
+
+    @BeforeAll
+    static void installBurp() {
+        Burp.install();
+    }
+
+    @BeforeEach
+    void setUp() {
+        settings = new PluginSettings(new MemoryPreferences());
+        settings.setScanWorkers(1);
+        queue = new ScanQueue(Burp.api().logging(), settings, () -> idle);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        queue.shutdown();
+    }
+
+    @Test
+    void repeaterOvertakesQueuedProxyTraffic() throws Exception {
+        blockWorker();
+        queue.offer(message("proxy", 10), ScanQueue.Lane.PROXY, true, record("proxy"));
+        queue.offer(message("out-of-scope", 10), ScanQueue.Lane.REPEATER, false, record("out-of-scope"));
+        queue.offer(message("repeater", 10), ScanQueue.Lane.REPEATER, true, record("repeater"));
+        queue.offer(message("manual", 10), ScanQueue.Lane.MANUAL, true, record("manual"));
+
+        assertEquals(List.of("blocker", "repeater", "manual", "proxy", "out-of-scope"), drain(5));
+    }
+
+    @Test
+    void capacityEvictsOldestQueuedMessage() throws Exception {
+        settings.setQueueCapacity(2);
+        blockWorker();
+        assertTrue(queue.offer(message("first", 10), ScanQueue.Lane.PROXY, true, record("first")));
+        assertTrue(queue.offer(message("second", 10), ScanQueue.Lane.PROXY, true, record("second")));
+        assertTrue(queue.offer(message("third", 10), ScanQueue.Lane.PROXY, true, record("third")));
+
+        assertEquals(1, queue.stats().dropped());
+        assertEquals(2, queue.stats().depth());
+        assertEquals(List.of("blocker", "second", "third"), drain(3));
+    }
+
+    @Test
+    void manualRescansKeepCapsAndEvictLowerLanesFirst() throws Exception {
+        settings.setQueueCapacity(2);
+        blockWorker();
+        assertTrue(queue.offer(message("proxy", 10), ScanQueue.Lane.PROXY, true, record("proxy")));
+        assertTrue(queue.offer(message("manual-1", 10), ScanQueue.Lane.MANUAL, true, record("manual-1")));
+        assertTrue(queue.offer(message("manual-2", 10), ScanQueue.Lane.MANUAL, true, record("manual-2")));
+        assertTrue(queue.offer(message("manual-3", 10), ScanQueue.Lane.MANUAL, true, record("manual-3")));
+        assertFalse(queue.offer(message("proxy-2", 10), ScanQueue.Lane.PROXY, true, record("proxy-2")));
+
+        assertEquals(2, queue.stats().depth());
+        assertEquals(3, queue.stats().dropped());
+        assertEquals(List.of("blocker", "manual-2", "manual-3"), drain(3));
+    }
+
+    @Test
+    void batchLargerThanCapacityWaitsInsteadOfEvictingItself() throws Exception {
+        settings.setQueueCapacity(2);
+        blockWorker();
+        assertTrue(queue.offer(message("proxy", 10), ScanQueue.Lane.PROXY, true, record("proxy")));
+        List<Boolean> queued = new CopyOnWriteArrayList<>();
+        Thread batch = new Thread(() -> {
+            try {
+                for (int i = 1; i <= 5; i++) {
+                    queued.add(queue.put(message("manual-" + i, 10), ScanQueue.Lane.MANUAL, true,
+                            record("manual-" + i), () -> scanned.add("dropped")));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        batch.start();
+        batch.join(200);
+
+        assertTrue(batch.isAlive());
+        assertEquals(2, queued.size());
+        assertEquals(List.of("blocker", "manual-1", "manual-2", "manual-3", "manual-4", "manual-5"), drain(6));
+        batch.join(5000);
+        assertEquals(List.of(true, true, true, true, true), queued);
+        assertEquals(1, queue.stats().dropped());
+    }
+
+    @Test
+    void evictedAndDiscardedMessagesRunTheirDropCallback() throws Exception {
+        settings.setQueueCapacity(1);
+        List<String> discarded = new CopyOnWriteArrayList<>();
+        blockWorker();
+        assertTrue(queue.offer(message("first", 10), ScanQueue.Lane.PROXY, true, record("first"),
+                () -> discarded.add("first")));
+        assertTrue(queue.offer(message("second", 10), ScanQueue.Lane.PROXY, true, record("second"),
+                () -> discarded.add("second")));
+        queue.shutdown();
+
+        assertEquals(List.of("first", "second"), discarded);
+    }
+
+    @Test
+    void byteBudgetDropsLargestOrRejectsOversizedMessage() throws Exception {
+        settings.setQueueBudgetMb(1);
+        settings.setQueueOverflow(QueueOverflow.DROP_LARGEST);
+        blockWorker();
+        assertTrue(queue.offer(message("large", 600 * 1024), ScanQueue.Lane.PROXY, true, record("large")));
+        assertTrue(queue.offer(message("small", 300 * 1024), ScanQueue.Lane.PROXY, true, record("small")));
+        assertTrue(queue.offer(message("medium", 500 * 1024), ScanQueue.Lane.PROXY, true, record("medium")));
+        assertFalse(queue.offer(message("huge", 2 * 1024 * 1024), ScanQueue.Lane.PROXY, true, record("huge")));
+
+        assertEquals(2, queue.stats().dropped());
+        assertEquals(List.of("blocker", "small", "medium"), drain(3));
+    }
+
+    @Test
+    void truncatePolicyShortensBodiesThatDoNotFit() throws Exception {
+        settings.setQueueBudgetMb(1);
+        settings.setQueueOverflow(QueueOverflow.TRUNCATE);
+        blockWorker();
+        assertTrue(queue.offer(message("large", 2 * 1024 * 1024), ScanQueue.Lane.PROXY, true, record("large")));
+
+        assertEquals(1, queue.stats().truncated());
+        assertTrue(queue.stats().queuedBytes() < ScanQueue.TRUNCATED_BODY_SIZE + 1024);
+        assertEquals(List.of("blocker", "large"), drain(2));
+    }
+
+    @Test
+    void rejectsOffersAfterShutdown() {
+        queue.shutdown();
+
+        assertFalse(queue.offer(message("late", 10), ScanQueue.Lane.REPEATER, true, record("late")));
+    }
+
+    @Test
+    void deepScansWaitBehindNewerTrafficWithoutTriggeringShedding() throws Exception {
+        settings.setShedQueueDepth(2);
+        blockWorker();
+        queue.defer(() -> scanned.add("deep-1"), () -> {
+        });
+        queue.defer(() -> scanned.add("deep-2"), () -> {
+        });
+        queue.defer(() -> scanned.add("deep-3"), () -> {
+        });
+        queue.offer(message("proxy", 10), ScanQueue.Lane.PROXY, false, record("proxy"));
+
+        assertEquals(List.of("blocker", "proxy", "deep-1", "deep-2", "deep-3"), drain(5));
+        assertEquals(0, queue.stats().shedEpisodes());
+    }
+
+    @Test
+    void deepScansWaitForAnIdleCpuUntilDue() throws Exception {
+        idle = false;
+        assertTrue(queue.defer(() -> scanned.add("deep"), () -> {
+        }));
+        assertTrue(queue.offer(message("repeater", 10), ScanQueue.Lane.REPEATER, true, record("repeater")));
+        Thread.sleep(700);
+
+        assertEquals(List.of("repeater"), scanned);
+        idle = true;
+        assertEquals(List.of("repeater", "deep"), drain(2));
+    }
+
+    @Test
+    void deferredJobsAreChargedCompactly() throws Exception {
+        blockWorker();
+        assertTrue(queue.defer(() -> scanned.add("deep"), () -> {
+        }));
+
+        assertEquals(ScanQueue.DEFERRED_JOB_BYTES, queue.stats().queuedBytes());
+    }
+
+    @Test
+    void newTrafficEvictsDeepScansFirst() throws Exception {
+        settings.setQueueCapacity(2);
+        List<String> discarded = new CopyOnWriteArrayList<>();
+        blockWorker();
+        assertTrue(queue.offer(message("proxy-1", 10), ScanQueue.Lane.PROXY, true, record("proxy-1")));
+        assertTrue(queue.defer(() -> scanned.add("deep"), () -> discarded.add("deep")));
+        assertTrue(queue.offer(message("proxy-2", 10), ScanQueue.Lane.PROXY, true, record("proxy-2")));
+
+        assertEquals(List.of("deep"), discarded);
+        assertEquals(List.of("blocker", "proxy-1", "proxy-2"), drain(3));
+    }
+
+    private void blockWorker() throws InterruptedException {
+        queue.offer(message("blocker", 10), ScanQueue.Lane.REPEATER, true, message -> {
+            scanned.add("blocker");
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+
+    private Consumer<HttpRequestResponse> record(String name) {
+        return message -> scanned.add(name);
+    }
+
+    private List<String> drain(int expected) throws InterruptedException {
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scanned.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return List.copyOf(scanned);
+    }
+
+    private static HttpRequestResponse message(String name, int bodySize) {
+        return Burp.get("https://example.com/" + name, "Content-Type: text/plain", new byte[bodySize]);
+    }
+}
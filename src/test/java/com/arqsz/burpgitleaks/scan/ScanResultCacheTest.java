@@ -0,0 +1,102 @@
+package com.arqsz.burpgitleaks.scan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.arqsz.burpgitleaks.config.GitleaksRule;
+import com.arqsz.burpgitleaks.scan.ScanResultCache.Finding;
+import com.arqsz.burpgitleaks.scan.ScanResultCache.Key;
+
+class ScanResultCacheTest {
+
+    private static final GitleaksRule RULE = new GitleaksRule("r", "r", "test", 0, 0, "x", null, List.of(),
+            List.of(), 0);
+
+    private final ScanResultCache cache = new ScanResultCache();
+
+    private static Key key(long hash) {
+        return new Key(hash, ~hash, 100, 1, new BitSet());
+    }
+
+    private static List<Finding> findings(int count) {
+        Finding finding = new Finding(RULE, 0, null, "secret", "key=secret", MessagePart.RESPONSE_BODY, 4, 10, 1, 5);
+        return java.util.Collections.nCopies(count, finding);
+    }
+
+    @BeforeEach
+    void configure() {
+        cache.configure(1, 1024, "settings");
+    }
+
+    @Test
+    void hitAfterPut() {
+        assertNull(cache.get(key(1)));
+        cache.put(key(1), findings(1));
+        assertEquals(findings(1), cache.get(key(1)));
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    void keyIncludesRuleVersionAndPathSignature() {
+        cache.put(key(1), findings(1));
+        BitSet signature = new BitSet();
+        signature.set(3);
+        assertNull(cache.get(new Key(1, ~1L, 100, 2, new BitSet())));
+        assertNull(cache.get(new Key(1, ~1L, 100, 1, signature)));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedOverBudget() {
+        cache.put(key(1), findings(2));
+        cache.put(key(2), findings(2));
+        cache.get(key(1));
+        cache.put(key(3), findings(2));
+
+        assertTrue(cache.stats().bytes() <= 1024);
+        assertEquals(1, cache.stats().evictions());
+        assertNull(cache.get(key(2)));
+        assertEquals(findings(2), cache.get(key(1)));
+    }
+
+    @Test
+    void entriesLargerThanBudgetAreNotStored() {
+        cache.put(key(1), findings(20));
+        assertEquals(0, cache.stats().entries());
+    }
+
+    @Test
+    void settingsChangeClearsEntries() {
+        cache.put(key(1), findings(1));
+        cache.configure(1, 1024, "settings");
+        assertEquals(1, cache.stats().entries());
+        cache.configure(2, 1024, "other settings");
+        assertEquals(0, cache.stats().entries());
+    }
+
+    @Test
+    void staleSettingsAreIgnored() {
+        cache.configure(2, 1024, "new settings");
+        cache.put(key(1), findings(1));
+        assertFalse(cache.configure(1, 1024, "settings"));
+        assertEquals(1, cache.stats().entries());
+        assertTrue(cache.configure(2, 1024, "new settings"));
+    }
+
+    @Test
+    void probesRememberStreamedBodies() {
+        assertFalse(cache.hasProbe(key(7)));
+        cache.addProbe(key(7));
+        assertTrue(cache.hasProbe(key(7)));
+        cache.clear();
+        assertFalse(cache.hasProbe(key(7)));
+    }
+}
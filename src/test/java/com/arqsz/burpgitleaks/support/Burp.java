@@ -0,0 +1,210 @@
+package com.arqsz.burpgitleaks.support;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import burp.api.montoya.MontoyaApi;
+import burp.api.montoya.core.ByteArray;
+import burp.api.montoya.core.Marker;
+import burp.api.montoya.core.Range;
+import burp.api.montoya.http.HttpService;
+import burp.api.montoya.http.message.HttpRequestResponse;
+import burp.api.montoya.http.message.MimeType;
+import burp.api.montoya.http.message.requests.HttpRequest;
+import burp.api.montoya.http.message.responses.HttpResponse;
+import burp.api.montoya.internal.MontoyaObjectFactory;
+import burp.api.montoya.internal.ObjectFactoryLocator;
+import burp.api.montoya.logging.Logging;
+import burp.api.montoya.scanner.AuditResult;
+import burp.api.montoya.scanner.audit.issues.AuditIssue;
+import burp.api.montoya.scope.Scope;
+import burp.api.montoya.sitemap.SiteMap;
+
+/**
+ * Stand-ins for the Burp objects the scanner touches. Burp normally provides
+ * the static factories behind {@code AuditIssue.auditIssue} or
+ * {@code Marker.marker}; {@link #install()} points them at Mockito mocks that
+ * keep the arguments needed by assertions.
+ */
+public final class Burp {
+
+    public static final List<String> LOG = new CopyOnWriteArrayList<>();
+
+    private Burp() {
+    }
+
+    public static void install() {
+        MontoyaObjectFactory factory = mock(MontoyaObjectFactory.class);
+        when(factory.marker(anyInt(), anyInt())).thenAnswer(call -> marker(call.getArgument(0), call.getArgument(1)));
+        when(factory.auditIssue(anyString(), anyString(), any(), anyString(), any(), any(), any(), any(), any(),
+                any(HttpRequestResponse[].class))).thenAnswer(call -> issue(call.getArgument(0), call.getArgument(1),
+                        call.getArgument(3), evidence(call.getArguments())));
+        when(factory.httpRequestResponse(any(), any())).thenAnswer(call -> {
+            HttpRequest request = call.getArgument(0);
+            HttpResponse response = call.getArgument(1);
+            return message(request, response, List.of(), List.of());
+        });
+        when(factory.byteArray(any(byte[].class))).thenAnswer(call -> TestBytes.of(call.<byte[]>getArgument(0)));
+        when(factory.httpRequest(any(HttpService.class), any(ByteArray.class))).thenAnswer(call -> {
+            HttpService service = call.getArgument(0);
+            String raw = new String(call.<ByteArray>getArgument(1).getBytes(), StandardCharsets.ISO_8859_1);
+            String target = raw.split(" ", 3)[1];
+            return request(raw, (service.secure() ? "https://" : "http://") + service.host() + target);
+        });
+        when(factory.httpResponse(any(ByteArray.class))).thenAnswer(call -> {
+            byte[] raw = call.<ByteArray>getArgument(0).getBytes();
+            String text = new String(raw, StandardCharsets.ISO_8859_1);
+            int lineEnd = text.indexOf("\r\n") + 2;
+            int headerEnd = text.startsWith("\r\n\r\n", lineEnd) ? lineEnd : text.indexOf("\r\n\r\n", lineEnd);
+            String headers = text.substring(lineEnd, headerEnd);
+            return response(headers, Arrays.copyOfRange(raw, headerEnd + 4, raw.length), MimeType.HTML);
+        });
+        when(factory.auditResult(anyList())).thenAnswer(call -> {
+            List<AuditIssue> issues = List.copyOf(call.<List<AuditIssue>>getArgument(0));
+            AuditResult result = mock(AuditResult.class);
+            when(result.auditIssues()).thenReturn(issues);
+            return result;
+        });
+        ObjectFactoryLocator.FACTORY = factory;
+    }
+
+    public static MontoyaApi api() {
+        MontoyaApi api = mock(MontoyaApi.class);
+        Logging logging = mock(Logging.class);
+        org.mockito.Mockito.doAnswer(call -> LOG.add(call.getArgument(0))).when(logging).logToOutput(anyString());
+        org.mockito.Mockito.doAnswer(call -> LOG.add(call.getArgument(0))).when(logging).logToError(anyString());
+        when(api.logging()).thenReturn(logging);
+        Scope scope = mock(Scope.class);
+        when(scope.isInScope(anyString())).thenReturn(true);
+        when(api.scope()).thenReturn(scope);
+        when(api.siteMap()).thenReturn(mock(SiteMap.class));
+        return api;
+    }
+
+    public static HttpRequestResponse get(String url, String body) {
+        return get(url, "Content-Type: text/html", body.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    public static HttpRequestResponse get(String url, String responseHeaders, byte[] body) {
+        return message(request("GET " + path(url) + " HTTP/1.1\r\nHost: " + host(url) + "\r\n\r\n", url),
+                response(responseHeaders, body, MimeType.HTML));
+    }
+
+    public static HttpRequestResponse message(HttpRequest request, HttpResponse response) {
+        return message(request, response, List.of(), List.of());
+    }
+
+    public static HttpRequest request(String raw, String url) {
+        ByteArray bytes = TestBytes.of(raw);
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.url()).thenReturn(url);
+        when(request.path()).thenReturn(path(url));
+        when(request.pathWithoutQuery()).thenReturn(path(url).replaceAll("\\?.*", ""));
+        when(request.toByteArray()).thenReturn(bytes);
+        int headerEnd = raw.indexOf("\r\n\r\n");
+        int bodyOffset = headerEnd < 0 ? raw.length() : headerEnd + 4;
+        when(request.bodyOffset()).thenReturn(bodyOffset);
+        when(request.body()).thenReturn(bytes.subArray(bodyOffset, raw.length()));
+        HttpService service = mock(HttpService.class);
+        when(service.host()).thenReturn(host(url));
+        when(service.port()).thenReturn(url.startsWith("https") ? 443 : 80);
+        when(service.secure()).thenReturn(url.startsWith("https"));
+        when(request.httpService()).thenReturn(service);
+        return request;
+    }
+
+    public static HttpResponse response(String headers, byte[] body, MimeType mimeType) {
+        byte[] head = ("HTTP/1.1 200 OK\r\n" + headers + "\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1);
+        byte[] raw = new byte[head.length + body.length];
+        System.arraycopy(head, 0, raw, 0, head.length);
+        System.arraycopy(body, 0, raw, head.length, body.length);
+
+        HttpResponse response = mock(HttpResponse.class);
+        when(response.body()).thenReturn(TestBytes.of(body));
+        when(response.toByteArray()).thenReturn(TestBytes.of(raw));
+        when(response.bodyOffset()).thenReturn(head.length);
+        when(response.inferredMimeType()).thenReturn(mimeType);
+        when(response.statedMimeType()).thenReturn(mimeType);
+        when(response.mimeType()).thenReturn(mimeType);
+        when(response.withBody(any(ByteArray.class)))
+                .thenAnswer(call -> response(headers, call.<ByteArray>getArgument(0).getBytes(), mimeType));
+        return response;
+    }
+
+    private static HttpRequestResponse message(HttpRequest request, HttpResponse response,
+            List<Marker> requestMarkers, List<Marker> responseMarkers) {
+        String url = request.url();
+        HttpService service = request.httpService();
+        HttpRequestResponse message = mock(HttpRequestResponse.class);
+        when(message.request()).thenReturn(request);
+        when(message.response()).thenReturn(response);
+        when(message.url()).thenReturn(url);
+        when(message.httpService()).thenReturn(service);
+        when(message.hasResponse()).thenReturn(response != null);
+        when(message.requestMarkers()).thenReturn(requestMarkers);
+        when(message.responseMarkers()).thenReturn(responseMarkers);
+        when(message.copyToTempFile()).thenReturn(message);
+        when(message.contains(anyString(), anyBoolean())).thenReturn(false);
+        when(message.withRequestMarkers(anyList()))
+                .thenAnswer(call -> message(request, response, call.getArgument(0), responseMarkers));
+        when(message.withResponseMarkers(anyList()))
+                .thenAnswer(call -> message(request, response, requestMarkers, call.getArgument(0)));
+        return message;
+    }
+
+    private static Marker marker(int start, int end) {
+        Range range = mock(Range.class);
+        when(range.startIndexInclusive()).thenReturn(start);
+        when(range.endIndexExclusive()).thenReturn(end);
+        Marker marker = mock(Marker.class);
+        when(marker.range()).thenReturn(range);
+        return marker;
+    }
+
+    private static HttpRequestResponse[] evidence(Object[] arguments) {
+        // Mockito expands the trailing varargs into separate arguments
+        Object[] tail = Arrays.copyOfRange(arguments, 9, arguments.length);
+        return Arrays.copyOf(tail, tail.length, HttpRequestResponse[].class);
+    }
+
+    private static AuditIssue issue(String name, String detail, String baseUrl, HttpRequestResponse[] evidence) {
+        AuditIssue issue = mock(AuditIssue.class);
+        when(issue.name()).thenReturn(name);
+        when(issue.detail()).thenReturn(detail);
+        when(issue.baseUrl()).thenReturn(baseUrl);
+        when(issue.requestResponses()).thenReturn(List.of(evidence));
+        return issue;
+    }
+
+    /** Marker ranges of an issue as {@code part -> [start, end)} of its only evidence. */
+    public static Map<String, int[]> markers(AuditIssue issue) {
+        HttpRequestResponse evidence = issue.requestResponses().get(0);
+        if (!evidence.requestMarkers().isEmpty())
+            return Map.of("request", range(evidence.requestMarkers().get(0)));
+        return Map.of("response", range(evidence.responseMarkers().get(0)));
+    }
+
+    private static int[] range(Marker marker) {
+        return new int[] { marker.range().startIndexInclusive(), marker.range().endIndexExclusive() };
+    }
+
+    private static String host(String url) {
+        return url.replaceFirst("^https?://", "").replaceFirst("[/?].*", "");
+    }
+
+    private static String path(String url) {
+        String rest = url.replaceFirst("^https?://[^/?]*", "");
+        return rest.isEmpty() ? "/" : rest;
+    }
+}
@@ -0,0 +1,220 @@
+package com.arqsz.burpgitleaks.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.regex.Pattern;
+
+import burp.api.montoya.core.ByteArray;
+import burp.api.montoya.core.Range;
+
+/**
+ * Plain byte[] backed {@link ByteArray}, since Burp's own implementation is
+ * only available inside Burp. Implements what the extension uses.
+ */
+public final class TestBytes implements ByteArray {
+
+    private final byte[] data;
+
+    private TestBytes(byte[] data) {
+        this.data = data;
+    }
+
+    public static TestBytes of(byte[] data) {
+        return new TestBytes(data);
+    }
+
+    public static TestBytes of(String text) {
+        return new TestBytes(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Override
+    public byte getByte(int index) {
+        return data[index];
+    }
+
+    @Override
+    public int length() {
+        return data.length;
+    }
+
+    @Override
+    public byte[] getBytes() {
+        return data.clone();
+    }
+
+    @Override
+    public ByteArray subArray(int startIndexInclusive, int endIndexExclusive) {
+        return new TestBytes(Arrays.copyOfRange(data, startIndexInclusive, endIndexExclusive));
+    }
+
+    @Override
+    public ByteArray subArray(Range range) {
+        return subArray(range.startIndexInclusive(), range.endIndexExclusive());
+    }
+
+    @Override
+    public ByteArray copy() {
+        return new TestBytes(data.clone());
+    }
+
+    @Override
+    public ByteArray copyToTempFile() {
+        return copy();
+    }
+
+    @Override
+    public int indexOf(String searchTerm) {
+        return indexOf(searchTerm, true, 0, data.length);
+    }
+
+    @Override
+    public int indexOf(String searchTerm, boolean caseSensitive) {
+        return indexOf(searchTerm, caseSensitive, 0, data.length);
+    }
+
+    @Override
+    public int indexOf(String searchTerm, boolean caseSensitive, int startIndexInclusive, int endIndexExclusive) {
+        String text = toString().substring(0, endIndexExclusive);
+        if (!caseSensitive) {
+            text = text.toLowerCase();
+            searchTerm = searchTerm.toLowerCase();
+        }
+        return text.indexOf(searchTerm, startIndexInclusive);
+    }
+
+    @Override
+    public int indexOf(ByteArray searchTerm) {
+        return indexOf(searchTerm.toString());
+    }
+
+    @Override
+    public int indexOf(ByteArray searchTerm, boolean caseSensitive) {
+        return indexOf(searchTerm.toString(), caseSensitive);
+    }
+
+    @Override
+    public int indexOf(ByteArray searchTerm, boolean caseSensitive, int startIndexInclusive, int endIndexExclusive) {
+        return indexOf(searchTerm.toString(), caseSensitive, startIndexInclusive, endIndexExclusive);
+    }
+
+    @Override
+    public int indexOf(Pattern pattern) {
+        return indexOf(pattern, 0, data.length);
+    }
+
+    @Override
+    public int indexOf(Pattern pattern, int startIndexInclusive, int endIndexExclusive) {
+        var matcher = pattern.matcher(toString()).region(startIndexInclusive, endIndexExclusive);
+        return matcher.find() ? matcher.start() : -1;
+    }
+
+    @Override
+    public String toString() {
+        return new String(data, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public Iterator<Byte> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < data.length;
+            }
+
+            @Override
+            public Byte next() {
+                return data[next++];
+            }
+        };
+    }
+
+    @Override
+    public void setByte(int index, byte value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setByte(int index, int value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setBytes(int index, byte... data) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setBytes(int index, int... data) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setBytes(int index, ByteArray byteArray) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int countMatches(ByteArray searchTerm) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int countMatches(String searchTerm) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int countMatches(ByteArray searchTerm, boolean caseSensitive) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int countMatches(String searchTerm, boolean caseSensitive) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int countMatches(ByteArray searchTerm, boolean caseSensitive, int startIndexInclusive,
+            int endIndexExclusive) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int countMatches(String searchTerm, boolean caseSensitive, int startIndexInclusive,
+            int endIndexExclusive) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int countMatches(Pattern pattern) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int countMatches(Pattern pattern, int startIndexInclusive, int endIndexExclusive) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ByteArray withAppended(byte... data) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ByteArray withAppended(int... data) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ByteArray withAppended(String text) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ByteArray withAppended(ByteArray byteArray) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,63 @@
+package com.arqsz.burpgitleaks.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class ByteTextTest {
+
+    private static ByteText text(String s) {
+        return new ByteText(s.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void bytesAreLatin1Characters() {
+        ByteText text = new ByteText(new byte[] { 'a', (byte) 0xE9, (byte) 0xFF });
+        assertEquals('a', text.charAt(0));
+        assertEquals('é', text.charAt(1));
+        assertEquals(0xFF, text.byteAt(2));
+        assertEquals("aéÿ", text.toString());
+    }
+
+    @Test
+    void subSequenceIsAViewWithOwnOffsets() {
+        ByteText text = text("0123456789");
+        ByteText sub = text.subSequence(3, 8);
+        assertEquals("34567", sub.toString());
+        assertEquals('5', sub.charAt(2));
+        assertEquals("56", sub.subSequence(2, 4).toString());
+        assertEquals(4, sub.indexOf('7', 0));
+        assertEquals(-1, sub.indexOf('9', 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> sub.charAt(5));
+    }
+
+    @Test
+    void contains() {
+        ByteText text = text("hello gitleaks:allow world");
+        assertTrue(text.contains("gitleaks:allow"));
+        assertFalse(text.contains("Gitleaks"));
+        assertFalse(text.subSequence(0, 10).contains("gitleaks"));
+    }
+
+    @Test
+    void hashOfRangeMatchesStreamedHash() {
+        byte[] data = new byte[1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        ByteText text = new ByteText(data);
+        long[] whole = text.hash128(100, 900);
+
+        Murmur3 streamed = new Murmur3(0);
+        for (int start = 100; start < 900; start += 37) {
+            streamed.update(data, start, Math.min(37, 900 - start));
+        }
+        assertArrayEquals(whole, streamed.digest());
+    }
+}
@@ -0,0 +1,58 @@
+package com.arqsz.burpgitleaks.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class LineIndexTest {
+
+    private static ByteText text(String s) {
+        return new ByteText(s.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void linesAndColumnsAreOneBased() {
+        LineIndex lines = text("ab\ncd\n\nef").lineIndex();
+        assertEquals(1, lines.line(0));
+        assertEquals(1, lines.column(0));
+        assertEquals(1, lines.line(2));
+        assertEquals(3, lines.column(2));
+        assertEquals(2, lines.line(3));
+        assertEquals(2, lines.column(4));
+        assertEquals(4, lines.line(7));
+        assertEquals(1, lines.column(7));
+    }
+
+    @Test
+    void lineBounds() {
+        LineIndex lines = text("ab\ncd\n\nef").lineIndex();
+        assertEquals(3, lines.lineStart(4));
+        assertEquals(5, lines.lineEnd(4));
+        assertEquals(6, lines.lineStart(6));
+        assertEquals(6, lines.lineEnd(6));
+        assertEquals(9, lines.lineEnd(8));
+    }
+
+    @Test
+    void builderCollectsChunksLikeOnePass() {
+        String body = "one\ntwo\nthree\nfour\nfive\n";
+        ByteText whole = text(body);
+        LineIndex.Builder builder = new LineIndex.Builder();
+        int chunk = 5;
+        for (int start = 0; start < body.length(); start += chunk) {
+            int end = Math.min(body.length(), start + chunk);
+            int from = Math.max(0, start - 3);
+            ByteText piece = whole.subSequence(from, Math.min(body.length(), end + 3));
+            builder.add(piece, start - from, end - from, from);
+        }
+        LineIndex chunked = builder.build(body.length());
+        LineIndex direct = LineIndex.of((CharSequence) body);
+
+        for (int i = 0; i < body.length(); i++) {
+            assertEquals(direct.line(i), chunked.line(i), "line at " + i);
+            assertEquals(direct.column(i), chunked.column(i), "column at " + i);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/***/ "./src/features/%NAME%/index.js":
+/*!**************************************!*\
+  !*** ./src/features/%NAME%/index.js ***!
+  \**************************************/
+/***/ (function(module, __webpack_exports__, __webpack_require__) {
+
+"use strict";
+__webpack_require__.r(__webpack_exports__);
+/* harmony export */ __webpack_require__.d(__webpack_exports__, {
+/* harmony export */   "%ID%Reducer": function() { return %ID%Reducer; },
+/* harmony export */   "fetch%ID%": function() { return fetch%ID%; },
+/* harmony export */   "default": function() { return __WEBPACK_DEFAULT_EXPORT__; }
+/* harmony export */ });
+/* harmony import */ var react__WEBPACK_IMPORTED_MODULE_0__ = __webpack_require__(/*! react */ "./node_modules/react/index.js");
+/* harmony import */ var react__WEBPACK_IMPORTED_MODULE_0___default = /*#__PURE__*/__webpack_require__.n(react__WEBPACK_IMPORTED_MODULE_0__);
+/* harmony import */ var _api_client__WEBPACK_IMPORTED_MODULE_1__ = __webpack_require__(/*! ../../api/client */ "./src/api/client.js");
+/* harmony import */ var _utils_format__WEBPACK_IMPORTED_MODULE_2__ = __webpack_require__(/*! ../../utils/format */ "./src/utils/format.js");
+
+const initialState = {
+  items: [],
+  status: 'idle',
+  error: null,
+  page: 1,
+  pageSize: %NUM%,
+  sort: { field: 'updatedAt', direction: 'desc' },
+  filters: { query: '', tags: [], archived: false }
+};
+
+const ACTIONS = {
+  REQUEST: '%NAME%/request',
+  SUCCESS: '%NAME%/success',
+  FAILURE: '%NAME%/failure',
+  SET_PAGE: '%NAME%/setPage',
+  SET_FILTER: '%NAME%/setFilter'
+};
+
+function %ID%Reducer(state = initialState, action) {
+  switch (action.type) {
+    case ACTIONS.REQUEST:
+      return { ...state, status: 'loading', error: null };
+    case ACTIONS.SUCCESS:
+      return { ...state, status: 'succeeded', items: action.payload.items, total: action.payload.total };
+    case ACTIONS.FAILURE:
+      return { ...state, status: 'failed', error: action.error };
+    case ACTIONS.SET_PAGE:
+      return { ...state, page: Math.max(1, action.page) };
+    case ACTIONS.SET_FILTER:
+      return { ...state, page: 1, filters: { ...state.filters, ...action.filters } };
+    default:
+      return state;
+  }
+}
+
+function fetch%ID%(params = {}) {
+  return async function (dispatch, getState) {
+    dispatch({ type: ACTIONS.REQUEST });
+    const { page, pageSize, sort, filters } = getState().%NAME%;
+    try {
+      const response = await _api_client__WEBPACK_IMPORTED_MODULE_1__["default"].get('/v2/%NAME%', {
+        params: { page, per_page: pageSize, sort: sort.field, order: sort.direction, q: filters.query, ...params },
+        headers: { 'X-Request-Id': '%HEX%', 'Accept': 'application/json' }
+      });
+      dispatch({ type: ACTIONS.SUCCESS, payload: response.data });
+    } catch (err) {
+      console.error('[%NAME%] request failed', err);
+      dispatch({ type: ACTIONS.FAILURE, error: err.message || String(err) });
+    }
+  };
+}
+
+function %ID%Table(props) {
+  const { items, onSelect, selectedId } = props;
+  const [hovered, setHovered] = (0,react__WEBPACK_IMPORTED_MODULE_0__.useState)(null);
+  const rows = (0,react__WEBPACK_IMPORTED_MODULE_0__.useMemo)(() => items.map(item => ({
+    ...item,
+    label: (0,_utils_format__WEBPACK_IMPORTED_MODULE_2__.truncate)(item.name, 48),
+    updated: (0,_utils_format__WEBPACK_IMPORTED_MODULE_2__.relativeTime)(item.updatedAt)
+  })), [items]);
+  return /*#__PURE__*/react__WEBPACK_IMPORTED_MODULE_0___default().createElement("table", {
+    className: "table table--%NAME%",
+    "data-testid": "%NAME%-table"
+  }, /*#__PURE__*/react__WEBPACK_IMPORTED_MODULE_0___default().createElement("tbody", null, rows.map(row => /*#__PURE__*/react__WEBPACK_IMPORTED_MODULE_0___default().createElement("tr", {
+    key: row.id,
+    className: row.id === selectedId ? 'is-selected' : row.id === hovered ? 'is-hovered' : undefined,
+    onMouseEnter: () => setHovered(row.id),
+    onMouseLeave: () => setHovered(null),
+    onClick: () => onSelect(row.id)
+  }, /*#__PURE__*/react__WEBPACK_IMPORTED_MODULE_0___default().createElement("td", null, row.label), /*#__PURE__*/react__WEBPACK_IMPORTED_MODULE_0___default().createElement("td", null, row.owner && row.owner.login), /*#__PURE__*/react__WEBPACK_IMPORTED_MODULE_0___default().createElement("td", {
+    title: row.updatedAt
+  }, row.updated)))));
+}
+
+const config = {
+  endpoint: 'https://api.example.com/v2/%NAME%',
+  retry: { attempts: 3, backoffMs: %NUM%0 },
+  cacheKey: '%NAME%:%HEX%',
+  build: '%HEX%'
+};%SECRET%
+
+/* harmony default export */ var __WEBPACK_DEFAULT_EXPORT__ = ({ reducer: %ID%Reducer, fetch: fetch%ID%, Table: %ID%Table, config });
+
+/***/ }),
+